@@ -0,0 +1,78 @@
+package strings.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import strings.ApproximateSearcher;
+import strings.ApproximateSearcher.Distance;
+import strings.SubstringSearcher;
+
+/**
+ * Measures the approximate search of a needle taken from the text, with a typo every
+ * 200 characters or so of the text, compared with the exact search of
+ * {@link SubstringSearcher}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApproximateSearcherBenchmark {
+
+	@Param({"1000", "1000000"})
+	public int textLength;
+
+	@Param({"8", "32", "64"})
+	public int needleLength;
+
+	@Param({"1", "3"})
+	public int maxErrors;
+
+	private String text;
+	private SubstringSearcher exact;
+	private ApproximateSearcher hamming;
+	private ApproximateSearcher levenshtein;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		StringBuilder builder = new StringBuilder(Corpus.text(textLength, 42));
+		for (int i = random.nextInt(200); i < textLength; i += 1 + random.nextInt(400))
+			builder.setCharAt(i, (char) ('a' + random.nextInt(26)));
+		text = builder.toString();
+
+		int from = random.nextInt(textLength - needleLength);
+		String needle = text.substring(from, from + needleLength);
+		exact = SubstringSearcher.compile(needle);
+		hamming = ApproximateSearcher.compile(needle, maxErrors, Distance.HAMMING);
+		levenshtein = ApproximateSearcher.compile(needle, maxErrors, Distance.LEVENSHTEIN);
+	}
+
+	@Benchmark
+	public int exact() {
+		return exact.countIn(text, true);
+	}
+
+	@Benchmark
+	public int hamming() {
+		return hamming.countIn(text);
+	}
+
+	@Benchmark
+	public int levenshtein() {
+		return levenshtein.countIn(text);
+	}
+
+	@Benchmark
+	public int levenshteinCursor() {
+		return (int) levenshtein.cursor(text).stream().count();
+	}
+
+}
@@ -0,0 +1,93 @@
+package strings.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import strings.regexp.AutomatonRegExp;
+import strings.regexp.RegExpBuilder;
+import strings.regexp.escapechars.RegExpEscapeCharacters;
+
+/**
+ * Compares {@link java.util.regex} with {@link AutomatonRegExp} on the same
+ * {@link RegExpBuilder} output: a date searched in a text, and quantifiers nested
+ * in a group repeated with {@code oneOrMoreTimes()} matched against a text they
+ * almost match, which makes {@code java.util.regex} backtrack exponentially.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AutomatonRegExpBenchmark {
+
+	@Param({"1000", "100000"})
+	public int textLength;
+
+	/**
+	 * The length of the text matched by the nested quantifiers, kept small since
+	 * the time taken by {@code java.util.regex} doubles with every character.
+	 */
+	@Param({"12", "16", "20"})
+	public int nestedLength;
+
+	private String text;
+	private Pattern datePattern;
+	private AutomatonRegExp dateAutomaton;
+
+	private String almostMatching;
+	private Pattern nestedPattern;
+	private AutomatonRegExp nestedAutomaton;
+
+	@Setup
+	public void setup() {
+		StringBuilder builder = new StringBuilder(textLength);
+		while (builder.length() < textLength - 10)
+			builder.append("build 208-12 ");
+		text = builder.append("2008-12").toString();
+
+		RegExpBuilder date = new RegExpBuilder()
+				.match(RegExpEscapeCharacters.DIGIT).times(4)
+				.match("-").once()
+				.match(RegExpEscapeCharacters.DIGIT).times(2);
+		datePattern = Pattern.compile(date.build());
+		dateAutomaton = date.compileAutomaton();
+
+		RegExpBuilder nested = new RegExpBuilder()
+				.match(new RegExpBuilder()
+						.match(new RegExpBuilder().match("a").zeroOrMoreTimes())
+						.group().zeroOrMoreTimes())
+				.group().oneOrMoreTimes()
+				.match("b").once();
+		almostMatching = "a".repeat(nestedLength) + "!";
+		nestedPattern = Pattern.compile(nested.build());
+		nestedAutomaton = nested.compileAutomaton();
+	}
+
+	@Benchmark
+	public boolean findDateWithPattern() {
+		return datePattern.matcher(text).find();
+	}
+
+	@Benchmark
+	public boolean findDateWithAutomaton() {
+		return dateAutomaton.find(text);
+	}
+
+	@Benchmark
+	public boolean matchNestedWithPattern() {
+		return nestedPattern.matcher(almostMatching).matches();
+	}
+
+	@Benchmark
+	public boolean matchNestedWithAutomaton() {
+		return nestedAutomaton.matches(almostMatching);
+	}
+
+}
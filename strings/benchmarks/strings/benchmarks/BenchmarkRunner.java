@@ -0,0 +1,35 @@
+package strings.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks whose names match the regexes passed as arguments, or all of
+ * them if there are none, with the GC profiler, which reports the bytes allocated
+ * per operation and the collections. The results are written as JSON to the file
+ * named by the {@code strings.benchmarks.results} system property, by default
+ * {@value #DEFAULT_RESULTS}, so that a baseline can be kept in the repository and
+ * compared with later runs.
+ */
+public final class BenchmarkRunner {
+
+	static final String DEFAULT_RESULTS = "benchmarks/results/latest.json";
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		ChainedOptionsBuilder options = new OptionsBuilder()
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(System.getProperty("strings.benchmarks.results", DEFAULT_RESULTS));
+		for (String regex : args)
+			options.include(regex);
+		new Runner(options.build()).run();
+	}
+
+}
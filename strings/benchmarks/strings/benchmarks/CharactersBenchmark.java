@@ -0,0 +1,75 @@
+package strings.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import chars.Characters;
+
+/**
+ * Runs the public methods of {@link Characters} on every letter of generated texts
+ * from 16 characters to 4 MB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CharactersBenchmark {
+
+	@Param({"16", "65536", "4194304"})
+	public int length;
+
+	private char[] letters;
+
+	@Setup
+	public void setup() {
+		String text = Corpus.text(length, 42);
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < text.length(); i++) {
+			char ch = text.charAt(i);
+			if (ch >= 'a' && ch <= 'z')
+				// one letter out of four upper case
+				builder.append(i % 4 == 0 ? Character.toUpperCase(ch) : ch);
+		}
+		letters = builder.toString().toCharArray();
+	}
+
+	@Benchmark
+	public int getIndexInAlphabet() {
+		int sum = 0;
+		for (char letter : letters)
+			sum += Characters.getIndexInAlphabet(letter);
+		return sum;
+	}
+
+	@Benchmark
+	public int increaseLetter() {
+		int sum = 0;
+		for (char letter : letters)
+			sum += Characters.increaseLetter(letter, 3);
+		return sum;
+	}
+
+	@Benchmark
+	public int decreaseLetter() {
+		int sum = 0;
+		for (char letter : letters)
+			sum += Characters.decreaseLetter(letter, 3);
+		return sum;
+	}
+
+	@Benchmark
+	public int getCorrespondingOnInvertingAlphabet() {
+		int sum = 0;
+		for (char letter : letters)
+			sum += Characters.getCorrespondingOnInvertingAlphabet(letter);
+		return sum;
+	}
+
+}
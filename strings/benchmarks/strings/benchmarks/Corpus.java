@@ -0,0 +1,74 @@
+package strings.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates the English-like texts the benchmarks run on, the same for the same
+ * length and seed.
+ */
+final class Corpus {
+
+	static final String[] WORDS = {
+			"the", "of", "and", "to", "in", "is", "was", "for", "that", "with", "string",
+			"house", "mouse", "meeting", "moved", "noon", "character", "builder", "search",
+			"pattern", "value", "error", "timeout", "request", "response", "user", "account"
+	};
+
+	/**
+	 * The tag the texts start with and contain every 200 characters or so.
+	 */
+	static final String TAG_START = "[";
+	static final String TAG_END = "]";
+	static final String TAG = TAG_START + "tag" + TAG_END;
+
+	private static final int LINE_LENGTH = 80;
+	private static final int TAG_DISTANCE = 200;
+
+	private Corpus() {
+	}
+
+	/**
+	 * @param length
+	 *        at least {@code TAG.length() + 1}
+	 * @param seed
+	 * @return a text of {@code length} characters: words separated by spaces, split
+	 *         into lines of about 80 characters and with a tag every 200 characters or so
+	 */
+	static String text(int length, long seed) {
+		Random random = new Random(seed);
+		StringBuilder text = new StringBuilder(length + 32).append(TAG).append(' ');
+		int lineStart = 0;
+		int lastTag = 0;
+		while (text.length() < length) {
+			if (text.length() - lastTag > TAG_DISTANCE) {
+				lastTag = text.length();
+				text.append(TAG);
+			}
+			else
+				text.append(WORDS[random.nextInt(WORDS.length)]);
+
+			if (text.length() - lineStart > LINE_LENGTH) {
+				text.append('\n');
+				lineStart = text.length();
+			}
+			else
+				text.append(' ');
+		}
+		text.setLength(length);
+		return text.toString();
+	}
+
+	/**
+	 * @param count
+	 * @param seed
+	 * @return {@code count} random words of {@link #WORDS}
+	 */
+	static String[] words(int count, long seed) {
+		Random random = new Random(seed);
+		String[] words = new String[count];
+		for (int i = 0; i < count; i++)
+			words[i] = WORDS[random.nextInt(WORDS.length)];
+		return words;
+	}
+
+}
@@ -0,0 +1,106 @@
+package strings.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import strings.EditDistance;
+
+/**
+ * Measures comparing one name with {@code count} candidate names, made of two to
+ * four words of {@link Corpus#WORDS} with a few typos, pairwise and with an
+ * {@link EditDistance.Query}. The candidates within the bound are counted, so that
+ * every comparison is used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EditDistanceBenchmark {
+
+	private static final int MAX_DISTANCE = 3;
+
+	@Param({"16", "4096", "65536"})
+	public int count;
+
+	private String name;
+	private String[] candidates;
+	private EditDistance.Query query;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		name = "account meeting response";
+		candidates = new String[count];
+		for (int i = 0; i < count; i++) {
+			String[] words = Corpus.words(2 + random.nextInt(3), random.nextLong());
+			StringBuilder candidate = new StringBuilder(random.nextInt(4) == 0 ? name : String.join(" ", words));
+			for (int typos = random.nextInt(3); typos > 0; typos--)
+				candidate.setCharAt(random.nextInt(candidate.length()), (char) ('a' + random.nextInt(26)));
+			candidates[i] = candidate.toString();
+		}
+		query = EditDistance.query(name);
+	}
+
+	@Benchmark
+	public int levenshtein() {
+		int matches = 0;
+		for (String candidate : candidates)
+			if (EditDistance.levenshtein(name, candidate) <= MAX_DISTANCE)
+				matches++;
+		return matches;
+	}
+
+	@Benchmark
+	public int levenshteinBounded() {
+		int matches = 0;
+		for (String candidate : candidates)
+			if (EditDistance.levenshtein(name, candidate, MAX_DISTANCE) != -1)
+				matches++;
+		return matches;
+	}
+
+	@Benchmark
+	public int damerauLevenshteinBounded() {
+		int matches = 0;
+		for (String candidate : candidates)
+			if (EditDistance.damerauLevenshtein(name, candidate, MAX_DISTANCE) != -1)
+				matches++;
+		return matches;
+	}
+
+	@Benchmark
+	public int queryLevenshteinBounded() {
+		int matches = 0;
+		for (String candidate : candidates)
+			if (query.levenshtein(candidate, MAX_DISTANCE) != -1)
+				matches++;
+		return matches;
+	}
+
+	@Benchmark
+	public int queryDamerauLevenshteinBounded() {
+		int matches = 0;
+		for (String candidate : candidates)
+			if (query.damerauLevenshtein(candidate, MAX_DISTANCE) != -1)
+				matches++;
+		return matches;
+	}
+
+	@Benchmark
+	public int jaroWinkler() {
+		int matches = 0;
+		for (String candidate : candidates)
+			if (query.jaroWinkler(candidate) >= 0.9)
+				matches++;
+		return matches;
+	}
+
+}
@@ -0,0 +1,64 @@
+package strings.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import strings.escape.Escapers;
+
+/**
+ * Compares escaping the metacharacters of a regex with {@link String#replaceAll(String, String)}
+ * and with {@link Escapers#REGEX_LITERAL}, on words that mostly need no escaping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EscaperBenchmark {
+
+	private static final int WORDS = 1000;
+
+	// the share of the words containing a metacharacter
+	@Param({"0.0", "0.1", "1.0"})
+	public double escapedRatio;
+
+	private String[] words;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		words = new String[WORDS];
+		for (int i = 0; i < words.length; i++) {
+			StringBuilder word = new StringBuilder();
+			for (int j = 4 + random.nextInt(12); j > 0; j--)
+				word.append((char) ('a' + random.nextInt(26)));
+			if (random.nextDouble() < escapedRatio)
+				word.insert(random.nextInt(word.length()), "(.)");
+			words[i] = word.toString();
+		}
+	}
+
+	@Benchmark
+	public int replaceAll() {
+		int length = 0;
+		for (String word : words)
+			length += word.replaceAll("([\\\\/()\\[\\]{}?^$.+*|])", "\\\\$1").length();
+		return length;
+	}
+
+	@Benchmark
+	public int escaper() {
+		int length = 0;
+		for (String word : words)
+			length += Escapers.REGEX_LITERAL.escape(word).length();
+		return length;
+	}
+
+}
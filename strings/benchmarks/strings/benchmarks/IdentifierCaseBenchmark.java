@@ -0,0 +1,92 @@
+package strings.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import strings.IdentifierCase;
+
+/**
+ * Compares converting camel case identifiers to spaced lower case words, and back,
+ * by splitting them with a regex and by scanning them once with {@link IdentifierCase}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdentifierCaseBenchmark {
+
+	private static final String[] PARTS = {
+			"user", "Account", "Id", "HTTP", "Request", "parse", "Json", "2", "Max", "Retry", "Count"
+	};
+
+	private static final Pattern UPPER_CASE = Pattern.compile("(?=[A-Z])");
+	private static final Pattern SPACES = Pattern.compile(" +");
+
+	private String[] camelCase;
+	private String[] lowerCase;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		camelCase = new String[1000];
+		lowerCase = new String[camelCase.length];
+		for (int i = 0; i < camelCase.length; i++) {
+			StringBuilder identifier = new StringBuilder("get");
+			for (int j = 1 + random.nextInt(4); j > 0; j--)
+				identifier.append(PARTS[random.nextInt(PARTS.length)]);
+			camelCase[i] = identifier.toString();
+			lowerCase[i] = IdentifierCase.LOWER.convert(camelCase[i]);
+		}
+	}
+
+	@Benchmark
+	public int fromCamelCaseRegex() {
+		int length = 0;
+		for (String identifier : camelCase)
+			length += Arrays.stream(UPPER_CASE.split(identifier))
+					.map(String::toLowerCase)
+					.collect(Collectors.joining(" "))
+					.length();
+		return length;
+	}
+
+	@Benchmark
+	public int fromCamelCase() {
+		int length = 0;
+		for (String identifier : camelCase)
+			length += IdentifierCase.LOWER.convert(identifier).length();
+		return length;
+	}
+
+	@Benchmark
+	public int toCamelCaseConcatenation() {
+		int length = 0;
+		for (String identifier : lowerCase) {
+			String[] words = SPACES.split(identifier);
+			String converted = "";
+			for (int i = 0; i < words.length; i++)
+				converted += i == 0 ? words[i] : words[i].substring(0, 1).toUpperCase() + words[i].substring(1);
+			length += converted.length();
+		}
+		return length;
+	}
+
+	@Benchmark
+	public int toCamelCase() {
+		int length = 0;
+		for (String identifier : lowerCase)
+			length += IdentifierCase.CAMEL.convert(identifier).length();
+		return length;
+	}
+
+}
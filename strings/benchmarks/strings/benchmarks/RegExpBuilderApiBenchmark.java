@@ -0,0 +1,192 @@
+package strings.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import strings.regexp.AutomatonRegExp;
+import strings.regexp.CompiledRegExp;
+import strings.regexp.RegExpBuilder;
+import strings.regexp.RegExpPrefilter;
+import strings.regexp.escapechars.RegExpEscapeCharacters;
+
+/**
+ * Measures building regexes with the fluent API of {@link RegExpBuilder}: every
+ * benchmark chains {@code size} calls of one method, or builds a regex from
+ * {@code size} characters of generated text, up to 1 MB.
+ * {@link RegExpBuilderBenchmark} measures matching the regexes built.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RegExpBuilderApiBenchmark {
+
+	@Param({"16", "4096", "1048576"})
+	public int size;
+
+	private String text;
+	private String[] words;
+	private RegExpBuilder subBuilder;
+	private RegExpBuilder built;
+
+	@Setup
+	public void setup() {
+		text = Corpus.text(size, 42);
+		words = Corpus.words(Math.max(size / 8, 2), 42);
+		subBuilder = new RegExpBuilder()
+				.match("user").once()
+				.match(RegExpEscapeCharacters.DIGIT).oneOrMoreTimes();
+		built = wordsBuilder();
+	}
+
+	/**
+	 * @return a builder of a regex matching {@code size / 8} words separated by spaces
+	 */
+	private RegExpBuilder wordsBuilder() {
+		RegExpBuilder builder = new RegExpBuilder();
+		for (String word : words)
+			builder.match(word).once()
+				.match(RegExpEscapeCharacters.WHITESPACE).oneOrMoreTimes();
+		return builder;
+	}
+
+	@Benchmark
+	public String matchString() {
+		return new RegExpBuilder()
+				.match(text).once()
+				.build();
+	}
+
+	@Benchmark
+	public String matchWords() {
+		return wordsBuilder().build();
+	}
+
+	@Benchmark
+	public String matchAny() {
+		RegExpBuilder builder = new RegExpBuilder();
+		for (int i = 0; i < size; i++)
+			builder.matchAny().once();
+		return builder.build();
+	}
+
+	@Benchmark
+	public String matchSubBuilder() {
+		RegExpBuilder builder = new RegExpBuilder();
+		for (int i = 0; i < size; i++)
+			builder.match(subBuilder).group().times(1, 3);
+		return builder.build();
+	}
+
+	@Benchmark
+	public String matchSubBuilderSupplier() {
+		RegExpBuilder builder = new RegExpBuilder();
+		for (int i = 0; i < size; i++)
+			builder.match(() -> subBuilder).zeroOrOneTimes();
+		return builder.build();
+	}
+
+	@Benchmark
+	public String matchEscapeCharacter() {
+		RegExpBuilder builder = new RegExpBuilder();
+		for (int i = 0; i < size; i++)
+			builder.match(RegExpEscapeCharacters.ALPHANUMERIC).atLeastTimes(2);
+		return builder.build();
+	}
+
+	@Benchmark
+	public String matchAnyOfChars() {
+		return new RegExpBuilder()
+				.matchAnyOf(text).zeroOrMoreTimes()
+				.build();
+	}
+
+	@Benchmark
+	public String matchAnyOfCharsAndRange() {
+		return new RegExpBuilder()
+				.matchAnyOf(text, RegExpBuilder.range("A-Z")).oneOrMoreTimes()
+				.build();
+	}
+
+	@Benchmark
+	public String matchAnyOfRange() {
+		RegExpBuilder builder = new RegExpBuilder();
+		for (int i = 0; i < size; i++)
+			builder.matchAnyOf(RegExpBuilder.range("a-z0-9")).times(3);
+		return builder.build();
+	}
+
+	@Benchmark
+	public String matchAnyOfEscapeCharacters() {
+		RegExpBuilder builder = new RegExpBuilder();
+		for (int i = 0; i < size; i++)
+			builder.matchAnyOf(RegExpEscapeCharacters.DIGIT, RegExpEscapeCharacters.WHITESPACE).once();
+		return builder.build();
+	}
+
+	@Benchmark
+	public String matchAnyOfStrings() {
+		return new RegExpBuilder()
+				.matchAnyOf(words).once()
+				.build();
+	}
+
+	@Benchmark
+	public String matchAnyOfSubBuilders() {
+		RegExpBuilder[] subBuilders = new RegExpBuilder[Math.min(size, 1024)];
+		for (int i = 0; i < subBuilders.length; i++)
+			subBuilders[i] = new RegExpBuilder().match(words[i % words.length]).once();
+		return new RegExpBuilder()
+				.matchAnyOf(subBuilders).oneOrMoreTimes()
+				.build();
+	}
+
+	@Benchmark
+	public String startEndGroup() {
+		RegExpBuilder builder = new RegExpBuilder();
+		for (int i = 0; i < size; i++)
+			builder.startGroup()
+				.match("a").once()
+				.matchAnyOf("bc").zeroOrOneTimes()
+				.endGroup();
+		return builder.build();
+	}
+
+	@Benchmark
+	public String build() {
+		return built.build();
+	}
+
+	@Benchmark
+	public String buildOptimized() {
+		return built.buildOptimized();
+	}
+
+	@Benchmark
+	public String copyConstructor() {
+		return new RegExpBuilder(built).build();
+	}
+
+	@Benchmark
+	public CompiledRegExp compile() {
+		return built.compile();
+	}
+
+	@Benchmark
+	public AutomatonRegExp compileAutomaton() {
+		return built.compileAutomaton();
+	}
+
+	@Benchmark
+	public RegExpPrefilter prefilter() {
+		return built.prefilter();
+	}
+
+}
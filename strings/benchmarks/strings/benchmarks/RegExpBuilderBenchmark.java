@@ -0,0 +1,120 @@
+package strings.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import strings.regexp.RegExpBuilder;
+import strings.regexp.escapechars.RegExpEscapeCharacters;
+
+/**
+ * Compares the regex of {@link RegExpBuilder#build()} with the one of
+ * {@link RegExpBuilder#buildOptimized()}, counting the dates written as
+ * {@code "Monday 12"} in a text, and a plain alternation of 20,000 product codes
+ * with the trie-shaped one built by {@link RegExpBuilder#matchAnyOf(String...)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RegExpBuilderBenchmark {
+
+	private static final String[] DAYS = {
+			"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+	};
+
+	private static final String[] WORDS = {
+			"the", "meeting", "moved", "to", "Mon", "Sun", "Thu", "at", "12", "Sat", "noon"
+	};
+
+	@Param({"1000", "100000"})
+	public int textLength;
+
+	private static final int PRODUCT_CODES = 20_000;
+
+	private String text;
+	private Pattern built;
+	private Pattern optimized;
+
+	private String codesText;
+	private Pattern codesAlternation;
+	private Pattern codesTrie;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		StringBuilder builder = new StringBuilder(textLength);
+		while (builder.length() < textLength) {
+			if (random.nextInt(10) == 0)
+				builder.append(DAYS[random.nextInt(DAYS.length)]).append(' ').append(random.nextInt(31) + 1);
+			else
+				builder.append(WORDS[random.nextInt(WORDS.length)]);
+			builder.append(' ');
+		}
+		text = builder.toString();
+
+		RegExpBuilder date = new RegExpBuilder()
+				.matchAnyOf(DAYS).once()
+				.match(" ").once()
+				.matchAnyOf(
+						new RegExpBuilder().match(RegExpEscapeCharacters.DIGIT).times(2),
+						new RegExpBuilder().match(RegExpEscapeCharacters.DIGIT).once()
+					).once();
+		built = Pattern.compile(date.build());
+		optimized = Pattern.compile(date.buildOptimized());
+
+		String[] codes = new String[PRODUCT_CODES];
+		for (int i = 0; i < codes.length; i++)
+			codes[i] = "P" + (char) ('A' + random.nextInt(6)) + "-" + (100_000 + random.nextInt(900_000));
+		StringBuilder codesBuilder = new StringBuilder(textLength);
+		while (codesBuilder.length() < textLength) {
+			if (random.nextInt(10) == 0)
+				codesBuilder.append(codes[random.nextInt(codes.length)]);
+			else
+				codesBuilder.append("PX-").append(100_000 + random.nextInt(900_000));
+			codesBuilder.append(' ');
+		}
+		codesText = codesBuilder.toString();
+
+		codesAlternation = Pattern.compile("(" + String.join("|", codes) + ")");
+		codesTrie = Pattern.compile(new RegExpBuilder().matchAnyOf(codes).once().build());
+	}
+
+	private static int count(Pattern pattern, String text) {
+		Matcher matcher = pattern.matcher(text);
+		int count = 0;
+		while (matcher.find())
+			count++;
+		return count;
+	}
+
+	@Benchmark
+	public int built() {
+		return count(built, text);
+	}
+
+	@Benchmark
+	public int optimized() {
+		return count(optimized, text);
+	}
+
+	@Benchmark
+	public int codesAlternation() {
+		return count(codesAlternation, codesText);
+	}
+
+	@Benchmark
+	public int codesTrie() {
+		return count(codesTrie, codesText);
+	}
+
+}
@@ -0,0 +1,110 @@
+package strings.benchmarks;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import chars.ScanKernels;
+import strings.Strings;
+
+/**
+ * Compares the loops of {@link ScanKernels} with the equivalent loops processing a
+ * character at a time, scanning the whole text since the characters searched aren't
+ * in it. The forks add the Vector API module, so that the vectorized loops run if
+ * they're on the class path; running with {@code -Dstrings.vector=false} measures
+ * the scalar ones instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ScanKernelsBenchmark {
+
+	private static final char[] ABSENT = {'#', '\t', '{', '}', '|', '~'};
+
+	@Param({"1024", "1048576"})
+	public int length;
+
+	private String text;
+	private char[] chars;
+
+	@Setup
+	public void setup() {
+		text = Corpus.text(length, 42);
+		chars = text.replace(Corpus.TAG_START, " ").toCharArray();
+	}
+
+	@Benchmark
+	public int indexOfLoop() {
+		for (int i = 0; i < chars.length; i++)
+			if (chars[i] == ABSENT[0])
+				return i;
+		return -1;
+	}
+
+	@Benchmark
+	public int indexOf() {
+		return ScanKernels.indexOf(chars, 0, chars.length, ABSENT[0]);
+	}
+
+	@Benchmark
+	public int indexOfAnyLoop() {
+		for (int i = 0; i < chars.length; i++)
+			for (char ch : ABSENT)
+				if (chars[i] == ch)
+					return i;
+		return -1;
+	}
+
+	@Benchmark
+	public int indexOfAny() {
+		return ScanKernels.indexOfAny(chars, 0, chars.length, ABSENT);
+	}
+
+	@Benchmark
+	public int indexOfNonAsciiLoop() {
+		for (int i = 0; i < chars.length; i++)
+			if (chars[i] > 0x7F)
+				return i;
+		return -1;
+	}
+
+	@Benchmark
+	public int indexOfNonAscii() {
+		return ScanKernels.indexOfNonAscii(chars, 0, chars.length);
+	}
+
+	@Benchmark
+	public int countInRangeLoop() {
+		int count = 0;
+		for (char ch : chars)
+			if (ch >= 'a' && ch <= 'z')
+				count++;
+		return count;
+	}
+
+	@Benchmark
+	public int countInRange() {
+		return ScanKernels.countInRange(chars, 0, chars.length, 'a', 'z');
+	}
+
+	@Benchmark
+	public long linesOfReader() {
+		return Strings.lines(new StringReader(text)).count();
+	}
+
+	@Benchmark
+	public long wordsOfReader() {
+		return Strings.words(new StringReader(text)).count();
+	}
+
+}
@@ -0,0 +1,532 @@
+package strings.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import strings.MultiSubstringSearcher;
+import strings.MultiSubstringSearcher.MatchMode;
+import strings.Strings;
+import strings.SubstringSearcher;
+
+/**
+ * Runs the public methods of {@link Strings} on generated texts from 16 characters to
+ * 4 MB. The methods which only delegate to another one, such as the ones reading from
+ * an {@code InputStream} instead of a {@code Reader}, and the ones printing to
+ * {@code System.out} aren't measured. The methods repeating a string run in
+ * {@link RepeatState}, since their cost depends on the number of repetitions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StringsBenchmark {
+
+	@Param({"16", "65536", "4194304"})
+	public int length;
+
+	private static final Pattern WORD_ENDING_IN_ING = Pattern.compile("\\w+ing");
+
+	private String text;
+	// a copy of text, equal to it but not the same instance
+	private String textCopy;
+	private String[] columns;
+	private String[] words;
+	private SubstringSearcher tagStart;
+	private SubstringSearcher tagEnd;
+	private MultiSubstringSearcher wordSearcher;
+	private Path file;
+
+	@Setup
+	public void setup() throws IOException {
+		text = Corpus.text(length, 42);
+		textCopy = new String(text.toCharArray());
+		int third = length / 3;
+		columns = new String[] {
+				text.substring(0, third), text.substring(third, 2 * third), text.substring(2 * third)
+		};
+		words = Corpus.words(16, 42);
+		tagStart = SubstringSearcher.compile(Corpus.TAG_START);
+		tagEnd = SubstringSearcher.compile(Corpus.TAG_END);
+		wordSearcher = MultiSubstringSearcher.of(Corpus.WORDS);
+
+		file = Files.createTempFile("strings-benchmark", ".txt");
+		Files.writeString(file, text, StandardCharsets.UTF_8);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	/**
+	 * The state of the methods repeating a string.
+	 */
+	@State(Scope.Benchmark)
+	public static class RepeatState {
+
+		@Param({"16", "4096", "65536"})
+		public int times;
+	}
+
+	@Benchmark
+	public String repeat(RepeatState state) {
+		return Strings.repeat("ab", state.times);
+	}
+
+	@Benchmark
+	public String repeatChar(RepeatState state) {
+		return Strings.repeat('a', state.times);
+	}
+
+	@Benchmark
+	public StringBuilder repeatedView(RepeatState state) {
+		return Strings.repeatedView("ab", state.times).appendTo(new StringBuilder());
+	}
+
+	@Benchmark
+	public String whitespace(RepeatState state) {
+		return Strings.whitespace(state.times);
+	}
+
+	@Benchmark
+	public String indentTabs(RepeatState state) {
+		return Strings.indentTabs(state.times);
+	}
+
+	@Benchmark
+	public String indentSpaces(RepeatState state) {
+		return Strings.indentSpaces(state.times);
+	}
+
+	@Benchmark
+	public String[] lines() {
+		return Strings.lines(text);
+	}
+
+	@Benchmark
+	public long linesOfReader() {
+		return Strings.lines(new StringReader(text)).count();
+	}
+
+	@Benchmark
+	public long linesOfFile() throws IOException {
+		try (Stream<String> lines = Strings.lines(file)) {
+			return lines.count();
+		}
+	}
+
+	@Benchmark
+	public String[] words() {
+		return Strings.words(text);
+	}
+
+	@Benchmark
+	public long wordsOfReader() {
+		return Strings.words(new StringReader(text)).count();
+	}
+
+	@Benchmark
+	public long wordsOfFile() throws IOException {
+		try (Stream<String> words = Strings.words(file)) {
+			return words.count();
+		}
+	}
+
+	@Benchmark
+	public String capitalize() {
+		return Strings.capitalize(text);
+	}
+
+	@Benchmark
+	public String capitalizeWords() {
+		return Strings.capitalizeWords(text);
+	}
+
+	@Benchmark
+	public String prepend() {
+		return Strings.prepend(text, Corpus.TAG);
+	}
+
+	@Benchmark
+	public String append() {
+		return Strings.append(text, Corpus.TAG);
+	}
+
+	@Benchmark
+	public String inQuotes() {
+		return Strings.inQuotes(text);
+	}
+
+	@Benchmark
+	public String replaceCharAt() {
+		return Strings.replaceCharAt(text, length / 2, "xy");
+	}
+
+	@Benchmark
+	public String replaceCharAtWithChar() {
+		return Strings.replaceCharAt(text, length / 2, 'x');
+	}
+
+	@Benchmark
+	public String trimChars() {
+		return Strings.trimChars(text, 1, 1);
+	}
+
+	@Benchmark
+	public CharSequence trimCharsAsSlice() {
+		return Strings.trimCharsAsSlice(text, 1, 1);
+	}
+
+	@Benchmark
+	public String removeLastNChars() {
+		return Strings.removeLastNChars(text, 2);
+	}
+
+	@Benchmark
+	public CharSequence removeLastNCharsAsSlice() {
+		return Strings.removeLastNCharsAsSlice(text, 2);
+	}
+
+	@Benchmark
+	public String removeLastChar() {
+		return Strings.removeLastChar(text);
+	}
+
+	@Benchmark
+	public String removeFirstNChars() {
+		return Strings.removeFirstNChars(text, 2);
+	}
+
+	@Benchmark
+	public CharSequence removeFirstNCharsAsSlice() {
+		return Strings.removeFirstNCharsAsSlice(text, 2);
+	}
+
+	@Benchmark
+	public int[] substringOccurrences() {
+		return Strings.substringOccurrences(text, Corpus.TAG);
+	}
+
+	@Benchmark
+	public int[] substringOccurrencesOfSearcher() {
+		return Strings.substringOccurrences(text, tagStart);
+	}
+
+	@Benchmark
+	public int[] substringOccurrencesOverlapping() {
+		return Strings.substringOccurrences(text, Corpus.TAG, true);
+	}
+
+	@Benchmark
+	public int[] parallelSubstringOccurrences() {
+		return Strings.parallelSubstringOccurrences(text, Corpus.TAG);
+	}
+
+	@Benchmark
+	public long substringOccurrencesStream() {
+		return Strings.substringOccurrencesStream(text, Corpus.TAG).count();
+	}
+
+	@Benchmark
+	public int countOccurrences() {
+		return Strings.countOccurrences(text, Corpus.TAG);
+	}
+
+	@Benchmark
+	public int countOccurrencesOverlapping() {
+		return Strings.countOccurrences(text, Corpus.TAG, true);
+	}
+
+	@Benchmark
+	public List<MultiSubstringSearcher.Occurrence> substringOccurrencesOfWords() {
+		return Strings.substringOccurrences(text, wordSearcher, MatchMode.LEFTMOST_LONGEST);
+	}
+
+	@Benchmark
+	public String highlightSubstring() {
+		return Strings.highlightSubstring(text, Corpus.TAG);
+	}
+
+	@Benchmark
+	public String highlightSubstringWithHighlighter() {
+		return Strings.highlightSubstring(text, Corpus.TAG, String::toUpperCase);
+	}
+
+	@Benchmark
+	public List<String> substringsBetween() {
+		return Strings.substringsBetween(text, Corpus.TAG_START, Corpus.TAG_END);
+	}
+
+	@Benchmark
+	public List<String> substringsBetweenSearchers() {
+		return Strings.substringsBetween(text, tagStart, tagEnd);
+	}
+
+	@Benchmark
+	public String substringBetween() {
+		return Strings.substringBetween(text, Corpus.TAG_START, Corpus.TAG_END);
+	}
+
+	@Benchmark
+	public CharSequence substringBetweenAsSlice() {
+		return Strings.substringBetweenAsSlice(text, Corpus.TAG_START, Corpus.TAG_END);
+	}
+
+	@Benchmark
+	public String substringAfter() {
+		return Strings.substringAfter(text, Corpus.TAG_END);
+	}
+
+	@Benchmark
+	public CharSequence substringAfterAsSlice() {
+		return Strings.substringAfterAsSlice(text, Corpus.TAG_END);
+	}
+
+	@Benchmark
+	public String substringBefore() {
+		return Strings.substringBefore(text, Corpus.TAG_END);
+	}
+
+	@Benchmark
+	public CharSequence substringBeforeAsSlice() {
+		return Strings.substringBeforeAsSlice(text, Corpus.TAG_END);
+	}
+
+	@Benchmark
+	public String sideBySide() {
+		return Strings.sideBySide(2, columns);
+	}
+
+	@Benchmark
+	public String sideBySideOfCollection() {
+		return Strings.sideBySide(2, List.of(columns));
+	}
+
+	@Benchmark
+	public String stringify() {
+		return Strings.stringify(text);
+	}
+
+	@Benchmark
+	public long toCharStream() {
+		return Strings.toCharStream(text).count();
+	}
+
+	@Benchmark
+	public long charStream() {
+		// count() would not traverse a sized stream
+		return Strings.charStream(text).sum();
+	}
+
+	@Benchmark
+	public String mapChars() {
+		return Strings.mapChars(text, Character::toUpperCase);
+	}
+
+	@Benchmark
+	public String mapCharsSideBySide() {
+		return Strings.mapChars(text, ch -> ch + "\n" + ch, true);
+	}
+
+	@Benchmark
+	public void forEachCharDo(Blackhole blackhole) {
+		Strings.forEachCharDo(text, blackhole::consume);
+	}
+
+	@Benchmark
+	public String mapEachChar() {
+		return Strings.mapEachChar(text, Character::toUpperCase);
+	}
+
+	@Benchmark
+	public void forEachChar(Blackhole blackhole) {
+		Strings.forEachChar(text, blackhole::consume);
+	}
+
+	@Benchmark
+	public int countChars() {
+		return Strings.countChars(text, Character::isWhitespace);
+	}
+
+	@Benchmark
+	public boolean charMatches() {
+		return Strings.charMatches(text, length / 2, Character::isLetter);
+	}
+
+	@Benchmark
+	public boolean startsWith() {
+		return Strings.startsWith(text, Character::isLetter);
+	}
+
+	@Benchmark
+	public boolean endsWith() {
+		return Strings.endsWith(text, Character::isLetter);
+	}
+
+	@Benchmark
+	public boolean charSatisfies() {
+		return Strings.charSatisfies(text, length / 2, Character::isLetter);
+	}
+
+	@Benchmark
+	public boolean startsWithChar() {
+		return Strings.startsWithChar(text, Character::isLetter);
+	}
+
+	@Benchmark
+	public boolean endsWithChar() {
+		return Strings.endsWithChar(text, Character::isLetter);
+	}
+
+	@Benchmark
+	public boolean startsWithCharValue() {
+		return Strings.startsWith(text, '[');
+	}
+
+	@Benchmark
+	public boolean endsWithCharValue() {
+		return Strings.endsWith(text, '.');
+	}
+
+	@Benchmark
+	public String requireEndingWith() {
+		return Strings.requireEndingWith(text, '.');
+	}
+
+	@Benchmark
+	public String requireEndingWithSuffix() {
+		return Strings.requireEndingWith(text, "...");
+	}
+
+	@Benchmark
+	public String requireStartingWith() {
+		return Strings.requireStartingWith(text, '>');
+	}
+
+	@Benchmark
+	public String requireStartingWithPrefix() {
+		return Strings.requireStartingWith(text, ">>>");
+	}
+
+	@Benchmark
+	public String toCamelCase() {
+		return Strings.toCamelCase(text);
+	}
+
+	@Benchmark
+	public String fromCamelCase() {
+		return Strings.fromCamelCase(textCopy);
+	}
+
+	@Benchmark
+	public String[] splitKeeping() {
+		return Strings.splitKeeping(text, "\\n", false);
+	}
+
+	@Benchmark
+	public String reverse() {
+		return Strings.reverse(text);
+	}
+
+	@Benchmark
+	public boolean equalsAnyOf() {
+		return Strings.equalsAnyOf(text, (Object[]) words);
+	}
+
+	@Benchmark
+	public String[] matchedResults() {
+		return Strings.matchedResults(text, "\\w+ing");
+	}
+
+	@Benchmark
+	public String[] matchedResultsOfPattern() {
+		return Strings.matchedResults(text, WORD_ENDING_IN_ING);
+	}
+
+	@Benchmark
+	public String[] parallelMatchedResults() {
+		return Strings.parallelMatchedResults(text, WORD_ENDING_IN_ING, 16);
+	}
+
+	@Benchmark
+	public String[] parallelMatchedResultsByLine() {
+		return Strings.parallelMatchedResultsByLine(text, WORD_ENDING_IN_ING);
+	}
+
+	@Benchmark
+	public String[] matchedGroups() {
+		return Strings.matchedGroups(text, "(?s)\\[(\\w+)\\](.*)");
+	}
+
+	@Benchmark
+	public int mismatch() {
+		return Strings.mismatch(text, textCopy);
+	}
+
+	@Benchmark
+	public int mismatchRange() {
+		return Strings.mismatch(text, 1, length, textCopy, 1, length);
+	}
+
+	/**
+	 * The state of the methods comparing sorted keys, which share long prefixes as the
+	 * keys of an index do.
+	 */
+	@State(Scope.Benchmark)
+	public static class SortedKeysState {
+
+		@Param({"1024", "1048576"})
+		public int count;
+
+		private List<String> keys;
+
+		@Setup
+		public void setup() {
+			String[] words = Corpus.words(3 * count, 42);
+			String[] keys = new String[count];
+			for (int i = 0; i < count; i++)
+				keys[i] = "/accounts/" + words[3 * i] + "/" + words[3 * i + 1] + "/" + words[3 * i + 2] + "/" + i;
+			Arrays.sort(keys);
+			this.keys = Arrays.asList(keys);
+		}
+	}
+
+	@Benchmark
+	public int[] lcpArray(SortedKeysState state) {
+		return Strings.lcpArray(state.keys);
+	}
+
+	@Benchmark
+	public int commonPrefixLength(SortedKeysState state) {
+		return Strings.commonPrefixLength(state.keys);
+	}
+
+	@Benchmark
+	public int sortedCommonPrefixLength(SortedKeysState state) {
+		return Strings.sortedCommonPrefixLength(state.keys);
+	}
+
+	@Benchmark
+	public int commonSuffixLength(SortedKeysState state) {
+		return Strings.commonSuffixLength(state.keys);
+	}
+
+}
@@ -0,0 +1,93 @@
+package strings.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import strings.SubstringSearcher;
+import strings.SubstringSearcher.Algorithm;
+
+/**
+ * Compares the {@code String.indexOf} loop that {@code Strings.substringOccurrences}
+ * used to run with the algorithms of {@link SubstringSearcher}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SubstringSearcherBenchmark {
+
+	@Param({"1000", "1000000"})
+	public int textLength;
+
+	@Param({"4", "16", "64"})
+	public int needleLength;
+
+	/**
+	 * {@code 4} generates DNA-like text, {@code 26} lower case English-like text.
+	 */
+	@Param({"4", "26"})
+	public int alphabetSize;
+
+	private String text;
+	private String needle;
+	private SubstringSearcher chosen;
+	private SubstringSearcher horspool;
+	private SubstringSearcher twoWay;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		StringBuilder builder = new StringBuilder(textLength);
+		for (int i = 0; i < textLength; i++)
+			builder.append((char) ('a' + random.nextInt(alphabetSize)));
+		text = builder.toString();
+
+		int from = random.nextInt(textLength - needleLength);
+		needle = text.substring(from, from + needleLength);
+
+		chosen = SubstringSearcher.compile(needle);
+		horspool = SubstringSearcher.compile(needle, Algorithm.HORSPOOL);
+		twoWay = SubstringSearcher.compile(needle, Algorithm.TWO_WAY);
+	}
+
+	/**
+	 * Collects the occurrences into an array grown as in
+	 * {@link SubstringSearcher#occurrencesIn(CharSequence)}, so that only the searches differ.
+	 */
+	@Benchmark
+	public int[] indexOfLoop() {
+		int[] occurrences = new int[8];
+		int count = 0;
+		for (int index = text.indexOf(needle); index != -1; index = text.indexOf(needle, index + needle.length())) {
+			if (count == occurrences.length)
+				occurrences = Arrays.copyOf(occurrences, count * 2);
+			occurrences[count++] = index;
+		}
+		return Arrays.copyOf(occurrences, count);
+	}
+
+	@Benchmark
+	public int[] chosenAlgorithm() {
+		return chosen.occurrencesIn(text);
+	}
+
+	@Benchmark
+	public int[] horspool() {
+		return horspool.occurrencesIn(text);
+	}
+
+	@Benchmark
+	public int[] twoWay() {
+		return twoWay.occurrencesIn(text);
+	}
+
+}
@@ -0,0 +1,90 @@
+package chars;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The loops of {@link ScanKernels} on vectors of the widest size the CPU supports,
+ * 16 characters with AVX2 and 32 with AVX-512. The characters left over at the end
+ * of a range are scanned by the scalar loops.
+ * <p>
+ * Compiled with {@code --add-modules jdk.incubator.vector}, and loaded by
+ * {@link ScanKernels} only if the module is available at run time.
+ */
+final class VectorKernels implements ScanKernels.Kernels {
+
+	private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+	private static final int LENGTH = SPECIES.length();
+
+	private static final ScanKernels.Kernels SCALAR = new ScanKernels.ScalarKernels();
+
+	@Override
+	public int indexOf(char[] chars, int from, int to, char ch) {
+		int i = from;
+		for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LENGTH) {
+			VectorMask<Short> found = ShortVector.fromCharArray(SPECIES, chars, i)
+					.compare(VectorOperators.EQ, (short) ch);
+			if (found.anyTrue())
+				return i + found.firstTrue();
+		}
+		return SCALAR.indexOf(chars, i, to, ch);
+	}
+
+	@Override
+	public int indexOfAny(char[] chars, int from, int to, char first, char second) {
+		int i = from;
+		for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LENGTH) {
+			ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, i);
+			VectorMask<Short> found = vector.compare(VectorOperators.EQ, (short) first)
+					.or(vector.compare(VectorOperators.EQ, (short) second));
+			if (found.anyTrue())
+				return i + found.firstTrue();
+		}
+		return SCALAR.indexOfAny(chars, i, to, first, second);
+	}
+
+	@Override
+	public int indexOfAny(char[] chars, int from, int to, char[] any) {
+		if (any.length == 0)
+			return -1;
+		int i = from;
+		for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LENGTH) {
+			ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, i);
+			VectorMask<Short> found = vector.compare(VectorOperators.EQ, (short) any[0]);
+			for (int j = 1; j < any.length; j++)
+				found = found.or(vector.compare(VectorOperators.EQ, (short) any[j]));
+			if (found.anyTrue())
+				return i + found.firstTrue();
+		}
+		return SCALAR.indexOfAny(chars, i, to, any);
+	}
+
+	@Override
+	public int indexOfNonAscii(char[] chars, int from, int to) {
+		int i = from;
+		for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LENGTH) {
+			VectorMask<Short> found = ShortVector.fromCharArray(SPECIES, chars, i)
+					.compare(VectorOperators.UNSIGNED_GT, (short) 0x7F);
+			if (found.anyTrue())
+				return i + found.firstTrue();
+		}
+		return SCALAR.indexOfNonAscii(chars, i, to);
+	}
+
+	@Override
+	public int countInRange(char[] chars, int from, int to, char low, char high) {
+		int count = 0;
+		short width = (short) (high - low);
+		int i = from;
+		for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LENGTH)
+			// a single comparison, since the characters below low wrap around
+			count += ShortVector.fromCharArray(SPECIES, chars, i)
+					.sub((short) low)
+					.compare(VectorOperators.UNSIGNED_LE, width)
+					.trueCount();
+		return count + SCALAR.countInRange(chars, i, to, low, high);
+	}
+
+}
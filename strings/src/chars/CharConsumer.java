@@ -0,0 +1,26 @@
+package chars;
+
+import java.util.Objects;
+
+/**
+ * An operation accepting a single {@code char}, the {@code char} specialization of
+ * {@link java.util.function.Consumer} that avoids boxing every character.
+ */
+@FunctionalInterface
+public interface CharConsumer {
+
+	void accept(char ch);
+
+	/**
+	 * @param after
+	 * @return a consumer performing this operation and then {@code after}
+	 */
+	default CharConsumer andThen(CharConsumer after) {
+		Objects.requireNonNull(after);
+		return ch -> {
+			accept(ch);
+			after.accept(ch);
+		};
+	}
+
+}
@@ -0,0 +1,36 @@
+package chars;
+
+import java.util.Objects;
+
+/**
+ * A predicate of one {@code char} argument, the {@code char} specialization of
+ * {@link java.util.function.Predicate} that avoids boxing every character.
+ */
+@FunctionalInterface
+public interface CharPredicate {
+
+	boolean test(char ch);
+
+	default CharPredicate and(CharPredicate other) {
+		Objects.requireNonNull(other);
+		return ch -> test(ch) && other.test(ch);
+	}
+
+	default CharPredicate or(CharPredicate other) {
+		Objects.requireNonNull(other);
+		return ch -> test(ch) || other.test(ch);
+	}
+
+	default CharPredicate negate() {
+		return ch -> !test(ch);
+	}
+
+	/**
+	 * @param ch
+	 * @return a predicate matching only {@code ch}
+	 */
+	static CharPredicate is(char ch) {
+		return other -> other == ch;
+	}
+
+}
@@ -0,0 +1,27 @@
+package chars;
+
+import java.util.Objects;
+
+/**
+ * An operation on a single {@code char} producing a {@code char}, the {@code char}
+ * specialization of {@link java.util.function.UnaryOperator} that avoids boxing every character.
+ */
+@FunctionalInterface
+public interface CharUnaryOperator {
+
+	char applyAsChar(char ch);
+
+	/**
+	 * @param after
+	 * @return an operator applying this operator and then {@code after}
+	 */
+	default CharUnaryOperator andThen(CharUnaryOperator after) {
+		Objects.requireNonNull(after);
+		return ch -> after.applyAsChar(applyAsChar(ch));
+	}
+
+	static CharUnaryOperator identity() {
+		return ch -> ch;
+	}
+
+}
@@ -0,0 +1,219 @@
+package chars;
+
+import java.util.Objects;
+
+/**
+ * The loops scanning ranges of {@code char[]} which the searching and splitting
+ * methods of the library spend most of their time in: finding a character, one of
+ * a few delimiters or a non-ASCII character, and counting the characters of a range.
+ * <p>
+ * The loops run on vectors of characters if the vectorized implementation, in the
+ * {@code src-vector} source folder, is on the class path and the Vector API is
+ * available, that is if the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}. Setting the system property
+ * {@value #VECTOR_PROPERTY} to {@code false} disables it. Otherwise the scalar
+ * loops of this class run, with the same results.
+ */
+public final class ScanKernels {
+
+	public static final String VECTOR_PROPERTY = "strings.vector";
+
+	private static final String VECTOR_MODULE = "jdk.incubator.vector";
+	private static final String VECTOR_KERNELS = "chars.VectorKernels";
+
+	/**
+	 * The loops, implemented with scalar or vector operations. The ranges are checked
+	 * by the caller.
+	 */
+	interface Kernels {
+
+		int indexOf(char[] chars, int from, int to, char ch);
+
+		int indexOfAny(char[] chars, int from, int to, char first, char second);
+
+		int indexOfAny(char[] chars, int from, int to, char[] any);
+
+		int indexOfNonAscii(char[] chars, int from, int to);
+
+		int countInRange(char[] chars, int from, int to, char low, char high);
+	}
+
+	private static final Kernels KERNELS = load();
+
+	private ScanKernels() {
+	}
+
+	private static Kernels load() {
+		if (!Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))
+				|| ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty())
+			return new ScalarKernels();
+		try {
+			return (Kernels) Class.forName(VECTOR_KERNELS)
+					.getDeclaredConstructor()
+					.newInstance();
+		}
+		catch (ReflectiveOperationException | LinkageError e) {
+			// compiled without the vectorized implementation
+			return new ScalarKernels();
+		}
+	}
+
+	/**
+	 * @return {@code true} if the loops run on vectors of characters
+	 */
+	public static boolean isVectorized() {
+		return !(KERNELS instanceof ScalarKernels);
+	}
+
+	/**
+	 * @param chars
+	 * @param from
+	 *        the index of the first character to scan, inclusive
+	 * @param to
+	 *        the index of the last character to scan, exclusive
+	 * @param ch
+	 * @return the index of the first {@code ch} between {@code from} and {@code to},
+	 *         -1 if there is none
+	 * @exception IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static int indexOf(char[] chars, int from, int to, char ch) {
+		Objects.checkFromToIndex(from, to, chars.length);
+		return KERNELS.indexOf(chars, from, to, ch);
+	}
+
+	/**
+	 * @param chars
+	 * @param from
+	 *        the index of the first character to scan, inclusive
+	 * @param to
+	 *        the index of the last character to scan, exclusive
+	 * @param first
+	 * @param second
+	 * @return the index of the first {@code first} or {@code second} between
+	 *         {@code from} and {@code to}, -1 if there is none
+	 * @exception IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static int indexOfAny(char[] chars, int from, int to, char first, char second) {
+		Objects.checkFromToIndex(from, to, chars.length);
+		return KERNELS.indexOfAny(chars, from, to, first, second);
+	}
+
+	/**
+	 * Meant for a few characters, such as delimiters: each one is compared with every
+	 * character scanned.
+	 *
+	 * @param chars
+	 * @param from
+	 *        the index of the first character to scan, inclusive
+	 * @param to
+	 *        the index of the last character to scan, exclusive
+	 * @param any
+	 * @return the index of the first character of {@code any} between {@code from}
+	 *         and {@code to}, -1 if there is none
+	 * @exception IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static int indexOfAny(char[] chars, int from, int to, char... any) {
+		Objects.checkFromToIndex(from, to, chars.length);
+		return KERNELS.indexOfAny(chars, from, to, any);
+	}
+
+	/**
+	 * @param chars
+	 * @param from
+	 *        the index of the first character to scan, inclusive
+	 * @param to
+	 *        the index of the last character to scan, exclusive
+	 * @return the index of the first character above {@code 0x7F} between
+	 *         {@code from} and {@code to}, -1 if there is none
+	 * @exception IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static int indexOfNonAscii(char[] chars, int from, int to) {
+		Objects.checkFromToIndex(from, to, chars.length);
+		return KERNELS.indexOfNonAscii(chars, from, to);
+	}
+
+	/**
+	 * @param chars
+	 * @param from
+	 *        the index of the first character to scan, inclusive
+	 * @param to
+	 *        the index of the last character to scan, exclusive
+	 * @return {@code true} if all the characters between {@code from} and {@code to} are ASCII
+	 * @exception IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static boolean isAscii(char[] chars, int from, int to) {
+		return indexOfNonAscii(chars, from, to) == -1;
+	}
+
+	/**
+	 * @param chars
+	 * @param from
+	 *        the index of the first character to scan, inclusive
+	 * @param to
+	 *        the index of the last character to scan, exclusive
+	 * @param low
+	 *        the first character of the range counted, inclusive
+	 * @param high
+	 *        the last character of the range counted, inclusive
+	 * @return the number of characters between {@code low} and {@code high}, such as
+	 *         {@code 'a'} and {@code 'z'}, found between {@code from} and {@code to}
+	 * @exception IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static int countInRange(char[] chars, int from, int to, char low, char high) {
+		Objects.checkFromToIndex(from, to, chars.length);
+		if (low > high)
+			return 0;
+		return KERNELS.countInRange(chars, from, to, low, high);
+	}
+
+	/**
+	 * The loops processing a character at a time.
+	 */
+	static final class ScalarKernels implements Kernels {
+
+		@Override
+		public int indexOf(char[] chars, int from, int to, char ch) {
+			for (int i = from; i < to; i++)
+				if (chars[i] == ch)
+					return i;
+			return -1;
+		}
+
+		@Override
+		public int indexOfAny(char[] chars, int from, int to, char first, char second) {
+			for (int i = from; i < to; i++)
+				if (chars[i] == first || chars[i] == second)
+					return i;
+			return -1;
+		}
+
+		@Override
+		public int indexOfAny(char[] chars, int from, int to, char[] any) {
+			for (int i = from; i < to; i++)
+				for (char ch : any)
+					if (chars[i] == ch)
+						return i;
+			return -1;
+		}
+
+		@Override
+		public int indexOfNonAscii(char[] chars, int from, int to) {
+			for (int i = from; i < to; i++)
+				if (chars[i] > 0x7F)
+					return i;
+			return -1;
+		}
+
+		@Override
+		public int countInRange(char[] chars, int from, int to, char low, char high) {
+			int count = 0;
+			int width = high - low;
+			for (int i = from; i < to; i++)
+				// a single comparison, since the characters below low wrap around
+				if ((char) (chars[i] - low) <= width)
+					count++;
+			return count;
+		}
+	}
+
+}
@@ -0,0 +1,262 @@
+package strings;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An approximate substring search compiled once from a needle and a maximum number
+ * of errors, reusable on any number of texts.
+ * <p>
+ * A substring of the text matches if it differs from the needle by at most
+ * {@code maxErrors} substituted characters ({@link Distance#HAMMING}), or by at most
+ * {@code maxErrors} inserted, deleted or substituted characters
+ * ({@link Distance#LEVENSHTEIN}). Since with edits substrings starting at different
+ * indexes can match and end at the same index, the occurrences are the indexes where
+ * the matching substrings end, exclusive: with the Hamming distance an occurrence
+ * {@code end} starts at {@code end - needle().length()}.
+ * <blockquote>For example,<pre>
+ * {@code ApproximateSearcher.compile("invoice", 1).endsIn("Invoice lnvoice invice")  => [7, 15, 22]
+ * }</pre></blockquote>
+ * The text is scanned once, in time linear in its length, with bit-parallel algorithms
+ * keeping the state of the search in machine words: the Hamming distance with the
+ * Bitap algorithm extended to errors by Wu and Manber, using a word for each number
+ * of errors, and the Levenshtein distance with the bit-vector algorithm of Myers,
+ * using two words whatever the number of errors. For this reason needles are at
+ * most 64 characters long.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class ApproximateSearcher {
+
+	public enum Distance {
+		HAMMING, LEVENSHTEIN
+	}
+
+	private final String needle;
+	private final int maxErrors;
+	private final Distance distance;
+	private final CharMasks masks;
+	// the bit of the last character of the needle
+	private final long last;
+
+	private ApproximateSearcher(String needle, int maxErrors, Distance distance) {
+		this.needle = needle;
+		this.maxErrors = maxErrors;
+		this.distance = distance;
+		this.masks = CharMasks.of(needle);
+		this.last = 1L << (needle.length() - 1);
+	}
+
+	/**
+	 * @param needle
+	 * @param maxErrors
+	 * @return a searcher for the substrings within a Levenshtein distance of
+	 *         {@code maxErrors} from {@code needle}
+	 * @exception IllegalArgumentException if {@code needle} is empty or longer than 64
+	 *            characters, or {@code maxErrors} is negative or not less than its length
+	 */
+	public static ApproximateSearcher compile(String needle, int maxErrors) {
+		return compile(needle, maxErrors, Distance.LEVENSHTEIN);
+	}
+
+	/**
+	 * @param needle
+	 * @param maxErrors
+	 * @param distance
+	 * @return a searcher for the substrings within a distance of {@code maxErrors}
+	 *         from {@code needle}
+	 * @exception IllegalArgumentException if {@code needle} is empty or longer than 64
+	 *            characters, or {@code maxErrors} is negative or not less than its length
+	 */
+	public static ApproximateSearcher compile(String needle, int maxErrors, Distance distance) {
+		if (needle.isEmpty() || needle.length() > CharMasks.MAX_PATTERN_LENGTH)
+			throw new IllegalArgumentException("The needle must be from 1 to " + CharMasks.MAX_PATTERN_LENGTH
+					+ " characters long: " + Strings.inQuotes(needle));
+		// otherwise every substring as long as the errors would match
+		if (maxErrors < 0 || maxErrors >= needle.length())
+			throw new IllegalArgumentException("The maximum number of errors must be between 0 and "
+					+ (needle.length() - 1) + ": " + maxErrors);
+		return new ApproximateSearcher(needle, maxErrors, Objects.requireNonNull(distance));
+	}
+
+	public String needle() {
+		return needle;
+	}
+
+	public int maxErrors() {
+		return maxErrors;
+	}
+
+	public Distance distance() {
+		return distance;
+	}
+
+	/**
+	 * @param text
+	 * @return the index where the first occurrence of the needle in {@code text} ends,
+	 *         exclusive, -1 if there is none
+	 */
+	public int endIndexIn(CharSequence text) {
+		return endIndexIn(text, 0);
+	}
+
+	/**
+	 * @param text
+	 * @param fromIndex
+	 *        the index where the occurrence must end at the earliest, exclusive
+	 * @return the index where the first occurrence of the needle in {@code text} ending
+	 *         from {@code fromIndex} ends, exclusive, -1 if there is none
+	 */
+	public int endIndexIn(CharSequence text, int fromIndex) {
+		return new Scan().find(text, fromIndex);
+	}
+
+	/**
+	 * Finds all the occurrences of the needle, scanning {@code text} once.
+	 *
+	 * @param text
+	 * @return an array of the indexes where the occurrences of the needle in {@code text}
+	 *         end, exclusive, in increasing order
+	 */
+	public int[] endsIn(CharSequence text) {
+		int[] ends = new int[8];
+		int count = 0;
+		Scan scan = new Scan();
+
+		for (int end = scan.find(text, 0); end != -1; end = scan.find(text, end + 1)) {
+			if (count == ends.length)
+				ends = Arrays.copyOf(ends, count * 2);
+			ends[count++] = end;
+		}
+
+		return Arrays.copyOf(ends, count);
+	}
+
+	/**
+	 * @param text
+	 * @return the number of occurrences that {@link #endsIn(CharSequence)} would return
+	 */
+	public int countIn(CharSequence text) {
+		int count = 0;
+		Scan scan = new Scan();
+
+		for (int end = scan.find(text, 0); end != -1; end = scan.find(text, end + 1))
+			count++;
+
+		return count;
+	}
+
+	/**
+	 * The cursor keeps the state of the search between the occurrences, so that
+	 * iterating over all of them scans {@code text} once.
+	 *
+	 * @param text
+	 * @return a cursor lazily finding the occurrences that {@link #endsIn(CharSequence)}
+	 *         would return
+	 */
+	public OccurrenceCursor cursor(CharSequence text) {
+		return new OccurrenceCursor(new Scan(), text, 1);
+	}
+
+	@Override
+	public String toString() {
+		return "ApproximateSearcher[needle=" + Strings.inQuotes(needle) + ", maxErrors=" + maxErrors
+				+ ", distance=" + distance + "]";
+	}
+
+	/**
+	 * The state of a search in a text, which continues from where the previous one
+	 * stopped when asked for the occurrences after it.
+	 */
+	private final class Scan implements OccurrenceCursor.Finder {
+
+		private CharSequence text;
+		// the number of characters of the text scanned
+		private int position;
+
+		// Hamming distance: the bit i of rows[d] is set if the first i + 1 characters of
+		// the needle match the text scanned with at most d mismatches
+		private final long[] rows = distance == Distance.HAMMING ? new long[maxErrors + 1] : null;
+
+		// Levenshtein distance: the vertical differences in the last column of the matrix
+		// of the distances between the prefixes of the needle and the substrings of the
+		// text, and the distance of the whole needle
+		private long positive;
+		private long negative;
+		private int errors;
+
+		@Override
+		public int find(CharSequence text, int fromIndex) {
+			fromIndex = Math.max(fromIndex, 0);
+			// the state only depends on the characters a match can span
+			int span = needle.length() + maxErrors;
+			if (text != this.text || fromIndex <= position || fromIndex - position > span)
+				restart(text, Math.max(fromIndex - span, 0));
+
+			return rows != null ? hamming(fromIndex) : levenshtein(fromIndex);
+		}
+
+		private void restart(CharSequence text, int position) {
+			this.text = text;
+			this.position = position;
+			if (rows != null)
+				Arrays.fill(rows, 0);
+			positive = -1L;
+			negative = 0;
+			errors = needle.length();
+		}
+
+		private int hamming(int fromIndex) {
+			long[] rows = this.rows;
+			int length = text.length();
+			while (position < length) {
+				long mask = masks.get(text.charAt(position++));
+				long fewerErrors = rows[0];
+				rows[0] = (fewerErrors << 1 | 1) & mask;
+				for (int d = 1; d < rows.length; d++) {
+					long row = rows[d];
+					// a match, or a mismatch with one error less
+					rows[d] = (row << 1 | 1) & mask | (fewerErrors << 1 | 1);
+					fewerErrors = row;
+				}
+				if ((rows[maxErrors] & last) != 0 && position >= fromIndex)
+					return position;
+			}
+			return -1;
+		}
+
+		private int levenshtein(int fromIndex) {
+			long positive = this.positive;
+			long negative = this.negative;
+			int errors = this.errors;
+			int length = text.length();
+			int end = -1;
+			while (position < length) {
+				long equal = masks.get(text.charAt(position++));
+				long diagonal = (((equal & positive) + positive) ^ positive) | equal | negative;
+				long horizontalPositive = negative | ~(diagonal | positive);
+				long horizontalNegative = diagonal & positive;
+				if ((horizontalPositive & last) != 0)
+					errors++;
+				else if ((horizontalNegative & last) != 0)
+					errors--;
+
+				// unlike the distance between whole strings the first row is all 0,
+				// since a match can start anywhere
+				horizontalPositive <<= 1;
+				horizontalNegative <<= 1;
+				positive = horizontalNegative | ~(diagonal | horizontalPositive);
+				negative = horizontalPositive & diagonal;
+				if (errors <= maxErrors && position >= fromIndex) {
+					end = position;
+					break;
+				}
+			}
+			this.positive = positive;
+			this.negative = negative;
+			this.errors = errors;
+			return end;
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+package strings;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The positions of the characters of a pattern of at most 64 characters, for the
+ * bit-parallel algorithms: the bit {@code i} of the mask of a character is set if
+ * the pattern has it at index {@code i}.
+ */
+final class CharMasks {
+
+	static final int MAX_PATTERN_LENGTH = Long.SIZE;
+
+	private final long[] latin1 = new long[256];
+	// the masks of the other characters, sorted by character
+	private final char[] otherChars;
+	private final long[] otherMasks;
+
+	private CharMasks(CharSequence pattern) {
+		TreeMap<Character, Long> others = new TreeMap<>();
+		for (int i = 0; i < pattern.length(); i++) {
+			char ch = pattern.charAt(i);
+			if (ch < latin1.length)
+				latin1[ch] |= 1L << i;
+			else
+				others.merge(ch, 1L << i, (mask, bit) -> mask | bit);
+		}
+		otherChars = new char[others.size()];
+		otherMasks = new long[others.size()];
+		int index = 0;
+		for (var entry : others.entrySet()) {
+			otherChars[index] = entry.getKey();
+			otherMasks[index++] = entry.getValue();
+		}
+	}
+
+	/**
+	 * @param pattern
+	 *        at most {@link #MAX_PATTERN_LENGTH} characters long
+	 */
+	static CharMasks of(CharSequence pattern) {
+		if (pattern.length() > MAX_PATTERN_LENGTH)
+			throw new IllegalArgumentException("The pattern is longer than " + MAX_PATTERN_LENGTH
+					+ " characters: " + pattern.length());
+		return new CharMasks(Objects.requireNonNull(pattern));
+	}
+
+	long get(char ch) {
+		if (ch < latin1.length)
+			return latin1[ch];
+		int index = Arrays.binarySearch(otherChars, ch);
+		return index < 0 ? 0 : otherMasks[index];
+	}
+
+}
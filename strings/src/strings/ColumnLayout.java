@@ -0,0 +1,298 @@
+package strings;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lays out texts side by side in columns, separated by a fixed number of blank spaces.
+ * <p>
+ * The columns are split into lines as in {@link String#lines()} and every column but
+ * the last one is padded to the length of its longest line, followed by the blank
+ * spaces even where the next columns have no line left. The width of every column
+ * is measured once, when the column is added, then the rows are written one by one,
+ * so columns read from a {@link Reader} or a file are never loaded entirely in memory.
+ * <blockquote>For example,<pre>
+ * {@code new ColumnLayout(1).add("a\nbcd").add("ef\ng").add("h")
+ * => "a   ef h"
+ *    "bcd g  "
+ * }</pre></blockquote>
+ */
+public final class ColumnLayout {
+
+	private final int whitespaceBetween;
+	private final List<Column> columns = new ArrayList<>();
+
+	/**
+	 * @param whitespaceBetween
+	 * 		  the number of blank spaces between each column
+	 */
+	public ColumnLayout(int whitespaceBetween) {
+		this.whitespaceBetween = Math.max(whitespaceBetween, 0);
+	}
+
+	/**
+	 * @param column
+	 * @return this layout
+	 */
+	public ColumnLayout add(CharSequence column) {
+		columns.add(new TextColumn(Objects.requireNonNull(column)));
+		return this;
+	}
+
+	/**
+	 * Adds a column read from {@code reader} while the layout is written, which is
+	 * not closed. Lines longer than {@code width} push the following columns to the right.
+	 *
+	 * @param reader
+	 * @param width
+	 *        the width of the column
+	 * @return this layout
+	 */
+	public ColumnLayout add(Reader reader, int width) {
+		BufferedReader buffered = reader instanceof BufferedReader
+				? (BufferedReader) reader
+				: new BufferedReader(reader);
+		columns.add(new ReaderColumn(buffered, Math.max(width, 0)));
+		return this;
+	}
+
+	/**
+	 * Adds a column read from the file at {@code path}, which is read once to measure
+	 * the width of the column and once more every time the layout is written.
+	 *
+	 * @param path
+	 * @param charset
+	 * @return this layout
+	 * @throws IOException if the file can't be read
+	 */
+	public ColumnLayout add(Path path, Charset charset) throws IOException {
+		columns.add(new FileColumn(path, charset));
+		return this;
+	}
+
+	/**
+	 * @param path
+	 * @return this layout
+	 * @throws IOException if the file can't be read
+	 * @see #add(Path, Charset)
+	 */
+	public ColumnLayout add(Path path) throws IOException {
+		return add(path, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Writes the rows of the layout to {@code out}, separated by a line feed.
+	 *
+	 * @param out
+	 * @throws IOException if a column can't be read or {@code out} throws it
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		int count = columns.size();
+		try {
+			for (Column column : columns)
+				column.open();
+
+			int[] widths = new int[count];
+			for (int i = 0; i < count; i++)
+				widths[i] = columns.get(i).width();
+
+			StringBuilder row = new StringBuilder();
+			boolean first = true;
+			while (true) {
+				row.setLength(0);
+				boolean empty = true;
+				for (int i = 0; i < count; i++) {
+					int length = columns.get(i).appendLine(row);
+					if (length == -1)
+						length = 0;
+					else
+						empty = false;
+
+					if (i < count - 1)
+						appendWhitespace(row, Math.max(widths[i] - length, 0) + whitespaceBetween);
+				}
+				if (empty)
+					break;
+
+				if (!first)
+					out.append('\n');
+				out.append(row);
+				first = false;
+			}
+		}
+		finally {
+			for (Column column : columns)
+				column.close();
+		}
+	}
+
+	private static void appendWhitespace(StringBuilder builder, int length) {
+		if (length > 0)
+			RepeatedSequence.of(' ', length).appendTo(builder);
+	}
+
+	/**
+	 * @return the rows of the layout separated by a line feed
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		try {
+			writeTo(builder);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * @return the end of the line of {@code str} starting at {@code index}, which is
+	 *         followed by {@code \n}, {@code \r}, {@code \r\n} or the end of {@code str}
+	 */
+	private static int lineEnd(CharSequence str, int index) {
+		int length = str.length();
+		while (index < length && str.charAt(index) != '\n' && str.charAt(index) != '\r')
+			index++;
+		return index;
+	}
+
+	private abstract static class Column {
+
+		abstract int width();
+
+		void open() throws IOException {
+		}
+
+		/**
+		 * Appends the next line of the column to {@code row}.
+		 *
+		 * @return the length of the line, -1 if there are no more lines
+		 */
+		abstract int appendLine(StringBuilder row) throws IOException;
+
+		void close() throws IOException {
+		}
+	}
+
+	private static final class TextColumn extends Column {
+
+		private final CharSequence text;
+		private final int width;
+		private int position;
+
+		TextColumn(CharSequence text) {
+			this.text = text;
+
+			int width = 0;
+			for (int start = 0, length = text.length(); start < length; ) {
+				int end = lineEnd(text, start);
+				width = Math.max(width, end - start);
+				start = next(end);
+			}
+			this.width = width;
+		}
+
+		/**
+		 * @return the index following the line terminator starting at {@code lineEnd}
+		 */
+		private int next(int lineEnd) {
+			int length = text.length();
+			if (lineEnd == length)
+				return lineEnd;
+			if (text.charAt(lineEnd) == '\r' && lineEnd + 1 < length && text.charAt(lineEnd + 1) == '\n')
+				return lineEnd + 2;
+			return lineEnd + 1;
+		}
+
+		@Override
+		int width() {
+			return width;
+		}
+
+		@Override
+		void open() {
+			position = 0;
+		}
+
+		@Override
+		int appendLine(StringBuilder row) {
+			if (position >= text.length())
+				return -1;
+
+			int end = lineEnd(text, position);
+			row.append(text, position, end);
+			int length = end - position;
+			position = next(end);
+			return length;
+		}
+	}
+
+	private static class ReaderColumn extends Column {
+
+		private final int width;
+		BufferedReader reader;
+
+		ReaderColumn(BufferedReader reader, int width) {
+			this.reader = reader;
+			this.width = width;
+		}
+
+		@Override
+		int width() {
+			return width;
+		}
+
+		@Override
+		int appendLine(StringBuilder row) throws IOException {
+			String line = reader.readLine();
+			if (line == null)
+				return -1;
+			row.append(line);
+			return line.length();
+		}
+	}
+
+	private static final class FileColumn extends ReaderColumn {
+
+		private final Path path;
+		private final Charset charset;
+
+		FileColumn(Path path, Charset charset) throws IOException {
+			super(null, measure(path, charset));
+			this.path = path;
+			this.charset = charset;
+		}
+
+		private static int measure(Path path, Charset charset) throws IOException {
+			try (BufferedReader reader = Files.newBufferedReader(path, charset)) {
+				int width = 0;
+				for (String line; (line = reader.readLine()) != null; )
+					width = Math.max(width, line.length());
+				return width;
+			}
+		}
+
+		@Override
+		void open() throws IOException {
+			reader = Files.newBufferedReader(path, charset);
+		}
+
+		@Override
+		void close() throws IOException {
+			if (reader != null)
+				reader.close();
+			reader = null;
+		}
+	}
+
+}
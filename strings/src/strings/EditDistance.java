@@ -0,0 +1,362 @@
+package strings;
+
+/**
+ * Distances and similarities between strings, to find the ones which are nearly equal.
+ * <p>
+ * The Levenshtein distance is the minimum number of insertions, deletions and
+ * substitutions of single characters turning a string into another one. The
+ * Damerau-Levenshtein distance also counts a transposition of two adjacent characters
+ * as one edit, as long as no substring is edited more than once (the optimal string
+ * alignment distance). Both are computed with the bit-vector algorithm of Myers, as
+ * formulated by Hyyro, in time linear in the length of the longer string when the
+ * shorter one has at most 64 characters. Longer strings fall back to dynamic
+ * programming, restricted to a diagonal band when the distance is bounded.
+ * <blockquote>For example,<pre>
+ * {@code EditDistance.levenshtein("kitten", "sitting")        => 3
+ * EditDistance.damerauLevenshtein("Jhon", "John")       => 1
+ * EditDistance.levenshtein("Jhon Smith", "John", 3)     => -1
+ * }</pre></blockquote>
+ * The bounded methods stop as soon as the distance is known to exceed the bound. A
+ * {@link Query} compares one string with many others, computing the bit masks of
+ * the query only once. Characters are compared as UTF-16 code units.
+ */
+public final class EditDistance {
+
+	/**
+	 * The Jaro similarity above which the common prefix increases the Jaro-Winkler similarity.
+	 */
+	private static final double BOOST_THRESHOLD = 0.7;
+	private static final double PREFIX_SCALE = 0.1;
+	private static final int MAX_PREFIX = 4;
+
+	private EditDistance() {
+	}
+
+	/**
+	 * @param a
+	 * @param b
+	 * @return the Levenshtein distance between {@code a} and {@code b}
+	 */
+	public static int levenshtein(CharSequence a, CharSequence b) {
+		return distance(a, b, Integer.MAX_VALUE, false);
+	}
+
+	/**
+	 * @param a
+	 * @param b
+	 * @param maxDistance
+	 * @return the Levenshtein distance between {@code a} and {@code b}, or {@code -1}
+	 *         if it's bigger than {@code maxDistance}
+	 * @exception IllegalArgumentException if {@code maxDistance} is negative
+	 */
+	public static int levenshtein(CharSequence a, CharSequence b, int maxDistance) {
+		return distance(a, b, checkMaxDistance(maxDistance), false);
+	}
+
+	/**
+	 * @param a
+	 * @param b
+	 * @return the Damerau-Levenshtein distance between {@code a} and {@code b}
+	 */
+	public static int damerauLevenshtein(CharSequence a, CharSequence b) {
+		return distance(a, b, Integer.MAX_VALUE, true);
+	}
+
+	/**
+	 * @param a
+	 * @param b
+	 * @param maxDistance
+	 * @return the Damerau-Levenshtein distance between {@code a} and {@code b}, or
+	 *         {@code -1} if it's bigger than {@code maxDistance}
+	 * @exception IllegalArgumentException if {@code maxDistance} is negative
+	 */
+	public static int damerauLevenshtein(CharSequence a, CharSequence b, int maxDistance) {
+		return distance(a, b, checkMaxDistance(maxDistance), true);
+	}
+
+	/**
+	 * @param a
+	 * @param b
+	 * @return the Jaro similarity of {@code a} and {@code b}, from {@code 0} for strings
+	 *         without any character in common to {@code 1} for equal strings
+	 */
+	public static double jaro(CharSequence a, CharSequence b) {
+		int aLength = a.length();
+		int bLength = b.length();
+		if (aLength == 0 || bLength == 0)
+			return aLength == bLength ? 1 : 0;
+
+		// the characters match if they're equal and not farther than this
+		int window = Math.max(Math.max(aLength, bLength) / 2 - 1, 0);
+		boolean[] aMatched = new boolean[aLength];
+		boolean[] bMatched = new boolean[bLength];
+		int matches = 0;
+		for (int i = 0; i < aLength; i++) {
+			char ch = a.charAt(i);
+			int to = Math.min(i + window, bLength - 1);
+			for (int j = Math.max(i - window, 0); j <= to; j++)
+				if (!bMatched[j] && b.charAt(j) == ch) {
+					aMatched[i] = true;
+					bMatched[j] = true;
+					matches++;
+					break;
+				}
+		}
+		if (matches == 0)
+			return 0;
+
+		// the matched characters in a different order
+		int outOfOrder = 0;
+		for (int i = 0, j = 0; i < aLength; i++)
+			if (aMatched[i]) {
+				while (!bMatched[j])
+					j++;
+				if (a.charAt(i) != b.charAt(j))
+					outOfOrder++;
+				j++;
+			}
+		double m = matches;
+		return (m / aLength + m / bLength + (m - outOfOrder / 2.0) / m) / 3;
+	}
+
+	/**
+	 * @param a
+	 * @param b
+	 * @return the Jaro-Winkler similarity of {@code a} and {@code b}: their
+	 *         {@link #jaro(CharSequence, CharSequence) Jaro similarity}, increased if it's
+	 *         above {@code 0.7} by the length of their common prefix, up to 4 characters
+	 */
+	public static double jaroWinkler(CharSequence a, CharSequence b) {
+		double jaro = jaro(a, b);
+		if (jaro <= BOOST_THRESHOLD)
+			return jaro;
+		int maxPrefix = Math.min(MAX_PREFIX, Math.min(a.length(), b.length()));
+		int prefix = 0;
+		while (prefix < maxPrefix && a.charAt(prefix) == b.charAt(prefix))
+			prefix++;
+		return jaro + prefix * PREFIX_SCALE * (1 - jaro);
+	}
+
+	/**
+	 * @param query
+	 * @return a query comparing {@code query} with other strings
+	 */
+	public static Query query(CharSequence query) {
+		return new Query(query.toString());
+	}
+
+	private static int checkMaxDistance(int maxDistance) {
+		if (maxDistance < 0)
+			throw new IllegalArgumentException("The maximum distance can't be negative: " + maxDistance);
+		return maxDistance;
+	}
+
+	private static int distance(CharSequence a, CharSequence b, int maxDistance, boolean transpositions) {
+		// the common prefix and suffix don't change the distance
+		int prefix = Strings.mismatch(a, b);
+		if (prefix == -1)
+			return 0;
+		int suffix = 0;
+		int maxSuffix = Math.min(a.length(), b.length()) - prefix;
+		while (suffix < maxSuffix
+				&& a.charAt(a.length() - suffix - 1) == b.charAt(b.length() - suffix - 1))
+			suffix++;
+
+		CharSequence shorter = a.length() <= b.length() ? a : b;
+		CharSequence longer = shorter == a ? b : a;
+		shorter = StringSlice.of(shorter, prefix, shorter.length() - suffix);
+		longer = StringSlice.of(longer, prefix, longer.length() - suffix);
+
+		if (longer.length() - shorter.length() > maxDistance)
+			return -1;
+		if (shorter.length() == 0)
+			return longer.length();
+		if (shorter.length() <= CharMasks.MAX_PATTERN_LENGTH)
+			return bitParallel(CharMasks.of(shorter), shorter.length(), longer, maxDistance, transpositions);
+		return dynamicProgramming(shorter, longer, maxDistance, transpositions);
+	}
+
+	/**
+	 * Computes the distance with the bit-vector algorithm, keeping the vertical
+	 * differences of a column of the dynamic programming matrix in two words.
+	 *
+	 * @param masks
+	 *        the masks of the pattern, of length between 1 and 64
+	 * @return the distance between the pattern and {@code text}, or {@code -1} if it's
+	 *         bigger than {@code maxDistance}
+	 */
+	private static int bitParallel(CharMasks masks, int patternLength, CharSequence text,
+			int maxDistance, boolean transpositions) {
+		long positive = -1L;
+		long negative = 0;
+		long diagonal = 0;
+		long previousEqual = 0;
+		long last = 1L << (patternLength - 1);
+		int distance = patternLength;
+		int textLength = text.length();
+		for (int j = 0; j < textLength; j++) {
+			long equal = masks.get(text.charAt(j));
+			long transposed = transpositions ? (~diagonal & equal) << 1 & previousEqual : 0;
+			diagonal = (((equal & positive) + positive) ^ positive) | equal | negative | transposed;
+			long horizontalPositive = negative | ~(diagonal | positive);
+			long horizontalNegative = diagonal & positive;
+			if ((horizontalPositive & last) != 0)
+				distance++;
+			else if ((horizontalNegative & last) != 0)
+				distance--;
+			// the distance decreases at most by one for each character left
+			if (distance - (textLength - j - 1) > maxDistance)
+				return -1;
+
+			horizontalPositive = horizontalPositive << 1 | 1;
+			horizontalNegative <<= 1;
+			positive = horizontalNegative | ~(diagonal | horizontalPositive);
+			negative = horizontalPositive & diagonal;
+			previousEqual = equal;
+		}
+		return distance <= maxDistance ? distance : -1;
+	}
+
+	/**
+	 * Computes the distance column by column, only in the diagonal band of the cells
+	 * which can be within {@code maxDistance}.
+	 *
+	 * @param shorter
+	 *        not longer than {@code longer}, whose length differs by at most {@code maxDistance}
+	 */
+	private static int dynamicProgramming(CharSequence shorter, CharSequence longer,
+			int maxDistance, boolean transpositions) {
+		int m = shorter.length();
+		int n = longer.length();
+		int bound = Math.min(maxDistance, n);
+		// the value of the cells known to exceed the bound
+		int exceeded = bound + 1;
+
+		int[] beforePrevious = new int[m + 1];
+		int[] previous = new int[m + 1];
+		int[] current = new int[m + 1];
+		for (int i = 0; i <= m; i++)
+			previous[i] = Math.min(i, exceeded);
+
+		for (int j = 1; j <= n; j++) {
+			int from = Math.max(1, j - bound);
+			int to = Math.min(m, j + bound);
+			current[0] = Math.min(j, exceeded);
+			current[from - 1] = from == 1 ? current[0] : exceeded;
+			int columnMin = current[from - 1];
+
+			char ch = longer.charAt(j - 1);
+			for (int i = from; i <= to; i++) {
+				char patternChar = shorter.charAt(i - 1);
+				int cost = patternChar == ch ? 0 : 1;
+				int d = Math.min(Math.min(current[i - 1], previous[i]) + 1, previous[i - 1] + cost);
+				if (transpositions && i > 1 && j > 1
+						&& patternChar == longer.charAt(j - 2) && shorter.charAt(i - 2) == ch)
+					d = Math.min(d, beforePrevious[i - 2] + 1);
+				current[i] = Math.min(d, exceeded);
+				columnMin = Math.min(columnMin, current[i]);
+			}
+			// the cell below the band, read by the next column
+			if (to < m)
+				current[to + 1] = exceeded;
+			if (columnMin > bound)
+				return -1;
+
+			int[] recycled = beforePrevious;
+			beforePrevious = previous;
+			previous = current;
+			current = recycled;
+		}
+		return previous[m] <= maxDistance ? previous[m] : -1;
+	}
+
+	/**
+	 * A string compared with many others. The bit masks of the query are computed
+	 * once, instead of at every comparison.
+	 * <p>
+	 * Instances are immutable and can be shared between threads.
+	 */
+	public static final class Query {
+
+		private final String query;
+		// null if the query is too long for the bit-vector algorithm
+		private final CharMasks masks;
+
+		private Query(String query) {
+			this.query = query;
+			this.masks = !query.isEmpty() && query.length() <= CharMasks.MAX_PATTERN_LENGTH
+					? CharMasks.of(query)
+					: null;
+		}
+
+		/**
+		 * @return the string compared with the others
+		 */
+		public String query() {
+			return query;
+		}
+
+		/**
+		 * @param candidate
+		 * @return the Levenshtein distance between the query and {@code candidate}
+		 */
+		public int levenshtein(CharSequence candidate) {
+			return distance(candidate, Integer.MAX_VALUE, false);
+		}
+
+		/**
+		 * @param candidate
+		 * @param maxDistance
+		 * @return the Levenshtein distance between the query and {@code candidate},
+		 *         or {@code -1} if it's bigger than {@code maxDistance}
+		 * @exception IllegalArgumentException if {@code maxDistance} is negative
+		 */
+		public int levenshtein(CharSequence candidate, int maxDistance) {
+			return distance(candidate, checkMaxDistance(maxDistance), false);
+		}
+
+		/**
+		 * @param candidate
+		 * @return the Damerau-Levenshtein distance between the query and {@code candidate}
+		 */
+		public int damerauLevenshtein(CharSequence candidate) {
+			return distance(candidate, Integer.MAX_VALUE, true);
+		}
+
+		/**
+		 * @param candidate
+		 * @param maxDistance
+		 * @return the Damerau-Levenshtein distance between the query and {@code candidate},
+		 *         or {@code -1} if it's bigger than {@code maxDistance}
+		 * @exception IllegalArgumentException if {@code maxDistance} is negative
+		 */
+		public int damerauLevenshtein(CharSequence candidate, int maxDistance) {
+			return distance(candidate, checkMaxDistance(maxDistance), true);
+		}
+
+		/**
+		 * @param candidate
+		 * @return the Jaro-Winkler similarity of the query and {@code candidate}
+		 * @see EditDistance#jaroWinkler(CharSequence, CharSequence)
+		 */
+		public double jaroWinkler(CharSequence candidate) {
+			return EditDistance.jaroWinkler(query, candidate);
+		}
+
+		private int distance(CharSequence candidate, int maxDistance, boolean transpositions) {
+			if (masks == null)
+				return EditDistance.distance(query, candidate, maxDistance, transpositions);
+			if (Math.abs(candidate.length() - query.length()) > maxDistance)
+				return -1;
+			if (candidate.length() == 0)
+				return query.length();
+			return bitParallel(masks, query.length(), candidate, maxDistance, transpositions);
+		}
+
+		@Override
+		public String toString() {
+			return "EditDistance.Query[" + query + "]";
+		}
+	}
+
+}
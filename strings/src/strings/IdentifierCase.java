@@ -0,0 +1,299 @@
+package strings;
+
+import java.io.IOException;
+
+/**
+ * The ways of writing the words of an identifier. Any identifier can be converted
+ * to any case: its words are the runs of letters and digits, also split where a
+ * lower case letter is followed by an upper case letter, and before the last upper
+ * case letter of an acronym followed by a lower case letter. Digits belong to the
+ * word of the letters before them.
+ * <blockquote>For example,<pre>
+ * {@code IdentifierCase.SNAKE.convert("parseHTTPResponse2xx")  => "parse_http_response2xx"
+ * IdentifierCase.CAMEL.convert("user-account id")           => "userAccountId"
+ * IdentifierCase.TITLE.convert("MAX_RETRY_COUNT")           => "Max Retry Count"
+ * }</pre></blockquote>
+ * Identifiers are converted in one scan. An identifier made only of ASCII characters
+ * is written into an array as long as the longest possible result, then copied once
+ * into the string.
+ */
+public enum IdentifierCase {
+
+	/** {@code "homeSweetHome"} */
+	CAMEL('\0', false, true, false),
+	/** {@code "HomeSweetHome"} */
+	PASCAL('\0', true, true, false),
+	/** {@code "home_sweet_home"} */
+	SNAKE('_', false, false, false),
+	/** {@code "home-sweet-home"} */
+	KEBAB('-', false, false, false),
+	/** {@code "HOME_SWEET_HOME"} */
+	UPPER_SNAKE('_', true, true, true),
+	/** {@code "Home Sweet Home"} */
+	TITLE(' ', true, true, false),
+	/** {@code "home sweet home"} */
+	LOWER(' ', false, false, false);
+
+	private static final byte SEPARATOR = 0;
+	private static final byte UPPER_LETTER = 1;
+	private static final byte LOWER_LETTER = 2;
+	private static final byte DIGIT = 3;
+	// a letter without case, such as the ideographs
+	private static final byte UNCASED_LETTER = 4;
+
+	private static final byte[] ASCII_TYPES = new byte[128];
+
+	static {
+		for (char ch = 'A'; ch <= 'Z'; ch++)
+			ASCII_TYPES[ch] = UPPER_LETTER;
+		for (char ch = 'a'; ch <= 'z'; ch++)
+			ASCII_TYPES[ch] = LOWER_LETTER;
+		for (char ch = '0'; ch <= '9'; ch++)
+			ASCII_TYPES[ch] = DIGIT;
+	}
+
+	// the character between the words, '\0' if there is none
+	private final char separator;
+	private final boolean upperFirstWord;
+	private final boolean upperOtherWords;
+	// whether the characters after the first one of every word are upper case
+	private final boolean upperRest;
+
+	private IdentifierCase(char separator, boolean upperFirstWord, boolean upperOtherWords, boolean upperRest) {
+		this.separator = separator;
+		this.upperFirstWord = upperFirstWord;
+		this.upperOtherWords = upperOtherWords;
+		this.upperRest = upperRest;
+	}
+
+	/**
+	 * @param identifier
+	 * @return {@code identifier} converted to this case
+	 */
+	public String convert(CharSequence identifier) {
+		String ascii = convertAscii(identifier);
+		if (ascii != null)
+			return ascii;
+		return convert(identifier, new StringBuilder(identifier.length() + 8)).toString();
+	}
+
+	/**
+	 * Appends {@code identifier} converted to this case to {@code out}.
+	 *
+	 * @param identifier
+	 * @param out
+	 * @throws IOException if {@code out} throws it
+	 */
+	public void convert(CharSequence identifier, Appendable out) throws IOException {
+		int length = identifier.length();
+		int words = 0;
+		int previousType = SEPARATOR;
+		for (int i = 0; i < length; ) {
+			int codePoint = Character.codePointAt(identifier, i);
+			i += Character.charCount(codePoint);
+			int type = type(codePoint);
+			if (type == SEPARATOR) {
+				previousType = SEPARATOR;
+				continue;
+			}
+
+			boolean upper;
+			if (previousType == SEPARATOR || startsWord(previousType, type, identifier, i)) {
+				if (words > 0 && separator != '\0')
+					out.append(separator);
+				upper = words == 0 ? upperFirstWord : upperOtherWords;
+				words++;
+			}
+			else
+				upper = upperRest;
+			appendCodePoint(out, upper ? Character.toUpperCase(codePoint) : Character.toLowerCase(codePoint));
+			previousType = nextPreviousType(previousType, type);
+		}
+	}
+
+	/**
+	 * Appends {@code identifier} converted to this case to {@code out}.
+	 *
+	 * @param identifier
+	 * @param out
+	 * @return {@code out}
+	 */
+	public StringBuilder convert(CharSequence identifier, StringBuilder out) {
+		try {
+			convert(identifier, (Appendable) out);
+		}
+		catch (IOException e) {
+			// a StringBuilder never throws it
+			throw new AssertionError(e);
+		}
+		return out;
+	}
+
+	/**
+	 * The same conversion as {@link #convert(CharSequence, Appendable)}, restricted
+	 * to ASCII characters.
+	 *
+	 * @return the converted identifier, or {@code null} if it contains a non-ASCII character
+	 */
+	private String convertAscii(CharSequence identifier) {
+		int length = identifier.length();
+		// every character is copied, and at most one separator precedes each of them
+		char[] converted = new char[separator == '\0' ? length : 2 * length];
+		int size = 0;
+		int words = 0;
+		int previousType = SEPARATOR;
+		for (int i = 0; i < length; i++) {
+			char ch = identifier.charAt(i);
+			if (ch >= 128)
+				return null;
+			int type = ASCII_TYPES[ch];
+			if (type == SEPARATOR) {
+				previousType = SEPARATOR;
+				continue;
+			}
+
+			boolean upper;
+			if (previousType == SEPARATOR || startsWord(previousType, type, identifier, i + 1)) {
+				if (words > 0 && separator != '\0')
+					converted[size++] = separator;
+				upper = words == 0 ? upperFirstWord : upperOtherWords;
+				words++;
+			}
+			else
+				upper = upperRest;
+			if (upper && ch >= 'a' && ch <= 'z')
+				ch -= 'a' - 'A';
+			else if (!upper && ch >= 'A' && ch <= 'Z')
+				ch += 'a' - 'A';
+			converted[size++] = ch;
+			previousType = nextPreviousType(previousType, type);
+		}
+		return new String(converted, 0, size);
+	}
+
+	/**
+	 * The conversion of {@link Strings#toCamelCase(String)}, which unlike {@link #CAMEL}
+	 * only splits the words of {@link Strings#words(CharSequence)} and keeps their case:
+	 * the first word is copied and the first letter of the others is capitalized.
+	 * Since the text before the first separator is the first word, it is empty if the
+	 * text starts with a separator.
+	 */
+	static String joinWords(CharSequence str) {
+		int length = str.length();
+		// the upper case of a character is as long as the character
+		char[] converted = new char[length];
+		int size = 0;
+		boolean firstWord = true;
+		boolean wordStart = true;
+		for (int i = 0; i < length; ) {
+			int codePoint = Character.codePointAt(str, i);
+			i += Character.charCount(codePoint);
+			if (isWordSeparator(codePoint)) {
+				firstWord = false;
+				wordStart = true;
+				continue;
+			}
+
+			if (wordStart && !firstWord)
+				codePoint = Character.toUpperCase(codePoint);
+			wordStart = false;
+			size += Character.toChars(codePoint, converted, size);
+		}
+		return new String(converted, 0, size);
+	}
+
+	/**
+	 * The conversion of {@link Strings#fromCamelCase(String)}, which unlike {@link #LOWER}
+	 * only starts a word at every letter from {@code 'A'} to {@code 'Z'}: the words are
+	 * converted to lower case and joined with spaces, after removing the first one if
+	 * it is blank.
+	 */
+	static String splitWords(CharSequence camelCase) {
+		int length = camelCase.length();
+		int start = 0;
+		while (start < length && !isAsciiUpperCase(camelCase.charAt(start)))
+			start++;
+		if (!isBlank(camelCase, start))
+			start = 0;
+
+		// every character is copied, and at most one space precedes each of them
+		char[] converted = new char[2 * (length - start)];
+		int size = 0;
+		for (int i = start; i < length; ) {
+			int codePoint = Character.codePointAt(camelCase, i);
+			i += Character.charCount(codePoint);
+			if (codePoint < 128 && isAsciiUpperCase((char) codePoint) && size > 0)
+				converted[size++] = ' ';
+			size += Character.toChars(Character.toLowerCase(codePoint), converted, size);
+		}
+		return new String(converted, 0, size);
+	}
+
+	private static boolean isWordSeparator(int codePoint) {
+		return codePoint == ' ' || codePoint == '(' || codePoint == ')' || codePoint == '?'
+				|| codePoint == '\r' || codePoint == '\n';
+	}
+
+	private static boolean isAsciiUpperCase(char ch) {
+		return ch >= 'A' && ch <= 'Z';
+	}
+
+	/**
+	 * @return {@code true} if the first {@code end} characters of {@code str} are white spaces
+	 */
+	private static boolean isBlank(CharSequence str, int end) {
+		for (int i = 0; i < end; i++)
+			if (!Character.isWhitespace(str.charAt(i)))
+				return false;
+		return true;
+	}
+
+	/**
+	 * @param next
+	 *        the index of the character after the current one
+	 * @return {@code true} if a character of {@code type}, following one of {@code previousType}
+	 *         in the same run of letters and digits, starts a new word
+	 */
+	private static boolean startsWord(int previousType, int type, CharSequence identifier, int next) {
+		if (type != UPPER_LETTER)
+			return false;
+		if (previousType == DIGIT)
+			// the digits at the start of a word are followed by letters of any case
+			return false;
+		if (previousType != UPPER_LETTER)
+			return true;
+		// the last letter of an acronym followed by a lower case word, as the S of "HTTPServer"
+		return next < identifier.length() && type(Character.codePointAt(identifier, next)) == LOWER_LETTER;
+	}
+
+	/**
+	 * A digit continues its word with the case of the letters before it, so the
+	 * words of {@code "utf8Decoder"} and {@code "UTF8_DECODER"} are the same.
+	 */
+	private static int nextPreviousType(int previousType, int type) {
+		if (type != DIGIT)
+			return type;
+		return previousType == SEPARATOR ? DIGIT : previousType;
+	}
+
+	private static int type(int codePoint) {
+		if (codePoint < 128)
+			return ASCII_TYPES[codePoint];
+		if (Character.isUpperCase(codePoint) || Character.isTitleCase(codePoint))
+			return UPPER_LETTER;
+		if (Character.isLowerCase(codePoint))
+			return LOWER_LETTER;
+		if (Character.isDigit(codePoint))
+			return DIGIT;
+		return Character.isLetterOrDigit(codePoint) ? UNCASED_LETTER : SEPARATOR;
+	}
+
+	private static void appendCodePoint(Appendable out, int codePoint) throws IOException {
+		if (Character.isBmpCodePoint(codePoint))
+			out.append((char) codePoint);
+		else
+			out.append(Character.highSurrogate(codePoint))
+				.append(Character.lowSurrogate(codePoint));
+	}
+
+}
@@ -0,0 +1,354 @@
+package strings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds the occurrences of a needle in files too big to be loaded in memory.
+ * <p>
+ * The file is memory-mapped in chunks which are searched in parallel on a
+ * {@link ForkJoinPool}; each chunk is mapped together with the first
+ * {@code needle length - 1} bytes of the next one, so that occurrences crossing
+ * a chunk boundary are found. The needle is encoded once in the given charset and
+ * searched as bytes with the Boyer-Moore-Horspool algorithm, so the occurrences are
+ * reported as byte offsets from the start of the file, in increasing order.
+ * <p>
+ * As in {@link Strings#substringOccurrences(CharSequence, String)} each occurrence
+ * starts after the end of the previous one, unless overlapping occurrences are
+ * requested. Instances are immutable and can be shared between threads.
+ */
+public final class MappedFileSearcher {
+
+	/**
+	 * Receives the progress of a search. It can be called concurrently by the
+	 * threads searching different chunks of the file.
+	 */
+	@FunctionalInterface
+	public interface ProgressListener {
+
+		/**
+		 * @param searchedBytes
+		 *        the number of bytes searched so far
+		 * @param totalBytes
+		 *        the size of the file
+		 */
+		void progress(long searchedBytes, long totalBytes);
+	}
+
+	public static final int DEFAULT_CHUNK_SIZE = 64 << 20;
+
+	// the progress is reported, and the cancellation checked, after each block of a chunk
+	private static final int BLOCK_SIZE = 1 << 20;
+
+	private final byte[] needle;
+	private final int[] shifts;
+	private final int chunkSize;
+
+	/**
+	 * @param needle
+	 * @return a searcher for the UTF-8 encoding of {@code needle}
+	 * @exception IllegalArgumentException if {@code needle} is empty
+	 */
+	public static MappedFileSearcher compile(String needle) {
+		return compile(needle, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param needle
+	 * @param charset
+	 * @return a searcher for the encoding of {@code needle} in {@code charset}
+	 * @exception IllegalArgumentException if {@code needle} is empty
+	 */
+	public static MappedFileSearcher compile(String needle, Charset charset) {
+		return compile(needle.getBytes(charset));
+	}
+
+	/**
+	 * @param needle
+	 * @return a searcher for the bytes of {@code needle}
+	 * @exception IllegalArgumentException if {@code needle} is empty
+	 */
+	public static MappedFileSearcher compile(byte[] needle) {
+		return new MappedFileSearcher(needle.clone(), DEFAULT_CHUNK_SIZE);
+	}
+
+	private MappedFileSearcher(byte[] needle, int chunkSize) {
+		if (needle.length == 0)
+			throw new IllegalArgumentException("Cannot search for an empty substring");
+		if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE - needle.length)
+			throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+
+		this.needle = needle;
+		this.chunkSize = chunkSize;
+
+		int length = needle.length;
+		shifts = new int[256];
+		Arrays.fill(shifts, length);
+		for (int i = 0; i < length - 1; i++)
+			shifts[needle[i] & 0xFF] = length - 1 - i;
+	}
+
+	/**
+	 * @param chunkSize
+	 *        the number of bytes searched by each task
+	 * @return a searcher for the same needle splitting the files in chunks of
+	 *         {@code chunkSize} bytes
+	 * @exception IllegalArgumentException if {@code chunkSize} is not positive
+	 */
+	public MappedFileSearcher withChunkSize(int chunkSize) {
+		return new MappedFileSearcher(needle, chunkSize);
+	}
+
+	public int chunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Searches {@code file} on the common {@link ForkJoinPool}, each occurrence
+	 * starting after the end of the previous one.
+	 *
+	 * @param file
+	 * @return the byte offsets of the occurrences of the needle in {@code file}
+	 * @throws IOException if the file can't be read
+	 */
+	public long[] occurrencesIn(Path file) throws IOException {
+		return occurrencesIn(file, false);
+	}
+
+	/**
+	 * Searches {@code file} on the common {@link ForkJoinPool}.
+	 *
+	 * @param file
+	 * @param overlapping
+	 *        if {@code true} an occurrence can start before the end of the previous one
+	 * @return the byte offsets of the occurrences of the needle in {@code file}
+	 * @throws IOException if the file can't be read
+	 */
+	public long[] occurrencesIn(Path file, boolean overlapping) throws IOException {
+		try {
+			return ForkJoinPool.commonPool().invoke(new Search(file, overlapping, null));
+		}
+		catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Starts searching {@code file} on {@code pool}. The search can be stopped with
+	 * {@link Future#cancel(boolean)}, and its I/O errors are thrown by {@link Future#get()}
+	 * wrapped in an {@link UncheckedIOException}.
+	 *
+	 * @param file
+	 * @param overlapping
+	 *        if {@code true} an occurrence can start before the end of the previous one
+	 * @param pool
+	 * @param listener
+	 *        the listener notified of the progress of the search, can be {@code null}
+	 * @return the pending byte offsets of the occurrences of the needle in {@code file}
+	 */
+	public Future<long[]> submit(Path file, boolean overlapping, ForkJoinPool pool, ProgressListener listener) {
+		return pool.submit(new Search(file, overlapping, listener));
+	}
+
+	/**
+	 * Searches the region of a mapped chunk starting from {@code from}.
+	 *
+	 * @return the index of the first occurrence starting between {@code from} and
+	 *         {@code lastStart}, -1 if there is none
+	 */
+	private int indexIn(MappedByteBuffer region, int from, int lastStart) {
+		int lastIndex = needle.length - 1;
+		byte lastByte = needle[lastIndex];
+		lastStart = Math.min(lastStart, region.limit() - needle.length);
+
+		int i = from;
+		while (i <= lastStart) {
+			byte b = region.get(i + lastIndex);
+			if (b == lastByte) {
+				int j = lastIndex - 1;
+				while (j >= 0 && region.get(i + j) == needle[j])
+					j--;
+				if (j < 0)
+					return i;
+			}
+			i += shifts[b & 0xFF];
+		}
+		return -1;
+	}
+
+	private int step(boolean overlapping) {
+		return overlapping ? 1 : needle.length;
+	}
+
+	@Override
+	public String toString() {
+		return "MappedFileSearcher[needle=" + Arrays.toString(needle) + ", chunkSize=" + chunkSize + "]";
+	}
+
+	/**
+	 * Forks a task for each chunk of the file and joins them in order, fixing the
+	 * occurrences at the start of a chunk that overlap the last one of the previous chunk.
+	 */
+	private final class Search extends RecursiveTask<long[]> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Path file;
+		private final boolean overlapping;
+		private final ProgressListener listener;
+
+		private final AtomicLong searchedBytes = new AtomicLong();
+		private long size;
+
+		private long[] offsets = new long[16];
+		private int count;
+
+		Search(Path file, boolean overlapping, ProgressListener listener) {
+			this.file = file;
+			this.overlapping = overlapping;
+			this.listener = listener;
+		}
+
+		@Override
+		protected long[] compute() {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				size = channel.size();
+
+				List<Chunk> chunks = new ArrayList<>();
+				for (long start = 0; start < size; start += chunkSize) {
+					Chunk chunk = new Chunk(this, channel, start, (int) Math.min(chunkSize, size - start));
+					chunk.fork();
+					chunks.add(chunk);
+				}
+
+				long previousEnd = 0;
+				for (int i = 0; i < chunks.size(); i++) {
+					Chunk chunk = chunks.get(i);
+					chunks.set(i, null);
+					chunk.join();
+					if (isCancelled())
+						throw new CancellationException();
+					previousEnd = merge(chunk, previousEnd);
+					chunk.region = null;
+				}
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return Arrays.copyOf(offsets, count);
+		}
+
+		/**
+		 * @return the end of the last occurrence added
+		 */
+		private long merge(Chunk chunk, long previousEnd) {
+			int first = 0;
+			if (!overlapping && previousEnd > chunk.start) {
+				// the first occurrences of the chunk may overlap the previous one: the chunk
+				// is searched again from the end of the previous occurrence until the search
+				// finds one of the occurrences of the chunk, after which they coincide
+				int step = step(false);
+				int index = indexIn(chunk.region, (int) (previousEnd - chunk.start), chunk.length - 1);
+				while (index != -1) {
+					while (first < chunk.count && chunk.offsets[first] < index)
+						first++;
+					if (first < chunk.count && chunk.offsets[first] == index)
+						break;
+					add(chunk.start + index);
+					index = indexIn(chunk.region, index + step, chunk.length - 1);
+				}
+				if (index == -1)
+					first = chunk.count;
+			}
+
+			for (int i = first; i < chunk.count; i++)
+				add(chunk.start + chunk.offsets[i]);
+			return count > 0 ? offsets[count - 1] + needle.length : previousEnd;
+		}
+
+		private void add(long offset) {
+			if (count == offsets.length)
+				offsets = Arrays.copyOf(offsets, count * 2);
+			offsets[count++] = offset;
+		}
+
+		void searched(int bytes) {
+			long searched = searchedBytes.addAndGet(bytes);
+			if (listener != null)
+				listener.progress(searched, size);
+		}
+	}
+
+	/**
+	 * Searches a chunk of the file, mapped together with the first bytes of the next one.
+	 */
+	private final class Chunk extends RecursiveTask<Void> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Search search;
+		private final FileChannel channel;
+		private final long start;
+		private final int length;
+
+		private MappedByteBuffer region;
+		private int[] offsets;
+		private int count;
+
+		Chunk(Search search, FileChannel channel, long start, int length) {
+			this.search = search;
+			this.channel = channel;
+			this.start = start;
+			this.length = length;
+		}
+
+		@Override
+		protected Void compute() {
+			if (search.isCancelled())
+				return null;
+
+			try {
+				long regionLength = Math.min(length + needle.length - 1L, channel.size() - start);
+				region = channel.map(FileChannel.MapMode.READ_ONLY, start, regionLength);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+
+			offsets = new int[16];
+			int step = step(search.overlapping);
+			int from = 0;
+			for (int block = 0; block < length; block += BLOCK_SIZE) {
+				int blockEnd = (int) Math.min((long) block + BLOCK_SIZE, length);
+				int index;
+				while ((index = indexIn(region, from, blockEnd - 1)) != -1) {
+					if (count == offsets.length)
+						offsets = Arrays.copyOf(offsets, count * 2);
+					offsets[count++] = index;
+					from = index + step;
+				}
+				from = Math.max(from, blockEnd);
+
+				if (search.isCancelled())
+					return null;
+				search.searched(blockEnd - block);
+			}
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,391 @@
+package strings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Finds the occurrences of many substrings (the needles) in a single pass over the
+ * searched text, using an Aho-Corasick automaton built once from the needles.
+ * <p>
+ * Every needle is identified by its index in the array or collection the searcher
+ * was built from. Instances are immutable and can be shared between threads.
+ */
+public final class MultiSubstringSearcher {
+
+	public enum MatchMode {
+		/**
+		 * Reports every occurrence of every needle, including occurrences
+		 * overlapping each other.
+		 */
+		OVERLAPPING,
+		/**
+		 * Reports non-overlapping occurrences scanning from left to right: at every
+		 * position the occurrence starting first is chosen and, among the ones
+		 * starting at the same index, the longest.
+		 * The text is still read once: an occurrence is reported when the scan
+		 * is as far past its start as the longest needle is long.
+		 */
+		LEFTMOST_LONGEST
+	}
+
+	/**
+	 * Receives the occurrences found by {@link MultiSubstringSearcher#forEachOccurrence}.
+	 */
+	@FunctionalInterface
+	public interface OccurrenceConsumer {
+
+		/**
+		 * @param needleId
+		 *        the index of the needle found
+		 * @param index
+		 *        the position of the first letter of the occurrence in the text
+		 */
+		void accept(int needleId, int index);
+	}
+
+	private static final int ROOT = 0;
+	private static final int NONE = -1;
+	private static final int DENSE_ROOT_SIZE = 128;
+
+	private final String[] needles;
+
+	private final int[] edgeStart;
+	private final char[] edgeChars;
+	private final int[] edgeTargets;
+	private final int[] denseRoot;
+
+	private final int[] fail;
+	private final int[] dictionaryLink;
+	private final int[] depth;
+	private final int[] stateNeedle;
+	private final int[] sameNeedleNext;
+	// the length of the longest needle
+	private final int maxLength;
+
+	/**
+	 * @param needles
+	 * @return a searcher for all the {@code needles}
+	 * @exception IllegalArgumentException if one of the needles is empty
+	 */
+	public static MultiSubstringSearcher of(String... needles) {
+		return new MultiSubstringSearcher(needles.clone());
+	}
+
+	/**
+	 * @param needles
+	 * @return a searcher for all the {@code needles}, identified by their iteration order
+	 * @exception IllegalArgumentException if one of the needles is empty
+	 */
+	public static MultiSubstringSearcher of(Collection<String> needles) {
+		return new MultiSubstringSearcher(needles.toArray(String[]::new));
+	}
+
+	private MultiSubstringSearcher(String[] needles) {
+		this.needles = needles;
+
+		// trie construction, the edges are kept in a map until the automaton is frozen
+		Map<Long, Integer> edges = new HashMap<>();
+		List<Integer> depths = new ArrayList<>();
+		List<Integer> terminals = new ArrayList<>();
+		depths.add(0);
+		terminals.add(NONE);
+
+		sameNeedleNext = new int[needles.length];
+		Arrays.fill(sameNeedleNext, NONE);
+
+		for (int id = 0; id < needles.length; id++) {
+			String needle = Objects.requireNonNull(needles[id]);
+			if (needle.isEmpty())
+				throw new IllegalArgumentException("Cannot search for an empty substring");
+
+			int state = ROOT;
+			for (int i = 0; i < needle.length(); i++) {
+				long key = edgeKey(state, needle.charAt(i));
+				Integer next = edges.get(key);
+				if (next == null) {
+					next = depths.size();
+					edges.put(key, next);
+					depths.add(i + 1);
+					terminals.add(NONE);
+				}
+				state = next;
+			}
+
+			int first = terminals.get(state);
+			if (first == NONE)
+				terminals.set(state, id);
+			else {
+				int last = first;
+				while (sameNeedleNext[last] != NONE)
+					last = sameNeedleNext[last];
+				sameNeedleNext[last] = id;
+			}
+		}
+
+		int stateCount = depths.size();
+		depth = depths.stream().mapToInt(Integer::intValue).toArray();
+		maxLength = Arrays.stream(depth).max().getAsInt();
+		stateNeedle = terminals.stream().mapToInt(Integer::intValue).toArray();
+
+		// freezes the edges sorted by source state and character
+		long[] sortedKeys = edges.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+		edgeStart = new int[stateCount + 1];
+		edgeChars = new char[sortedKeys.length];
+		edgeTargets = new int[sortedKeys.length];
+		for (int i = 0; i < sortedKeys.length; i++) {
+			long key = sortedKeys[i];
+			edgeChars[i] = (char) key;
+			edgeTargets[i] = edges.get(key);
+			edgeStart[(int) (key >>> 16) + 1]++;
+		}
+		for (int s = 0; s < stateCount; s++)
+			edgeStart[s + 1] += edgeStart[s];
+
+		denseRoot = new int[DENSE_ROOT_SIZE];
+		Arrays.fill(denseRoot, NONE);
+		for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++)
+			if (edgeChars[e] < DENSE_ROOT_SIZE)
+				denseRoot[edgeChars[e]] = edgeTargets[e];
+
+		// failure and dictionary links, computed breadth first
+		fail = new int[stateCount];
+		dictionaryLink = new int[stateCount];
+		dictionaryLink[ROOT] = NONE;
+		int[] queue = new int[stateCount];
+		int head = 0, tail = 0;
+		queue[tail++] = ROOT;
+		while (head < tail) {
+			int state = queue[head++];
+			for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+				int child = edgeTargets[e];
+				int childFail = state == ROOT ? ROOT : transition(fail[state], edgeChars[e]);
+				fail[child] = childFail;
+				dictionaryLink[child] = stateNeedle[childFail] != NONE ? childFail : dictionaryLink[childFail];
+				queue[tail++] = child;
+			}
+		}
+	}
+
+	private static long edgeKey(int state, char ch) {
+		return ((long) state << 16) | ch;
+	}
+
+	private int child(int state, char ch) {
+		if (state == ROOT && ch < DENSE_ROOT_SIZE)
+			return denseRoot[ch];
+
+		int low = edgeStart[state];
+		int high = edgeStart[state + 1] - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			char midChar = edgeChars[mid];
+			if (midChar < ch)
+				low = mid + 1;
+			else if (midChar > ch)
+				high = mid - 1;
+			else
+				return edgeTargets[mid];
+		}
+		return NONE;
+	}
+
+	private int transition(int state, char ch) {
+		while (true) {
+			int next = child(state, ch);
+			if (next != NONE)
+				return next;
+			if (state == ROOT)
+				return ROOT;
+			state = fail[state];
+		}
+	}
+
+	public int needleCount() {
+		return needles.length;
+	}
+
+	/**
+	 * @param needleId
+	 * @return the needle identified by {@code needleId}
+	 * @throws IndexOutOfBoundsException if {@code needleId} is not a valid needle id
+	 */
+	public String needle(int needleId) {
+		return needles[needleId];
+	}
+
+	/**
+	 * Reports every occurrence found in {@code text} to {@code consumer}, ordered by
+	 * the position where the occurrence ends. In {@link MatchMode#LEFTMOST_LONGEST} mode,
+	 * needles appearing more than once in the searcher are reported with their lowest id.
+	 *
+	 * @param text
+	 * @param mode
+	 * @param consumer
+	 */
+	public void forEachOccurrence(CharSequence text, MatchMode mode, OccurrenceConsumer consumer) {
+		if (mode == MatchMode.OVERLAPPING)
+			forEachOverlapping(text, consumer);
+		else
+			forEachLeftmostLongest(text, consumer);
+	}
+
+	private void forEachOverlapping(CharSequence text, OccurrenceConsumer consumer) {
+		int state = ROOT;
+		for (int i = 0, length = text.length(); i < length; i++) {
+			state = transition(state, text.charAt(i));
+
+			int terminal = stateNeedle[state] != NONE ? state : dictionaryLink[state];
+			while (terminal != NONE) {
+				int index = i - depth[terminal] + 1;
+				for (int id = stateNeedle[terminal]; id != NONE; id = sameNeedleNext[id])
+					consumer.accept(id, index);
+				terminal = dictionaryLink[terminal];
+			}
+		}
+	}
+
+	/**
+	 * Scans {@code text} once, without going back after an occurrence. The longest
+	 * occurrence starting at each of the last {@link #maxLength} positions is kept
+	 * as the occurrences end, and a position is decided once the scan is past its
+	 * longest possible occurrence: an occurrence starting there is reported if it
+	 * starts after the end of the previous one reported.
+	 */
+	private void forEachLeftmostLongest(CharSequence text, OccurrenceConsumer consumer) {
+		if (maxLength == 0)
+			return;
+		// indexed by start position modulo maxLength
+		int[] longestIds = new int[maxLength];
+		int[] longestEnds = new int[maxLength];
+		Arrays.fill(longestIds, NONE);
+		// the first position an occurrence can start at, after the previous one
+		int next = 0;
+
+		int state = ROOT;
+		int length = text.length();
+		for (int i = 0; i < length; i++) {
+			state = transition(state, text.charAt(i));
+
+			// the occurrences ending at i, from the longest one
+			int terminal = stateNeedle[state] != NONE ? state : dictionaryLink[state];
+			while (terminal != NONE) {
+				int start = i - depth[terminal] + 1;
+				if (start >= next) {
+					longestIds[start % maxLength] = stateNeedle[terminal];
+					longestEnds[start % maxLength] = i + 1;
+				}
+				terminal = dictionaryLink[terminal];
+			}
+
+			// no occurrence starting there can end after i
+			int decided = i - maxLength + 1;
+			if (decided >= 0)
+				next = decide(decided, next, longestIds, longestEnds, consumer);
+		}
+		for (int decided = Math.max(length - maxLength + 1, 0); decided < length; decided++)
+			next = decide(decided, next, longestIds, longestEnds, consumer);
+	}
+
+	/**
+	 * @return the first position the following occurrence can start at
+	 */
+	private int decide(int start, int next, int[] longestIds, int[] longestEnds, OccurrenceConsumer consumer) {
+		int slot = start % maxLength;
+		int id = longestIds[slot];
+		if (id == NONE)
+			return next;
+
+		longestIds[slot] = NONE;
+		if (start < next)
+			return next;
+		consumer.accept(id, start);
+		return longestEnds[slot];
+	}
+
+	/**
+	 * @param text
+	 * @param mode
+	 * @return the list of all the occurrences found in {@code text}
+	 */
+	public List<Occurrence> occurrences(CharSequence text, MatchMode mode) {
+		List<Occurrence> occurrences = new ArrayList<>();
+		forEachOccurrence(text, mode, (needleId, index) ->
+			occurrences.add(new Occurrence(needleId, index, needles[needleId].length())));
+		return occurrences;
+	}
+
+	/**
+	 * @param text
+	 * @return {@code true} if at least one needle is contained in {@code text},
+	 *         {@code false} otherwise
+	 */
+	public boolean containsAny(CharSequence text) {
+		int state = ROOT;
+		for (int i = 0, length = text.length(); i < length; i++) {
+			state = transition(state, text.charAt(i));
+			if (stateNeedle[state] != NONE || dictionaryLink[state] != NONE)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * An occurrence of a needle in a text.
+	 */
+	public static final class Occurrence {
+
+		private final int needleId;
+		private final int index;
+		private final int length;
+
+		Occurrence(int needleId, int index, int length) {
+			this.needleId = needleId;
+			this.index = index;
+			this.length = length;
+		}
+
+		public int needleId() {
+			return needleId;
+		}
+
+		/**
+		 * @return the position of the first letter of the occurrence
+		 */
+		public int index() {
+			return index;
+		}
+
+		/**
+		 * @return the position following the last letter of the occurrence
+		 */
+		public int end() {
+			return index + length;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Occurrence))
+				return false;
+			Occurrence other = (Occurrence) obj;
+			return needleId == other.needleId && index == other.index && length == other.length;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(needleId, index, length);
+		}
+
+		@Override
+		public String toString() {
+			return "Occurrence[needleId=" + needleId + ", index=" + index + ", end=" + end() + "]";
+		}
+	}
+
+}
@@ -0,0 +1,99 @@
+package strings;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the occurrences of a needle in a text, finding each one only when
+ * it's requested. Occurrences are returned as primitive {@code int}s, so iterating
+ * doesn't allocate any memory.
+ * <p>
+ * A cursor can be {@linkplain #reset(CharSequence) reset} to search another text.
+ * Cursors are not thread-safe.
+ *
+ * @see SubstringSearcher#cursor(CharSequence, boolean)
+ * @see ApproximateSearcher#cursor(CharSequence)
+ */
+public final class OccurrenceCursor implements PrimitiveIterator.OfInt {
+
+	private static final int UNKNOWN = -2;
+
+	/**
+	 * Finds the first occurrence in a text starting from an index.
+	 */
+	interface Finder {
+
+		/**
+		 * @return the first occurrence in {@code text} starting from {@code fromIndex},
+		 *         -1 if there is none
+		 */
+		int find(CharSequence text, int fromIndex);
+	}
+
+	private final Finder finder;
+	private final int step;
+	private CharSequence text;
+	private int next;
+	private int fromIndex;
+
+	OccurrenceCursor(Finder finder, CharSequence text, int step) {
+		this.finder = finder;
+		this.step = step;
+		reset(text);
+	}
+
+	/**
+	 * Restarts the cursor from the beginning of {@code text}.
+	 *
+	 * @param text
+	 * @return this cursor
+	 */
+	public OccurrenceCursor reset(CharSequence text) {
+		this.text = text;
+		next = UNKNOWN;
+		fromIndex = 0;
+		return this;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next == UNKNOWN)
+			next = finder.find(text, fromIndex);
+		return next != -1;
+	}
+
+	/**
+	 * @return the index of the next occurrence
+	 * @throws NoSuchElementException if there are no more occurrences
+	 */
+	@Override
+	public int nextInt() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		int occurrence = next;
+		fromIndex = occurrence + step;
+		next = UNKNOWN;
+		return occurrence;
+	}
+
+	/**
+	 * @return the index of the next occurrence, -1 if there are no more occurrences
+	 */
+	public int nextOrEnd() {
+		return hasNext() ? nextInt() : -1;
+	}
+
+	/**
+	 * @return a sequential stream of the remaining occurrences
+	 */
+	public IntStream stream() {
+		return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(this,
+				Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL), false);
+	}
+
+}
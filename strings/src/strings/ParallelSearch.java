@@ -0,0 +1,407 @@
+package strings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Searches very large texts splitting them in chunks which are searched in parallel
+ * on a {@link ForkJoinPool}.
+ * <p>
+ * Each chunk is searched together with the characters following it that an occurrence
+ * starting in the chunk can cover. The occurrences of the chunks are then merged
+ * in order: the start of a chunk is searched again from the end of the last occurrence
+ * of the previous chunk until the search finds one of the occurrences of the chunk,
+ * so that the result is the same as the one of a sequential search.
+ * <p>
+ * Texts shorter than the threshold are searched sequentially on the calling thread.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class ParallelSearch {
+
+	public static final int DEFAULT_THRESHOLD = 8 << 20;
+
+	private static final int MIN_CHUNK_SIZE = 1 << 16;
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private static final ParallelSearch COMMON = new ParallelSearch(null, DEFAULT_THRESHOLD, 0);
+
+	private final ForkJoinPool pool;
+	private final int threshold;
+	private final int chunkSize;
+
+	private ParallelSearch(ForkJoinPool pool, int threshold, int chunkSize) {
+		this.pool = pool;
+		this.threshold = threshold;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * @return a search running on the common {@link ForkJoinPool} the texts of
+	 *         at least {@link #DEFAULT_THRESHOLD} characters
+	 */
+	public static ParallelSearch common() {
+		return COMMON;
+	}
+
+	/**
+	 * @param pool
+	 * @return a search running on {@code pool} the texts of at least
+	 *         {@link #DEFAULT_THRESHOLD} characters
+	 */
+	public static ParallelSearch on(ForkJoinPool pool) {
+		return new ParallelSearch(Objects.requireNonNull(pool), DEFAULT_THRESHOLD, 0);
+	}
+
+	/**
+	 * @param threshold
+	 *        the length from which a text is searched in parallel
+	 * @return a search with the same pool and the given threshold
+	 */
+	public ParallelSearch withThreshold(int threshold) {
+		return new ParallelSearch(pool, Math.max(threshold, 0), chunkSize);
+	}
+
+	/**
+	 * @param chunkSize
+	 *        the number of characters searched by each task, 0 to choose it from
+	 *        the length of the text and the parallelism of the pool
+	 * @return a search with the same pool and threshold and the given chunk size
+	 * @exception IllegalArgumentException if {@code chunkSize} is negative
+	 */
+	public ParallelSearch withChunkSize(int chunkSize) {
+		if (chunkSize < 0)
+			throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+		return new ParallelSearch(pool, threshold, chunkSize);
+	}
+
+	private ForkJoinPool pool() {
+		return pool != null ? pool : ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * @param text
+	 * @param searcher
+	 * @return the same occurrences as {@link SubstringSearcher#occurrencesIn(CharSequence)}
+	 */
+	public int[] occurrencesIn(CharSequence text, SubstringSearcher searcher) {
+		return occurrencesIn(text, searcher, false);
+	}
+
+	/**
+	 * @param text
+	 * @param searcher
+	 * @param overlapping
+	 *        if {@code true} an occurrence can start before the end of the previous one
+	 * @return the same occurrences as {@link SubstringSearcher#occurrencesIn(CharSequence, boolean)}
+	 */
+	public int[] occurrencesIn(CharSequence text, SubstringSearcher searcher, boolean overlapping) {
+		if (text.length() < threshold)
+			return searcher.occurrencesIn(text, overlapping);
+
+		int needleLength = searcher.needle().length();
+		Matches matches = search(text, fixedChunks(text), Math.max(needleLength - 1, 0), overlapping,
+				(from, regionEnd) -> new SubstringScan(text, searcher, overlapping, from, regionEnd));
+		return Arrays.copyOf(matches.starts, matches.count);
+	}
+
+	/**
+	 * Finds the matches of {@code pattern} splitting {@code text} anywhere: every
+	 * match must not be longer than {@code maxMatchLength}, or it could be
+	 * truncated or missed at the boundary between two chunks.
+	 *
+	 * @param text
+	 * @param pattern
+	 * @param maxMatchLength
+	 *        the maximum length of a match of {@code pattern}
+	 * @return the same matches as {@link Strings#matchedResults(CharSequence, Pattern)}
+	 * @exception IllegalArgumentException if {@code maxMatchLength} is negative
+	 */
+	public String[] matchedResults(CharSequence text, Pattern pattern, int maxMatchLength) {
+		if (maxMatchLength < 0)
+			throw new IllegalArgumentException("Invalid maximum match length: " + maxMatchLength);
+		if (text.length() < threshold)
+			return Strings.matchedResults(text, pattern);
+
+		return results(text, search(text, fixedChunks(text), maxMatchLength, false,
+				(from, regionEnd) -> new RegexScan(text, pattern, from, regionEnd)));
+	}
+
+	/**
+	 * Finds the matches of {@code pattern} splitting {@code text} only after a line
+	 * feed: no match must contain a line feed, or it could be missed at the boundary
+	 * between two chunks.
+	 *
+	 * @param text
+	 * @param pattern
+	 * @return the same matches as {@link Strings#matchedResults(CharSequence, Pattern)}
+	 */
+	public String[] matchedResultsByLine(CharSequence text, Pattern pattern) {
+		if (text.length() < threshold)
+			return Strings.matchedResults(text, pattern);
+
+		return results(text, search(text, lineChunks(text), 0, false,
+				(from, regionEnd) -> new RegexScan(text, pattern, from, regionEnd)));
+	}
+
+	private static String[] results(CharSequence text, Matches matches) {
+		String[] results = new String[matches.count];
+		for (int i = 0; i < matches.count; i++)
+			results[i] = text.subSequence(matches.starts[i], matches.ends[i]).toString();
+		return results;
+	}
+
+	private int chunkSize(int length) {
+		if (chunkSize > 0)
+			return chunkSize;
+		int chunks = pool().getParallelism() * CHUNKS_PER_THREAD;
+		return Math.max(MIN_CHUNK_SIZE, (int) ((length + (long) chunks - 1) / chunks));
+	}
+
+	/**
+	 * @return the boundaries of the chunks, starting with 0 and ending with the length of the text
+	 */
+	private int[] fixedChunks(CharSequence text) {
+		int length = text.length();
+		int size = chunkSize(length);
+		int[] bounds = new int[(int) ((length + (long) size - 1) / size) + 1];
+		for (int i = 1; i < bounds.length; i++)
+			bounds[i] = (int) Math.min((long) i * size, length);
+		return bounds;
+	}
+
+	/**
+	 * @return the boundaries of the chunks moved after the first line feed following them
+	 */
+	private int[] lineChunks(CharSequence text) {
+		int length = text.length();
+		int size = chunkSize(length);
+		int[] bounds = new int[16];
+		int count = 1;
+		int bound = 0;
+		while (bound < length) {
+			bound = (int) Math.min((long) bound + size, length);
+			while (bound < length && text.charAt(bound - 1) != '\n')
+				bound++;
+			if (count == bounds.length)
+				bounds = Arrays.copyOf(bounds, count * 2);
+			bounds[count++] = bound;
+		}
+		return Arrays.copyOf(bounds, count);
+	}
+
+	private Matches search(CharSequence text, int[] bounds, int overlap, boolean overlapping, ScanFactory scans) {
+		if (text.length() == 0)
+			bounds = new int[] { 0, 0 };
+		return pool().invoke(new Search(text.length(), bounds, overlap, overlapping, scans));
+	}
+
+	/**
+	 * Creates a scan for the occurrences starting from {@code from} and ending before
+	 * {@code regionEnd}.
+	 */
+	@FunctionalInterface
+	private interface ScanFactory {
+		Scan scan(int from, int regionEnd);
+	}
+
+	/**
+	 * Finds the occurrences one by one, from left to right.
+	 */
+	private abstract static class Scan {
+
+		int start;
+		int end;
+
+		/**
+		 * @return {@code true} if another occurrence was found, setting
+		 *         {@code start} and {@code end}
+		 */
+		abstract boolean find();
+	}
+
+	private static final class SubstringScan extends Scan {
+
+		private final CharSequence text;
+		private final SubstringSearcher searcher;
+		private final int step;
+		private final int regionEnd;
+		private int next;
+
+		SubstringScan(CharSequence text, SubstringSearcher searcher, boolean overlapping, int from, int regionEnd) {
+			this.text = text;
+			this.searcher = searcher;
+			this.step = overlapping ? 1 : Math.max(searcher.needle().length(), 1);
+			this.regionEnd = regionEnd;
+			this.next = from;
+		}
+
+		@Override
+		boolean find() {
+			int index = searcher.indexIn(text, next, regionEnd);
+			if (index == -1)
+				return false;
+			start = index;
+			end = index + searcher.needle().length();
+			next = index + step;
+			return true;
+		}
+	}
+
+	private static final class RegexScan extends Scan {
+
+		private final Matcher matcher;
+
+		RegexScan(CharSequence text, Pattern pattern, int from, int regionEnd) {
+			// transparent bounds let lookarounds and boundaries see the text around the region
+			matcher = pattern.matcher(text)
+					.region(from, regionEnd)
+					.useTransparentBounds(true)
+					.useAnchoringBounds(false);
+		}
+
+		@Override
+		boolean find() {
+			if (!matcher.find())
+				return false;
+			start = matcher.start();
+			end = matcher.end();
+			return true;
+		}
+	}
+
+	/**
+	 * The start and end indexes of a sequence of occurrences.
+	 */
+	private static final class Matches {
+
+		int[] starts = new int[16];
+		int[] ends = new int[16];
+		int count;
+
+		void add(int start, int end) {
+			if (count == starts.length) {
+				starts = Arrays.copyOf(starts, count * 2);
+				ends = Arrays.copyOf(ends, count * 2);
+			}
+			starts[count] = start;
+			ends[count] = end;
+			count++;
+		}
+	}
+
+	/**
+	 * Forks a task for each chunk and merges their occurrences in order.
+	 */
+	private static final class Search extends RecursiveTask<Matches> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int length;
+		private final int[] bounds;
+		private final int overlap;
+		private final boolean overlapping;
+		private final ScanFactory scans;
+
+		Search(int length, int[] bounds, int overlap, boolean overlapping, ScanFactory scans) {
+			this.length = length;
+			this.bounds = bounds;
+			this.overlap = overlap;
+			this.overlapping = overlapping;
+			this.scans = scans;
+		}
+
+		@Override
+		protected Matches compute() {
+			List<Chunk> chunks = new ArrayList<>();
+			for (int i = 0; i < bounds.length - 1; i++) {
+				Chunk chunk = new Chunk(bounds[i], bounds[i + 1]);
+				chunk.fork();
+				chunks.add(chunk);
+			}
+
+			Matches merged = new Matches();
+			for (Chunk chunk : chunks) {
+				chunk.join();
+				merge(chunk, merged);
+			}
+			return merged;
+		}
+
+		private void merge(Chunk chunk, Matches merged) {
+			int first = 0;
+			Matches matches = chunk.matches;
+
+			// a sequential search restarts after the end of the last occurrence, or after its
+			// start if it's empty, while overlapping occurrences don't depend on each other
+			int next = 0;
+			if (merged.count > 0 && !overlapping) {
+				int lastStart = merged.starts[merged.count - 1];
+				int lastEnd = merged.ends[merged.count - 1];
+				next = lastEnd > lastStart ? lastEnd : lastEnd + 1;
+			}
+
+			if (next > chunk.regionEnd)
+				first = matches.count;
+			else if (next > chunk.start) {
+				boolean resynchronized = false;
+				Scan scan = scans.scan(next, chunk.regionEnd);
+				while (scan.find() && chunk.contains(scan.start)) {
+					while (first < matches.count && matches.starts[first] < scan.start)
+						first++;
+					if (first < matches.count && matches.starts[first] == scan.start && matches.ends[first] == scan.end) {
+						resynchronized = true;
+						break;
+					}
+					merged.add(scan.start, scan.end);
+				}
+				if (!resynchronized)
+					first = matches.count;
+			}
+
+			for (int i = first; i < matches.count; i++)
+				merged.add(matches.starts[i], matches.ends[i]);
+		}
+
+		/**
+		 * Finds the occurrences starting in a chunk.
+		 */
+		private final class Chunk extends RecursiveAction {
+
+			private static final long serialVersionUID = 1L;
+
+			final int start;
+			final int end;
+			final int regionEnd;
+			final Matches matches = new Matches();
+
+			Chunk(int start, int end) {
+				this.start = start;
+				this.end = end;
+				this.regionEnd = (int) Math.min((long) end + overlap, length);
+			}
+
+			/**
+			 * @return {@code true} if an occurrence starting at {@code index} belongs to
+			 *         this chunk, the last one also owning the empty occurrences at its end
+			 */
+			boolean contains(int index) {
+				return index < end || end == length;
+			}
+
+			@Override
+			protected void compute() {
+				Scan scan = scans.scan(start, regionEnd);
+				while (scan.find() && contains(scan.start))
+					matches.add(scan.start, scan.end);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,177 @@
+package strings;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A thread-safe, size-bounded cache of compiled {@link Pattern}s keyed by their regex.
+ * <p>
+ * Lookups never block nor write shared state: a hit reads the map and the number of
+ * patterns added so far, and stamps its entry with that number if it changed. The
+ * recency of the entries is therefore measured in additions, and the entries used
+ * between two additions are equally recent. When a new pattern pushes the cache past
+ * {@link #maximumSize()}, the least recently used entries are evicted, a few more than
+ * needed so that the entries are not sorted again at every addition.
+ */
+public final class PatternCache {
+
+	public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+	private final int maximumSize;
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	// the number of patterns added
+	private final AtomicLong clock = new AtomicLong();
+	private final Object evictionLock = new Object();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param maximumSize
+	 *        the maximum number of patterns kept in the cache
+	 * @exception IllegalArgumentException if {@code maximumSize} is not positive
+	 */
+	public PatternCache(int maximumSize) {
+		if (maximumSize <= 0)
+			throw new IllegalArgumentException("The maximum size of a pattern cache must be positive");
+		this.maximumSize = maximumSize;
+	}
+
+	public PatternCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Returns the compiled form of {@code regex}, compiling and caching it
+	 * if it isn't cached yet.
+	 *
+	 * @param regex
+	 * @return the compiled pattern
+	 * @throws PatternSyntaxException if the regex's syntax is invalid
+	 */
+	public Pattern get(String regex) {
+		Entry entry = entries.get(regex);
+		if (entry != null) {
+			hits.increment();
+			long now = clock.get();
+			if (entry.lastAccess != now)
+				entry.lastAccess = now;
+			return entry.pattern;
+		}
+
+		misses.increment();
+		Pattern pattern = Pattern.compile(regex);
+		Entry added = new Entry(pattern, clock.getAndIncrement());
+		Entry previous = entries.putIfAbsent(regex, added);
+		if (previous != null)
+			return previous.pattern;
+
+		if (entries.size() > maximumSize)
+			evict(added);
+		return pattern;
+	}
+
+	/**
+	 * Compiles and caches every regex in {@code regexes}, so that later calls
+	 * to {@link #get(String)} are hits.
+	 *
+	 * @param regexes
+	 * @throws PatternSyntaxException if the syntax of one of the regexes is invalid
+	 */
+	public void preload(String... regexes) {
+		for (String regex : regexes)
+			if (!entries.containsKey(regex))
+				get(regex);
+	}
+
+	/**
+	 * @param regex
+	 * @return {@code true} if the compiled form of {@code regex} is cached,
+	 *         {@code false} otherwise
+	 */
+	public boolean contains(String regex) {
+		return entries.containsKey(regex);
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public int maximumSize() {
+		return maximumSize;
+	}
+
+	public long hitCount() {
+		return hits.sum();
+	}
+
+	public long missCount() {
+		return misses.sum();
+	}
+
+	public long evictionCount() {
+		return evictions.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "PatternCache[size=" + size() + ", maximumSize=" + maximumSize
+				+ ", hits=" + hitCount() + ", misses=" + missCount()
+				+ ", evictions=" + evictionCount() + "]";
+	}
+
+	/**
+	 * @param added
+	 *        the entry just added, which is as recent as the entries used since the
+	 *        previous addition but kept
+	 */
+	private void evict(Entry added) {
+		synchronized (evictionLock) {
+			int excess = entries.size() - maximumSize;
+			if (excess <= 0)
+				return;
+
+			// the next maximumSize / 16 additions evict nothing
+			int count = excess + maximumSize / 16;
+			long[] accesses = entries.values().stream()
+					.mapToLong(entry -> entry.lastAccess)
+					.toArray();
+			if (accesses.length == 0)
+				return;
+			Arrays.sort(accesses);
+			long eldestAccess = accesses[Math.min(count, accesses.length) - 1];
+
+			for (Iterator<Entry> it = entries.values().iterator(); count > 0 && it.hasNext(); ) {
+				Entry entry = it.next();
+				if (entry != added && entry.lastAccess <= eldestAccess) {
+					it.remove();
+					evictions.increment();
+					count--;
+				}
+			}
+		}
+	}
+
+	private static final class Entry {
+
+		private final Pattern pattern;
+		private volatile long lastAccess;
+
+		private Entry(Pattern pattern, long lastAccess) {
+			this.pattern = pattern;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+package strings;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * A read-only view of a {@link CharSequence} repeated a number of times.
+ * <p>
+ * The repeated characters aren't copied in full: {@link #charAt(int)} reads them from
+ * the repeated sequence, and {@link #appendTo(Appendable)} appends them in chunks
+ * of up to 128 characters, so a long padding appended to a builder or a writer
+ * isn't copied into a string first. Only {@link #toString()} copies the characters,
+ * the first time it's called. The repeated sequence must not be modified while the
+ * view is in use.
+ */
+public final class RepeatedSequence implements CharSequence {
+
+	// the length of the chunks appended by appendTo
+	private static final int CHUNK_LENGTH = Strings.MAX_CACHED_WIDTH;
+
+	private final CharSequence unit;
+	private final int times;
+	private final int length;
+
+	private String chunk;
+	private String string;
+
+	private RepeatedSequence(CharSequence unit, int times, int length, String chunk) {
+		this.unit = unit;
+		this.times = times;
+		this.length = length;
+		this.chunk = chunk;
+	}
+
+	/**
+	 * @param unit
+	 * @param times
+	 * @return a view of {@code unit} repeated {@code times} times
+	 * @exception IllegalArgumentException if {@code times} is negative, or the
+	 *            length of the view would exceed {@code Integer.MAX_VALUE}
+	 */
+	public static RepeatedSequence of(CharSequence unit, int times) {
+		if (times < 0)
+			throw new IllegalArgumentException("Cannot repeat string a negative amount of times");
+		long length = (long) unit.length() * times;
+		if (length > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Cannot repeat a string of length " + unit.length()
+					+ " " + times + " times: the length would exceed Integer.MAX_VALUE");
+		return new RepeatedSequence(Objects.requireNonNull(unit), times, (int) length, null);
+	}
+
+	/**
+	 * @param ch
+	 * @param times
+	 * @return a view of {@code ch} repeated {@code times} times
+	 * @exception IllegalArgumentException if {@code times} is negative
+	 */
+	public static RepeatedSequence of(char ch, int times) {
+		if (times < 0)
+			throw new IllegalArgumentException("Cannot repeat string a negative amount of times");
+		// the chunks of blank spaces and tabs are shared
+		String chunk = Strings.repeat(ch, Math.min(times, CHUNK_LENGTH));
+		return new RepeatedSequence(String.valueOf(ch), times, times, chunk);
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length)
+			throw new StringIndexOutOfBoundsException("index " + index + ", length " + length);
+		return unit.charAt(index % unit.length());
+	}
+
+	/**
+	 * @return the characters from {@code start} to {@code end} copied into a new string
+	 */
+	@Override
+	public String subSequence(int start, int end) {
+		if (start < 0 || start > end || end > length)
+			throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+		StringBuilder sub = new StringBuilder(end - start);
+		int unitLength = unit.length();
+		for (int i = start; i < end; ) {
+			int offset = i % unitLength;
+			int count = Math.min(unitLength - offset, end - i);
+			sub.append(unit, offset, offset + count);
+			i += count;
+		}
+		return sub.toString();
+	}
+
+	/**
+	 * Appends the characters of this view to {@code out}, in chunks.
+	 *
+	 * @param out
+	 * @throws IOException if {@code out} throws it
+	 */
+	public void appendTo(Appendable out) throws IOException {
+		if (length == 0)
+			return;
+		String chunk = chunk();
+		int remaining = length;
+		for (; remaining >= chunk.length(); remaining -= chunk.length())
+			out.append(chunk);
+		out.append(chunk, 0, remaining);
+	}
+
+	/**
+	 * Appends the characters of this view to {@code out}, in chunks.
+	 *
+	 * @param out
+	 * @return {@code out}
+	 */
+	public StringBuilder appendTo(StringBuilder out) {
+		out.ensureCapacity(out.length() + length);
+		try {
+			appendTo((Appendable) out);
+		}
+		catch (IOException e) {
+			// a StringBuilder never throws it
+			throw new AssertionError(e);
+		}
+		return out;
+	}
+
+	/**
+	 * @return the unit repeated as many times as fit in {@link #CHUNK_LENGTH}
+	 *         characters, at least once and at most {@code times} times
+	 */
+	private String chunk() {
+		String chunk = this.chunk;
+		if (chunk == null) {
+			int chunkTimes = Math.min(Math.max(CHUNK_LENGTH / unit.length(), 1), times);
+			chunk = unit.toString().repeat(chunkTimes);
+			this.chunk = chunk;
+		}
+		return chunk;
+	}
+
+	/**
+	 * Copies the characters of this view into a new string,
+	 * which is reused by later calls.
+	 */
+	@Override
+	public String toString() {
+		String str = string;
+		if (str == null) {
+			str = unit.toString().repeat(times);
+			string = str;
+		}
+		return str;
+	}
+
+}
@@ -0,0 +1,208 @@
+package strings;
+
+import java.util.Objects;
+
+/**
+ * A read-only view of a range of characters of another {@link CharSequence}.
+ * <p>
+ * Creating a slice, or a slice of a slice, doesn't copy any character: only
+ * {@link #toString()} does, the first time it's called. The source must not be
+ * modified while the slice is in use.
+ * <p>
+ * Two slices are equal if they contain the same characters, and the hash code of
+ * a slice is the same as the hash code of the equivalent {@code String}.
+ */
+public final class StringSlice implements CharSequence, Comparable<StringSlice> {
+
+	private final CharSequence source;
+	private final int start;
+	private final int end;
+
+	private String string;
+	private int hash;
+
+	private StringSlice(CharSequence source, int start, int end) {
+		this.source = source;
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * @param source
+	 * @return a slice covering the whole {@code source}
+	 */
+	public static StringSlice of(CharSequence source) {
+		if (source instanceof StringSlice)
+			return (StringSlice) source;
+		return new StringSlice(Objects.requireNonNull(source), 0, source.length());
+	}
+
+	/**
+	 * @param source
+	 * @param start
+	 *        the index of the first character of the slice, inclusive
+	 * @param end
+	 *        the index of the last character of the slice, exclusive
+	 * @return a slice of {@code source} from {@code start} to {@code end}
+	 * @exception StringIndexOutOfBoundsException if {@code start} or {@code end} are
+	 *            out of bounds, or {@code start} is bigger than {@code end}
+	 */
+	public static StringSlice of(CharSequence source, int start, int end) {
+		checkRange(start, end, source.length());
+		if (source instanceof StringSlice) {
+			StringSlice slice = (StringSlice) source;
+			return new StringSlice(slice.source, slice.start + start, slice.start + end);
+		}
+		return new StringSlice(source, start, end);
+	}
+
+	private static void checkRange(int start, int end, int length) {
+		if (start < 0 || start > end || end > length)
+			throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+	}
+
+	@Override
+	public int length() {
+		return end - start;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= end - start)
+			throw new StringIndexOutOfBoundsException("index " + index + ", length " + length());
+		return source.charAt(start + index);
+	}
+
+	/**
+	 * @return a slice of this slice, sharing the same source
+	 */
+	@Override
+	public StringSlice subSequence(int start, int end) {
+		return of(this, start, end);
+	}
+
+	/**
+	 * @param start
+	 * @return a slice of this slice from {@code start} to its end
+	 */
+	public StringSlice subSequence(int start) {
+		return of(this, start, length());
+	}
+
+	/**
+	 * @param str
+	 * @return the index of the first occurrence of {@code str} in this slice,
+	 *         -1 if there is none
+	 */
+	public int indexOf(CharSequence str) {
+		return indexOf(str, 0);
+	}
+
+	/**
+	 * @param str
+	 * @param fromIndex
+	 * @return the index of the first occurrence of {@code str} in this slice
+	 *         starting from {@code fromIndex}, -1 if there is none
+	 */
+	public int indexOf(CharSequence str, int fromIndex) {
+		int length = str.length();
+		int last = end - length;
+		int from = start + Math.max(fromIndex, 0);
+		if (length == 0)
+			return from <= end ? from - start : -1;
+
+		char first = str.charAt(0);
+		for (int i = from; i <= last; i++) {
+			if (source.charAt(i) != first)
+				continue;
+
+			int j = 1;
+			while (j < length && source.charAt(i + j) == str.charAt(j))
+				j++;
+			if (j == length)
+				return i - start;
+		}
+		return -1;
+	}
+
+	public boolean contains(CharSequence str) {
+		return indexOf(str) != -1;
+	}
+
+	public boolean startsWith(CharSequence prefix) {
+		return regionMatches(0, prefix);
+	}
+
+	public boolean endsWith(CharSequence suffix) {
+		return regionMatches(length() - suffix.length(), suffix);
+	}
+
+	private boolean regionMatches(int offset, CharSequence other) {
+		int length = other.length();
+		if (offset < 0 || offset + length > length())
+			return false;
+
+		for (int i = 0; i < length; i++)
+			if (source.charAt(start + offset + i) != other.charAt(i))
+				return false;
+		return true;
+	}
+
+	/**
+	 * @param other
+	 * @return {@code true} if this slice contains the same characters as {@code other},
+	 *         {@code false} otherwise
+	 */
+	public boolean contentEquals(CharSequence other) {
+		return other.length() == length() && regionMatches(0, other);
+	}
+
+	@Override
+	public int compareTo(StringSlice other) {
+		int length = Math.min(length(), other.length());
+		for (int i = 0; i < length; i++) {
+			char ch = source.charAt(start + i);
+			char otherCh = other.source.charAt(other.start + i);
+			if (ch != otherCh)
+				return ch - otherCh;
+		}
+		return length() - other.length();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof StringSlice))
+			return false;
+		return contentEquals((StringSlice) obj);
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if (h == 0) {
+			for (int i = start; i < end; i++)
+				h = 31 * h + source.charAt(i);
+			hash = h;
+		}
+		return h;
+	}
+
+	/**
+	 * Copies the characters of this slice into a new string,
+	 * which is reused by later calls.
+	 */
+	@Override
+	public String toString() {
+		String str = string;
+		if (str == null) {
+			str = source instanceof String
+					? ((String) source).substring(start, end)
+					: source.subSequence(start, end).toString();
+			string = str;
+		}
+		return str;
+	}
+
+}
@@ -1,5 +1,18 @@
 package strings;
 
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -11,20 +24,57 @@ import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import chars.CharConsumer;
+import chars.CharPredicate;
+import chars.CharUnaryOperator;
+import strings.escape.Escapers;
 
 public class Strings {
 	
+	private static final Pattern LINE_SEPARATORS = Pattern.compile("(\r?\n)+");
+	private static final Pattern WORD_SEPARATORS = Pattern.compile("[ (\r?\n)]+");
+	
+	private static final PatternCache PATTERN_CACHE = new PatternCache();
+	
+	// the strings of blank spaces and tabs up to this width are shared, instead of built at every call
+	static final int MAX_CACHED_WIDTH = 128;
+	private static final String[] SPACES = widths(' ');
+	private static final String[] TABS = widths('\t');
+	
 	private Strings() {
 	}
 	
+	private static String[] widths(char ch) {
+		String[] widths = new String[MAX_CACHED_WIDTH + 1];
+		String widest = String.valueOf(ch).repeat(MAX_CACHED_WIDTH);
+		for (int width = 0; width <= MAX_CACHED_WIDTH; width++)
+			widths[width] = widest.substring(0, width);
+		return widths;
+	}
+	
+	/**
+	 * Every method of this class taking a regex as a {@code String} compiles it
+	 * through this cache. It can be used to preload the regexes used most frequently
+	 * and to inspect the hit, miss and eviction counters.
+	 * 
+	 * @return the pattern cache shared by the methods of this class
+	 */
+	public static PatternCache patternCache() {
+		return PATTERN_CACHE;
+	}
+	
 	public static String indentTabs(int tabs) {
-		return repeat("\t", tabs);
+		return repeat('\t', tabs);
 	}
 
 	public static String indentSpaces(int doubleSpaces) {
-		return repeat("  ", doubleSpaces);
+		if (doubleSpaces < 0)
+			throw new IllegalArgumentException("Cannot repeat string a negative amount of times");
+		return repeat(' ', Math.multiplyExact(doubleSpaces, 2));
 	}
 	
 	/**
@@ -32,8 +82,8 @@ public class Strings {
 	 * @param str
 	 * @return an array of lines extracted from {@code str} 
 	 */
-	public static String[] lines(String str) {
-		return str.split("(\r?\n)+");
+	public static String[] lines(CharSequence str) {
+		return LINE_SEPARATORS.split(str);
 	}
 	
 	/**
@@ -41,8 +91,107 @@ public class Strings {
 	 * @param str
 	 * @return an array of words extracted from {@code str} 
 	 */
-	public static String[] words(String str) {
-		return str.split("[ (\r?\n)]+");
+	public static String[] words(CharSequence str) {
+		return WORD_SEPARATORS.split(str);
+	}
+	
+	/**
+	 * Lazily splits the text read from {@code reader} into the same lines
+	 * {@link #lines(CharSequence)} would return for the whole text, using a buffer 
+	 * of fixed size. The reader isn't closed by the stream.
+	 * 
+	 * @param reader
+	 * @return a stream of the lines read from {@code reader}
+	 * @throws UncheckedIOException if an I/O error occurs while reading 
+	 */
+	public static Stream<String> lines(Reader reader) {
+		return StreamSupport.stream(TokenSpliterator.lines(reader), false);
+	}
+	
+	/**
+	 * @param in
+	 * @param charset
+	 * @return a stream of the lines read from {@code in}, as in {@link #lines(Reader)}
+	 * @throws UncheckedIOException if an I/O error occurs while reading 
+	 */
+	public static Stream<String> lines(InputStream in, Charset charset) {
+		return lines(new InputStreamReader(in, charset));
+	}
+	
+	/**
+	 * @param path
+	 * @param charset
+	 * @return a stream of the lines read from the file at {@code path}, as in 
+	 *         {@link #lines(Reader)}. The file is closed when the stream is closed.
+	 * @throws IOException if the file can't be opened
+	 */
+	public static Stream<String> lines(Path path, Charset charset) throws IOException {
+		Reader reader = Files.newBufferedReader(path, charset);
+		return lines(reader).onClose(() -> close(reader));
+	}
+	
+	/**
+	 * @param path
+	 * @return a stream of the lines read from the UTF-8 file at {@code path}
+	 * @throws IOException if the file can't be opened
+	 * @see #lines(Path, Charset)
+	 */
+	public static Stream<String> lines(Path path) throws IOException {
+		return lines(path, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Lazily splits the text read from {@code reader} into the same words
+	 * {@link #words(CharSequence)} would return for the whole text, using a buffer 
+	 * of fixed size. The reader isn't closed by the stream.
+	 * 
+	 * @param reader
+	 * @return a stream of the words read from {@code reader}
+	 * @throws UncheckedIOException if an I/O error occurs while reading 
+	 */
+	public static Stream<String> words(Reader reader) {
+		return StreamSupport.stream(TokenSpliterator.words(reader), false);
+	}
+	
+	/**
+	 * @param in
+	 * @param charset
+	 * @return a stream of the words read from {@code in}, as in {@link #words(Reader)}
+	 * @throws UncheckedIOException if an I/O error occurs while reading 
+	 */
+	public static Stream<String> words(InputStream in, Charset charset) {
+		return words(new InputStreamReader(in, charset));
+	}
+	
+	/**
+	 * @param path
+	 * @param charset
+	 * @return a stream of the words read from the file at {@code path}, as in 
+	 *         {@link #words(Reader)}. The file is closed when the stream is closed.
+	 * @throws IOException if the file can't be opened
+	 */
+	public static Stream<String> words(Path path, Charset charset) throws IOException {
+		Reader reader = Files.newBufferedReader(path, charset);
+		return words(reader).onClose(() -> close(reader));
+	}
+	
+	/**
+	 * @param path
+	 * @return a stream of the words read from the UTF-8 file at {@code path}
+	 * @throws IOException if the file can't be opened
+	 * @see #words(Path, Charset)
+	 */
+	public static Stream<String> words(Path path) throws IOException {
+		return words(path, StandardCharsets.UTF_8);
+	}
+	
+	private static void close(Closeable closeable) {
+		try {
+			closeable.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
 	}
 
 	/**
@@ -62,9 +211,33 @@ public class Strings {
 	 * @return
 	 */
 	public static String capitalizeWords(String str) {
-		return Arrays.stream(words(str))
-				.map(Strings::capitalize)
-				.collect(Collectors.joining(" "));
+		StringBuilder capitalized = new StringBuilder(str.length());
+		int length = str.length();
+		int i = 0;
+		while (i < length) {
+			while (i < length && isWordSeparator(str.charAt(i)))
+				i++;
+			if (i == length)
+				break;
+			// the words are joined by one space, and leading separators leave an empty first word as in words()
+			if (i > 0)
+				capitalized.append(' ');
+			int first = str.codePointAt(i);
+			capitalized.appendCodePoint(Character.toUpperCase(first));
+			int start = i + Character.charCount(first);
+			i = start;
+			while (i < length && !isWordSeparator(str.charAt(i)))
+				i++;
+			capitalized.append(str, start, i);
+		}
+		return capitalized.toString();
+	}
+	
+	/**
+	 * @return {@code true} if {@code ch} is one of the characters of {@link #WORD_SEPARATORS}
+	 */
+	private static boolean isWordSeparator(char ch) {
+		return ch == ' ' || ch == '\n' || ch == '\r' || ch == '(' || ch == ')' || ch == '?';
 	}
 	
 	public static String prepend(String str, String prefix) {
@@ -78,10 +251,13 @@ public class Strings {
 	/**
 	 * 
 	 * @param str
-	 * @return the string in quotes
+	 * @return the string in quotes, escaped as in a Java string literal
 	 */
 	public static String inQuotes(String str) {
-		return "\"" + str + "\"";
+		StringBuilder quoted = new StringBuilder(str.length() + 2).append('"');
+		return Escapers.JAVA_STRING.escape(str, quoted)
+			.append('"')
+			.toString();
 	}
 	
 	public static String replaceCharAt(String str, int index, String replacement) {
@@ -114,10 +290,32 @@ public class Strings {
 		return str.substring(leading, str.length() - trailing);
 	}
 	
-	private static void checkLength(String str, int n) {
+	/**
+	 * Performs the same operation as {@link #trimChars(String, int, int)} without
+	 * copying any character.
+	 * 
+	 * @param str
+	 * @param leading
+	 * @param trailing
+	 * @return a slice of {@code str}
+	 * @exception StringIndexOutOfBoundsException if {@code leading} or
+	 * 		      {@code trailing} are bigger than {@code str.length()}
+	 */
+	public static StringSlice trimCharsAsSlice(CharSequence str, int leading, int trailing) {
+		checkLength(str, leading);
+		checkLength(str, trailing);
+		
+		int length = str.length();
+		if (leading + trailing > length)
+			return StringSlice.of(str, length, length);
+		
+		return StringSlice.of(str, leading, length - trailing);
+	}
+	
+	private static void checkLength(CharSequence str, int n) {
 		if (n > str.length())
 			throw new StringIndexOutOfBoundsException("Cannot remove " + n + " characters from " 
-					+ inQuotes(str));
+					+ inQuotes(str.toString()));
 	}
 	
 	/**
@@ -131,6 +329,20 @@ public class Strings {
 		return trimChars(str, 0, n);
 	}
 	
+	/**
+	 * Performs the same operation as {@link #removeLastNChars(String, int)} without
+	 * copying any character.
+	 * 
+	 * @param str
+	 * @param n
+	 * @return a slice of {@code str}
+	 * @exception StringIndexOutOfBoundsException if {@code n} is bigger 
+	 *            than {@code str.length()}
+	 */
+	public static StringSlice removeLastNCharsAsSlice(CharSequence str, int n) {
+		return trimCharsAsSlice(str, 0, n);
+	}
+	
 	/**
 	 * @param str
 	 * @return
@@ -152,6 +364,20 @@ public class Strings {
 	public static String removeFirstNChars(String str, int n) {
 		return trimChars(str, n, 0);
 	}
+	
+	/**
+	 * Performs the same operation as {@link #removeFirstNChars(String, int)} without
+	 * copying any character.
+	 * 
+	 * @param str
+	 * @param n
+	 * @return a slice of {@code str}
+	 * @exception StringIndexOutOfBoundsException if {@code n} is bigger 
+	 *            than {@code str.length()}
+	 */
+	public static StringSlice removeFirstNCharsAsSlice(CharSequence str, int n) {
+		return trimCharsAsSlice(str, n, 0);
+	}
 
 	/**
 	 * @param str
@@ -163,10 +389,8 @@ public class Strings {
 		if (times < 0)
 			throw new IllegalArgumentException("Cannot repeat string a negative amount of times");
 
-		String result = "";
-		for (int i = 0; i < times; i++)
-			result += str;
-		return result;
+		// sized exactly and filled by doubling the copied part
+		return str.repeat(times);
 	}
 
 	/**
@@ -176,15 +400,35 @@ public class Strings {
 	 * @exception IllegalArgumentException if {@code times} is negative
 	 */
 	public static String repeat(char ch, int times) {
+		if (times >= 0 && times <= MAX_CACHED_WIDTH) {
+			if (ch == ' ')
+				return SPACES[times];
+			if (ch == '\t')
+				return TABS[times];
+		}
 		return repeat(Character.toString(ch), times);
 	}
+	
+	/**
+	 * Performs the same operation as {@link #repeat(String, int)} without copying
+	 * {@code str}, which is worth it when the result is only appended somewhere.
+	 * 
+	 * @param str
+	 * @param times
+	 * @return a view of {@code str} repeated {@code times} times
+	 * @exception IllegalArgumentException if {@code times} is negative, or the
+	 *            length of the view would exceed {@code Integer.MAX_VALUE}
+	 */
+	public static RepeatedSequence repeatedView(CharSequence str, int times) {
+		return RepeatedSequence.of(str, times);
+	}
 
 	/**
 	 * @param length
 	 * @return a string of whitespace with length {@code length}
 	 */
 	public static String whitespace(int length) {
-		return repeat(" ", length);
+		return repeat(' ', length);
 	}
 
 	/**
@@ -194,30 +438,162 @@ public class Strings {
 	 *         letter of the found occurrence of {@code substr} in {@code str}
 	 * @throws NonExistentSubstringException if {@code substr} isn't contained in {@code str} 
 	 */
-	public static int[] substringOccurrences(String str, String substr) {
-		checkSubstringContained(str, substr);
-		
-		List<Integer> occurrences = new ArrayList<>();
-		int fromIndex = 0;
-		int substrIndex;
-		
-		while (true) {
-			substrIndex = str.indexOf(substr, fromIndex);
-			if (substrIndex == -1) 
-				break;
-			
-			fromIndex = substrIndex + substr.length();
-			
-			occurrences.add(substrIndex);
-		} 
-		
-		int size = occurrences.size();
-		int[] toReturn = new int[size];
-		for(int i = 0; i < size; i++) 
-			toReturn[i] = occurrences.get(i);
-		return toReturn;
+	public static int[] substringOccurrences(CharSequence str, String substr) {
+		return substringOccurrences(str, SubstringSearcher.compile(substr));
 	}
 	
+	/**
+	 * @param str
+	 * @param searcher
+	 * @return an array of indexes where each index represents the position of the first
+	 *         letter of the found occurrence of the needle of {@code searcher} in {@code str}
+	 * @throws NonExistentSubstringException if the needle isn't contained in {@code str} 
+	 */
+	public static int[] substringOccurrences(CharSequence str, SubstringSearcher searcher) {
+		int[] occurrences = searcher.occurrencesIn(str);
+		if (occurrences.length == 0)
+			throw nonExistentSubstring(str, searcher.needle());
+		return occurrences;
+	}
+
+	/**
+	 * @param str
+	 * @param substr
+	 * @param overlapping
+	 *        if {@code true} an occurrence can start before the end of the previous one,
+	 *        so that {@code "aa"} is found 3 times in {@code "aaaa"} instead of 2
+	 * @return an array of indexes where each index represents the position of the first
+	 *         letter of the found occurrence of {@code substr} in {@code str}
+	 * @throws NonExistentSubstringException if {@code substr} isn't contained in {@code str}
+	 */
+	public static int[] substringOccurrences(CharSequence str, String substr, boolean overlapping) {
+		int[] occurrences = SubstringSearcher.compile(substr).occurrencesIn(str, overlapping);
+		if (occurrences.length == 0)
+			throw nonExistentSubstring(str, substr);
+		return occurrences;
+	}
+
+	/**
+	 * Finds the same occurrences as {@link #substringOccurrences(CharSequence, String)}, 
+	 * searching strings of at least {@link ParallelSearch#DEFAULT_THRESHOLD} characters 
+	 * in parallel on the common fork-join pool.
+	 * 
+	 * @param str
+	 * @param substr
+	 * @return an array of indexes where each index represents the position of the first
+	 *         letter of the found occurrence of {@code substr} in {@code str}
+	 * @throws NonExistentSubstringException if {@code substr} isn't contained in {@code str}
+	 * @see ParallelSearch
+	 */
+	public static int[] parallelSubstringOccurrences(CharSequence str, String substr) {
+		int[] occurrences = ParallelSearch.common().occurrencesIn(str, SubstringSearcher.compile(substr));
+		if (occurrences.length == 0)
+			throw nonExistentSubstring(str, substr);
+		return occurrences;
+	}
+
+	/**
+	 * Lazily finds the same occurrences returned by {@link #substringOccurrences(CharSequence, String)},
+	 * without boxing them. Finding no occurrence isn't an error.
+	 *
+	 * @param str
+	 * @param substr
+	 * @return a stream of the indexes of the occurrences of {@code substr} in {@code str}
+	 */
+	public static IntStream substringOccurrencesStream(CharSequence str, String substr) {
+		return SubstringSearcher.compile(substr)
+				.cursor(str)
+				.stream();
+	}
+
+	/**
+	 * Counts the occurrences returned by {@link #substringOccurrences(CharSequence, String)}
+	 * without allocating any memory. Finding no occurrence isn't an error.
+	 *
+	 * @param str
+	 * @param substr
+	 * @return the number of occurrences of {@code substr} in {@code str}
+	 */
+	public static int countOccurrences(CharSequence str, String substr) {
+		return countOccurrences(str, substr, false);
+	}
+
+	/**
+	 * Counts the occurrences returned by {@link #substringOccurrences(CharSequence, String, boolean)}
+	 * without allocating any memory. Finding no occurrence isn't an error.
+	 *
+	 * @param str
+	 * @param substr
+	 * @param overlapping
+	 *        if {@code true} an occurrence can start before the end of the previous one
+	 * @return the number of occurrences of {@code substr} in {@code str}
+	 * @see SubstringSearcher#countIn(CharSequence, boolean) to count a long or repetitive
+	 *      substring, which is compared in place at every candidate position here
+	 */
+	public static int countOccurrences(CharSequence str, String substr, boolean overlapping) {
+		if (substr.isEmpty())
+			return str.length() + 1;
+
+		int step = overlapping ? 1 : substr.length();
+		int count = 0;
+		if (str instanceof String) {
+			String string = (String) str;
+			for (int i = string.indexOf(substr); i != -1; i = string.indexOf(substr, i + step))
+				count++;
+		}
+		else
+			for (int i = indexOf(str, substr, 0); i != -1; i = indexOf(str, substr, i + step))
+				count++;
+		return count;
+	}
+
+	/**
+	 * {@link String#indexOf(String, int)} for any character sequence.
+	 */
+	private static int indexOf(CharSequence str, String substr, int from) {
+		char first = substr.charAt(0);
+		int length = substr.length();
+		int last = str.length() - length;
+		for (int i = from; i <= last; i++)
+			if (str.charAt(i) == first && commonPrefixLength(str, i, substr, 0, length) == length)
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Searches all the needles of {@code searcher} in a single pass over {@code str}.
+	 * Unlike {@link #substringOccurrences(CharSequence, String)}, finding no occurrence
+	 * isn't an error.
+	 *
+	 * @param str
+	 * @param searcher
+	 * @param mode
+	 * @return the list of the occurrences found, ordered by the position where they end
+	 */
+	public static List<MultiSubstringSearcher.Occurrence> substringOccurrences(CharSequence str,
+			MultiSubstringSearcher searcher, MultiSubstringSearcher.MatchMode mode) {
+		return searcher.occurrences(str, mode);
+	}
+
+	/**
+	 * Finds the substrings of {@code str} within {@code maxEdits} insertions, deletions
+	 * or substitutions of single characters from {@code substr}. Unlike
+	 * {@link #substringOccurrences(CharSequence, String)}, finding no occurrence
+	 * isn't an error.
+	 *
+	 * @param str
+	 * @param substr
+	 *        from 1 to 64 characters long
+	 * @param maxEdits
+	 *        less than the length of {@code substr}
+	 * @return an array of indexes where each index represents the position after the
+	 *         last letter of an approximate occurrence of {@code substr} in {@code str}
+	 * @see ApproximateSearcher
+	 */
+	public static int[] approximateSubstringOccurrences(CharSequence str, String substr, int maxEdits) {
+		return ApproximateSearcher.compile(substr, maxEdits).endsIn(str);
+	}
+
 	/**
 	 * Appends a line to {@code str} to highlight {@code substr}.
 	 * <blockquote>For example,<pre>
@@ -232,23 +608,15 @@ public class Strings {
 	 * @throws NonExistentSubstringException if {@code substr} isn't contained in {@code str} 
 	 */
 	public static String highlightSubstring(String str, String substr, Function<String, Object> highlighter) {
-		checkSubstringContained(str, substr);
-
-		int substrLength = substr.length();		
-		String result = "";
-		
-		for (String line : lines(str)) {
-			int prevOccurence = 0;
-			for (int occurence : substringOccurrences(line, substr)) {
-				result += str.substring(prevOccurence, occurence) // parte non di substr
-				        + highlighter.apply(str.substring(occurence, 
-				        		prevOccurence = occurence + substrLength));
-			}
-			
-			result += str.substring(prevOccurence); // parte dopo ultima substr
+		StringBuilder result = new StringBuilder(str.length() + 16);
+		try {
+			if (SubstringHighlighter.of(substr).highlight(str, highlighter, result) == 0)
+				throw nonExistentSubstring(str, substr);
 		}
-		
-		return result;
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return result.toString();
 	}
 	
 	/**
@@ -265,25 +633,15 @@ public class Strings {
 	 *            contained in {@code str} 
 	 */
 	public static String highlightSubstring(String str, String substr) {
-		checkSubstringContained(str, substr);
-
-		int substrLength = substr.length();		
-		String toReturn = "";
-		
-		for (String line : lines(str)) {
-			String arrowsLine = "";
-			int prevOccurence = 0;
-			for (int occurence : substringOccurrences(line, substr)) {
-				arrowsLine += whitespace(occurence - prevOccurence)
-							+ repeat("^", substrLength);
-				prevOccurence = occurence + substrLength; 
-			}
-			arrowsLine += whitespace(line.length() - prevOccurence);
-			
-			toReturn += line + "\n" + arrowsLine + "\n";
+		StringBuilder result = new StringBuilder(str.length() * 2 + 1);
+		try {
+			if (SubstringHighlighter.of(substr).underline(str, result) == 0)
+				throw nonExistentSubstring(str, substr);
 		}
-		
-		return removeLastChar(toReturn);
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return result.toString();
 	}
 	
 	/** 
@@ -295,25 +653,38 @@ public class Strings {
 	 * @exception NonExistentSubstringException if {@code start} or {@code end} aren't
 	 *            contained in {@code str} 
 	 */
-	public static List<String> substringsBetween(String str, String start, String end) {
+	public static List<String> substringsBetween(CharSequence str, String start, String end) {
+		return substringsBetween(str, SubstringSearcher.compile(start), SubstringSearcher.compile(end));
+	}
+	
+	/** 
+	 * @param str
+	 * @param start
+	 * @param end
+	 * @return a list of all substrings of {@code str} found between the needle of {@code start}
+	 *         and the needle of {@code end}
+	 * @exception NonExistentSubstringException if the needles of {@code start} or {@code end}
+	 *            aren't contained in {@code str} 
+	 */
+	public static List<String> substringsBetween(CharSequence str, SubstringSearcher start, SubstringSearcher end) {
 		checkSubstringContained(str, start);
 		checkSubstringContained(str, end);
 		
-		int startLength = start.length();
-		int endLength = end.length();
+		int startLength = start.needle().length();
+		int endLength = end.needle().length();
 		
 		List<String> substrings = new ArrayList<>();
 		int fromIndex = 0;
 		
 		while (true) {
-			int startIndex = str.indexOf(start, fromIndex);
-			int endIndex = str.indexOf(end, fromIndex);
+			int startIndex = start.indexIn(str, fromIndex);
+			int endIndex = end.indexIn(str, fromIndex);
 			if (startIndex == -1 || endIndex == -1) 
 				break;
 
 			fromIndex = endIndex + endLength;
 			
-			String target = str.substring(startIndex + startLength, endIndex);
+			String target = str.subSequence(startIndex + startLength, endIndex).toString();
 			substrings.add(target);
 		} 
 
@@ -333,7 +704,7 @@ public class Strings {
 	 * @exception NonExistentSubstringException if {@code start} or {@code end} aren't
 	 *            contained in {@code str} 
 	 */
-	public static String substringBetween(String str, String start, String end) {
+	public static String substringBetween(CharSequence str, String start, String end) {
 //		boolean startNotContained = !str.contains(start);
 //		boolean endNotContained = !str.contains(end);
 //		if (startNotContained && endNotContained)
@@ -342,11 +713,26 @@ public class Strings {
 //			return substringBefore(str, end);
 //		if (endNotContained)
 //			return substringAfter(str, start);
-		checkSubstringContained(str, start);
-		checkSubstringContained(str, end);
-
-		return str.substring(str.indexOf(start) + start.length(), 
-					         str.indexOf(end));
+		return substringBetweenAsSlice(str, start, end).toString();
+	}
+	
+	/**
+	 * Performs the same operation as {@link #substringBetween(CharSequence, String, String)}
+	 * without copying any character, so that the result can be searched and sliced
+	 * again before turning it into a string.
+	 * 
+	 * @param str
+	 * @param start
+	 * @param end
+	 * @return a slice of {@code str}
+	 * @exception NonExistentSubstringException if {@code start} or {@code end} aren't
+	 *            contained in {@code str} 
+	 */
+	public static StringSlice substringBetweenAsSlice(CharSequence str, String start, String end) {
+		int startIndex = requireSubstring(str, start);
+		int endIndex = requireSubstring(str, end);
+		
+		return StringSlice.of(str, startIndex + start.length(), endIndex);
 	}
 	
 	/**
@@ -358,10 +744,23 @@ public class Strings {
 	 *         and the end of the string
 	 * @exception NonExistentSubstringException if {@code start} isn't contained in {@code str} 
 	 */
-	public static String substringAfter(String str, String start) {
-		checkSubstringContained(str, start);
-
-		return str.substring(str.indexOf(start) + start.length());
+	public static String substringAfter(CharSequence str, String start) {
+		return substringAfterAsSlice(str, start).toString();
+	}
+	
+	/**
+	 * Performs the same operation as {@link #substringAfter(CharSequence, String)} without
+	 * copying any character.
+	 * 
+	 * @param str
+	 * @param start
+	 * @return a slice of {@code str}
+	 * @exception NonExistentSubstringException if {@code start} isn't contained in {@code str} 
+	 */
+	public static StringSlice substringAfterAsSlice(CharSequence str, String start) {
+		int startIndex = requireSubstring(str, start);
+		
+		return StringSlice.of(str, startIndex + start.length(), str.length());
 	}
 	
 	/**
@@ -373,44 +772,40 @@ public class Strings {
 	 *         occurrence of substring {@code end} 
 	 * @exception NonExistentSubstringException if {@code end} isn't contained in {@code str} 
 	 */
-	public static String substringBefore(String str, String end) {
-		checkSubstringContained(str, end);
-
-		return str.substring(0, str.indexOf(end));
+	public static String substringBefore(CharSequence str, String end) {
+		return substringBeforeAsSlice(str, end).toString();
+	}
+	
+	/**
+	 * Performs the same operation as {@link #substringBefore(CharSequence, String)} without
+	 * copying any character.
+	 * 
+	 * @param str
+	 * @param end
+	 * @return a slice of {@code str}
+	 * @exception NonExistentSubstringException if {@code end} isn't contained in {@code str} 
+	 */
+	public static StringSlice substringBeforeAsSlice(CharSequence str, String end) {
+		return StringSlice.of(str, 0, requireSubstring(str, end));
 	}
 
-	private static void checkSubstringContained(String str, String substr) {
-		if (!str.contains(substr))
-			throw new NonExistentSubstringException("Couldn't find substring " 
-					+ inQuotes(substr) + " in " + inQuotes(str));
+	private static void checkSubstringContained(CharSequence str, SubstringSearcher searcher) {
+		if (searcher.indexIn(str) == -1)
+			throw nonExistentSubstring(str, searcher.needle());
 	}
 	
-	private static String sideBySideTwoStrings(String left, String right, int whitespaceBetween) {
-		List<String> leftLines = left.lines()
-				.collect(Collectors.toList());
-		List<String> rightLines = right.lines()
-				.collect(Collectors.toList());
-		
-		int leftWidth = leftLines.stream()
-				.mapToInt(String::length)
-				.max()
-				.orElse(0);
-		
-		int leftHeight = leftLines.size();
-		int rightHeight = rightLines.size();
-		int maxHeight = leftHeight > rightHeight ? leftHeight : rightHeight;
-		
-		String whitespaceBetweenString = whitespace(whitespaceBetween);
-		String result = "";
-		for (int i = 0; i < maxHeight; i++) {
-			String leftLine = i < leftHeight ? leftLines.get(i) : "";
-			String rightLine = i < rightHeight ? rightLines.get(i) : "";
-			
-			result += leftLine + whitespace(leftWidth - leftLine.length())
-					+ whitespaceBetweenString + rightLine + "\n";
-		}
-
-		return removeLastChar(result);
+	private static int requireSubstring(CharSequence str, String substr) {
+		int index = str instanceof String 
+				? ((String) str).indexOf(substr) 
+				: StringSlice.of(str).indexOf(substr);
+		if (index == -1)
+			throw nonExistentSubstring(str, substr);
+		return index;
+	}
+	
+	private static NonExistentSubstringException nonExistentSubstring(CharSequence str, String substr) {
+		return new NonExistentSubstringException("Couldn't find substring " 
+				+ inQuotes(substr) + " in " + inQuotes(str.toString()));
 	}
 	
 	/**
@@ -422,11 +817,17 @@ public class Strings {
 	public static String sideBySide(int whitespaceBetween, String... columns) {
 		if (columns == null || columns.length == 0)
 			return "";
+		if (columns.length == 1)
+			return columns[0];
 
-		return Arrays.stream(columns)
-				.skip(1)
-				.reduce(columns[0], (result, column) -> 
-					result = sideBySideTwoStrings(result, column, whitespaceBetween));
+		return sideBySideLayout(whitespaceBetween, columns).toString();
+	}
+	
+	private static ColumnLayout sideBySideLayout(int whitespaceBetween, String... columns) {
+		ColumnLayout layout = new ColumnLayout(whitespaceBetween);
+		for (String column : columns)
+			layout.add(column);
+		return layout;
 	}
 	
 	/**
@@ -448,7 +849,21 @@ public class Strings {
 	 * @param columns
 	 */
 	public static void printSideBySide(int whitespaceBetween, String... columns) {
-		System.out.println(sideBySide(whitespaceBetween, columns));
+		if (columns == null || columns.length <= 1) {
+			System.out.println(sideBySide(whitespaceBetween, columns));
+			return;
+		}
+
+		// System.out isn't closed, only flushed
+		Writer out = new BufferedWriter(new OutputStreamWriter(System.out));
+		try {
+			sideBySideLayout(whitespaceBetween, columns).writeTo(out);
+			out.write(System.lineSeparator());
+			out.flush();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
 	}
 	
 	/**
@@ -460,7 +875,7 @@ public class Strings {
 	 * 		  a collection containing the strings
 	 */
 	public static void printSideBySide(int whitespaceBetween, Collection<String> columns) {
-		System.out.println(sideBySide(whitespaceBetween, columns));
+		printSideBySide(whitespaceBetween, columns.toArray(String[]::new));
 	}
 	
 	/**
@@ -476,14 +891,23 @@ public class Strings {
 	
 	/**
 	 * @param str
-	 * @return a stream of the characters of {@code str}
+	 * @return a stream of the characters of {@code str}, each one boxed
+	 * @see #charStream(CharSequence) to stream them without boxing
 	 */
 	public static Stream<Character> toCharStream(String str) {
-		Collection<Character> chars = new ArrayList<>();
-		for (char ch : str.toCharArray())
-			chars.add(ch);
-		
-		return chars.stream();
+		return str.chars()
+				.mapToObj(ch -> (char) ch);
+	}
+	
+	/**
+	 * Streams the characters of {@code str} without boxing them, as the
+	 * {@code int} values of {@link CharSequence#chars()}.
+	 * 
+	 * @param str
+	 * @return a stream of the characters of {@code str}
+	 */
+	public static IntStream charStream(CharSequence str) {
+		return str.chars();
 	}
 
 	/**
@@ -498,13 +922,17 @@ public class Strings {
 	 * @return a new string with modified characters
 	 */
 	public static String mapChars(String str, Function<Character, Object> mapper, boolean sideBySide) {
-		Stream<String> mapped = toCharStream(str)
-			.map(mapper)
-			.map(Object::toString);
+		if (sideBySide) {
+			ColumnLayout layout = new ColumnLayout(0).add("");
+			for (int i = 0; i < str.length(); i++)
+				layout.add(mapper.apply(str.charAt(i)).toString());
+			return layout.toString();
+		}
 		
-		if (sideBySide)
-			return mapped.reduce("", (result, chunk) -> sideBySide(0, result, chunk));
-		return mapped.collect(Collectors.joining());
+		StringBuilder result = new StringBuilder(str.length());
+		for (int i = 0; i < str.length(); i++)
+			result.append(mapper.apply(str.charAt(i)));
+		return result.toString();
 	}
 	
 	/**
@@ -527,8 +955,48 @@ public class Strings {
 	 * @param operation
 	 */
 	public static void forEachCharDo(String str, Consumer<Character> operation) {
-		toCharStream(str)
-			.forEach(operation);
+		for (int i = 0; i < str.length(); i++)
+			operation.accept(str.charAt(i));
+	}
+	
+	/**
+	 * Maps every character of {@code str} to a new character based on {@code mapper},
+	 * without boxing the characters.
+	 * 
+	 * @param str
+	 * @param mapper
+	 *        the operator that will be applied to every character
+	 * @return a new string with modified characters
+	 */
+	public static String mapEachChar(CharSequence str, CharUnaryOperator mapper) {
+		char[] chars = new char[str.length()];
+		for (int i = 0; i < chars.length; i++)
+			chars[i] = mapper.applyAsChar(str.charAt(i));
+		return new String(chars);
+	}
+	
+	/**
+	 * Consumes every character of {@code str} without boxing it.
+	 * 
+	 * @param str
+	 * @param operation
+	 */
+	public static void forEachChar(CharSequence str, CharConsumer operation) {
+		for (int i = 0, length = str.length(); i < length; i++)
+			operation.accept(str.charAt(i));
+	}
+	
+	/**
+	 * @param str
+	 * @param predicate
+	 * @return the number of characters of {@code str} matching the predicate
+	 */
+	public static int countChars(CharSequence str, CharPredicate predicate) {
+		int count = 0;
+		for (int i = 0, length = str.length(); i < length; i++)
+			if (predicate.test(str.charAt(i)))
+				count++;
+		return count;
 	}
 	
 	/**
@@ -541,9 +1009,9 @@ public class Strings {
 	 * @return {@code true} if the character matches, {@code false} otherwise
 	 * @throws IndexOutOfBoundsException if {@code charIndex} is out of bounds
 	 */
-	public static boolean charMatches(String str, int charIndex, Predicate<Character> predicate) {
+	public static boolean charMatches(CharSequence str, int charIndex, Predicate<Character> predicate) {
 		if (charIndex < 0 || charIndex >= str.length())
-			throw new IndexOutOfBoundsException(charIndex + " is not a valid char index for string " + inQuotes(str));
+			throw new IndexOutOfBoundsException(charIndex + " is not a valid char index for string " + inQuotes(str.toString()));
 		
 		return predicate.test(str.charAt(charIndex));
 	}
@@ -556,7 +1024,7 @@ public class Strings {
 	 * @param predicate
 	 * @return {@code true} if the string starts with a matching character, {@code false} otherwise
 	 */
-	public static boolean startsWith(String str, Predicate<Character> predicate) {
+	public static boolean startsWith(CharSequence str, Predicate<Character> predicate) {
 		return charMatches(str, 0, predicate);
 	}
 	
@@ -568,10 +1036,47 @@ public class Strings {
 	 * @param predicate
 	 * @return {@code true} if the string ends with a matching character, {@code false} otherwise
 	 */
-	public static boolean endsWith(String str, Predicate<Character> predicate) {
+	public static boolean endsWith(CharSequence str, Predicate<Character> predicate) {
 		return charMatches(str, str.length()-1, predicate);
 	}
 	
+	/**
+	 * Tests if the character at index {@code charIndex} in the string {@code str}
+	 * matches the predicate, without boxing it.
+	 * 
+	 * @param str
+	 * @param charIndex
+	 * @param predicate
+	 * @return {@code true} if the character matches, {@code false} otherwise
+	 * @throws IndexOutOfBoundsException if {@code charIndex} is out of bounds
+	 */
+	public static boolean charSatisfies(CharSequence str, int charIndex, CharPredicate predicate) {
+		if (charIndex < 0 || charIndex >= str.length())
+			throw new IndexOutOfBoundsException(charIndex + " is not a valid char index for string " + inQuotes(str.toString()));
+		
+		return predicate.test(str.charAt(charIndex));
+	}
+	
+	/**
+	 * @param str
+	 * @param predicate
+	 * @return {@code true} if the string starts with a matching character, {@code false} otherwise
+	 * @see #charSatisfies(CharSequence, int, CharPredicate)
+	 */
+	public static boolean startsWithChar(CharSequence str, CharPredicate predicate) {
+		return charSatisfies(str, 0, predicate);
+	}
+	
+	/**
+	 * @param str
+	 * @param predicate
+	 * @return {@code true} if the string ends with a matching character, {@code false} otherwise
+	 * @see #charSatisfies(CharSequence, int, CharPredicate)
+	 */
+	public static boolean endsWithChar(CharSequence str, CharPredicate predicate) {
+		return charSatisfies(str, str.length()-1, predicate);
+	}
+	
 	/**
 	 * 
 	 * @param str
@@ -639,35 +1144,27 @@ public class Strings {
 	}
 	
 	/**
-	 * Converts a string to camel case.
+	 * Converts a string to camel case: the {@link #words(CharSequence) words} are joined,
+	 * the first one as it is and the others with their first letter capitalized.
 	 * 
 	 * @param str
 	 * @return
+	 * @see IdentifierCase#CAMEL
 	 */
 	public static String toCamelCase(String str) {
-		String[] words = words(str);
-		String camelCase = "";
-		for (int i = 0; i < words.length; i++) {
-			String word = words[i];
-			if (i > 0)
-				word = capitalize(word);
-			camelCase += word;
-		}
-		return camelCase;
+		return IdentifierCase.joinWords(str);
 	}
 	
 	/**
-	 * Converts a camel case string to normal syntax.
+	 * Converts a camel case string to normal syntax, starting a word at every upper
+	 * case letter.
 	 * 
 	 * @param camelCase
 	 * @return a string where all words are lower case
+	 * @see IdentifierCase#LOWER
 	 */
 	public static String fromCamelCase(String camelCase) {
-		String[] words = splitKeeping(camelCase, "[A-Z]", true);
-		return Arrays.stream(words)
-				.filter(word -> !word.isBlank())
-				.map(String::toLowerCase)
-				.collect(Collectors.joining(" "));
+		return IdentifierCase.splitWords(camelCase);
 	}
 	
 	/**
@@ -682,10 +1179,10 @@ public class Strings {
 	 * @return an array of strings 
 	 * @throws PatternSyntaxException if the regex's syntax is invalid
 	 */
-	public static String[] splitKeeping(String str, String regex, boolean matchPosition) {
-		String[] splits = str.split(regex); 
-		String[] result = Arrays.copyOf(splits, splits.length);
-		String[] matches = matchedResults(str, regex);
+	public static String[] splitKeeping(CharSequence str, String regex, boolean matchPosition) {
+		Pattern pattern = PATTERN_CACHE.get(regex);
+		String[] result = pattern.split(str);
+		String[] matches = matchedResults(str, pattern);
 		
 		if (matchPosition) {
 			for (int i = 1; i < result.length; i++) 
@@ -728,13 +1225,56 @@ public class Strings {
 	 * 	       in the given string
 	 * @throws PatternSyntaxException if the regex's syntax is invalid
 	 */
-	public static String[] matchedResults(String str, String regex) {
-		return Pattern.compile(regex)
-			.matcher(str)
+	public static String[] matchedResults(CharSequence str, String regex) {
+		return matchedResults(str, PATTERN_CACHE.get(regex));
+	}
+	
+	/**
+	 * @param str
+	 * @param pattern
+	 * @return an array of strings containing the matches of {@code pattern} found
+	 * 	       in the given string
+	 */
+	public static String[] matchedResults(CharSequence str, Pattern pattern) {
+		return pattern.matcher(str)
 			.results()
 			.map(MatchResult::group)
 			.toArray(String[]::new);
 	}
+	
+	/**
+	 * Finds the same matches as {@link #matchedResults(CharSequence, Pattern)}, searching 
+	 * strings of at least {@link ParallelSearch#DEFAULT_THRESHOLD} characters in parallel 
+	 * on the common fork-join pool.
+	 * 
+	 * @param str
+	 * @param pattern
+	 * @param maxMatchLength
+	 *        the maximum length of a match of {@code pattern}, longer matches can be 
+	 *        truncated or missed
+	 * @return an array of strings containing the matches of {@code pattern} found
+	 * 	       in the given string
+	 * @see ParallelSearch#matchedResults(CharSequence, Pattern, int)
+	 */
+	public static String[] parallelMatchedResults(CharSequence str, Pattern pattern, int maxMatchLength) {
+		return ParallelSearch.common().matchedResults(str, pattern, maxMatchLength);
+	}
+	
+	/**
+	 * Finds the same matches as {@link #matchedResults(CharSequence, Pattern)}, searching 
+	 * strings of at least {@link ParallelSearch#DEFAULT_THRESHOLD} characters in parallel 
+	 * on the common fork-join pool, split at line boundaries.
+	 * 
+	 * @param str
+	 * @param pattern
+	 *        a pattern whose matches never contain a line feed
+	 * @return an array of strings containing the matches of {@code pattern} found
+	 * 	       in the given string
+	 * @see ParallelSearch#matchedResultsByLine(CharSequence, Pattern)
+	 */
+	public static String[] parallelMatchedResultsByLine(CharSequence str, Pattern pattern) {
+		return ParallelSearch.common().matchedResultsByLine(str, pattern);
+	}
 
 	/**
 	 * The index in the returned array corresponds to the index that would be used in the method 
@@ -746,16 +1286,16 @@ public class Strings {
 	 * @throws PatternSyntaxException if the regex's syntax is invalid
 	 * @throws IllegalArgumentException if the regex doesn't match {@code str}
 	 */
-	public static String[] matchedGroups(String str, String regex) {
-		Matcher matcher = Pattern.compile(regex)
+	public static String[] matchedGroups(CharSequence str, String regex) {
+		Matcher matcher = PATTERN_CACHE.get(regex)
 				.matcher(str);
 		
 		if (!matcher.matches())
-			throw new IllegalArgumentException(inQuotes(regex) + " doesn't match " + inQuotes(str));
+			throw new IllegalArgumentException(inQuotes(regex) + " doesn't match " + inQuotes(str.toString()));
 
 		int groupCount = matcher.groupCount();
 		String[] groups = new String[groupCount + 1];
-		groups[0] = str;
+		groups[0] = str.toString();
 		for (int i = 1; i < groupCount + 1; i++)
 			groups[i] = matcher.group(i);
 
@@ -763,14 +1303,174 @@ public class Strings {
 	}
 	
 	/**
-     * Simply calls {@link Arrays}{@code .mismatch(str.toCharArray(), other.toCharArray())}.
+	 * Compares the characters in place, without copying them.
+	 * 
 	 * @param str
 	 * @param other
 	 * @return the index of the first mismatch between {@code str} and {@code other}. 
 	 * 		   -1 if no mismatch is found.
+	 * @see EditDistance
 	 */
-	public static int mismatch(String str, String other) {
-		return Arrays.mismatch(str.toCharArray(), other.toCharArray());
+	public static int mismatch(CharSequence str, CharSequence other) {
+		return mismatch(str, 0, str.length(), other, 0, other.length());
+	}
+
+	/**
+	 * Like {@link Arrays#mismatch(char[], int, int, char[], int, int)}, but compares the
+	 * characters in place, without copying them.
+	 * 
+	 * @param str
+	 * @param strFrom
+	 *        the index of the first character of {@code str} to compare, inclusive
+	 * @param strTo
+	 *        the index of the last character of {@code str} to compare, exclusive
+	 * @param other
+	 * @param otherFrom
+	 *        the index of the first character of {@code other} to compare, inclusive
+	 * @param otherTo
+	 *        the index of the last character of {@code other} to compare, exclusive
+	 * @return the index of the first mismatch between the two ranges, relative to their
+	 *         start. -1 if no mismatch is found.
+	 * @exception StringIndexOutOfBoundsException if a range is out of bounds
+	 */
+	public static int mismatch(CharSequence str, int strFrom, int strTo,
+			CharSequence other, int otherFrom, int otherTo) {
+		checkRange(str, strFrom, strTo);
+		checkRange(other, otherFrom, otherTo);
+		int length = Math.min(strTo - strFrom, otherTo - otherFrom);
+		int prefix = commonPrefixLength(str, strFrom, other, otherFrom, length);
+		if (prefix < length || strTo - strFrom != otherTo - otherFrom)
+			return prefix;
+		return -1;
+	}
+
+	private static void checkRange(CharSequence str, int from, int to) {
+		if (from < 0 || from > to || to > str.length())
+			throw new StringIndexOutOfBoundsException("begin " + from + ", end " + to + ", length " + str.length());
+	}
+
+	/**
+	 * @param str
+	 * @param other
+	 * @return the number of characters {@code str} and {@code other} start with in common
+	 */
+	public static int commonPrefixLength(CharSequence str, CharSequence other) {
+		return commonPrefixLength(str, 0, other, 0, Math.min(str.length(), other.length()));
+	}
+
+	/**
+	 * @param str
+	 * @param other
+	 * @return the number of characters {@code str} and {@code other} end with in common
+	 */
+	public static int commonSuffixLength(CharSequence str, CharSequence other) {
+		return commonSuffixLength(str, other, Math.min(str.length(), other.length()));
+	}
+
+	/**
+	 * @param strings
+	 * @return the number of characters all of {@code strings} start with, 0 if there are none
+	 */
+	public static int commonPrefixLength(Collection<? extends CharSequence> strings) {
+		int length = -1;
+		CharSequence first = null;
+		for (CharSequence str : strings) {
+			if (first == null) {
+				first = str;
+				length = str.length();
+			}
+			else
+				length = commonPrefixLength(first, 0, str, 0, Math.min(length, str.length()));
+			if (length == 0)
+				return 0;
+		}
+		return Math.max(length, 0);
+	}
+
+	/**
+	 * @param strings
+	 * @return the number of characters all of {@code strings} end with, 0 if there are none
+	 */
+	public static int commonSuffixLength(Collection<? extends CharSequence> strings) {
+		int length = -1;
+		CharSequence first = null;
+		for (CharSequence str : strings) {
+			if (first == null) {
+				first = str;
+				length = str.length();
+			}
+			else
+				length = commonSuffixLength(first, str, Math.min(length, str.length()));
+			if (length == 0)
+				return 0;
+		}
+		return Math.max(length, 0);
+	}
+
+	/**
+	 * Compares only the first and the last string: in a sorted list, the prefix they
+	 * have in common is shared by all the strings between them. An array can be passed
+	 * wrapped by {@link Arrays#asList(Object...)}, which doesn't copy it.
+	 * 
+	 * @param sorted
+	 *        strings in the order of {@link String#compareTo(String)}
+	 * @return the number of characters all of {@code sorted} start with, 0 if there are none
+	 */
+	public static int sortedCommonPrefixLength(List<? extends CharSequence> sorted) {
+		if (sorted.isEmpty())
+			return 0;
+		return commonPrefixLength(sorted.get(0), sorted.get(sorted.size() - 1));
+	}
+
+	/**
+	 * Computes the longest common prefix array of {@code sorted}, used to store sorted
+	 * keys compressed, each one as the length of the prefix it has in common with the
+	 * previous one followed by the rest of its characters. An array can be passed
+	 * wrapped by {@link Arrays#asList(Object...)}, which doesn't copy it.
+	 * 
+	 * @param sorted
+	 *        strings in the order of {@link String#compareTo(String)}
+	 * @return an array where the element {@code i} is the number of characters the
+	 *         strings {@code i - 1} and {@code i} start with in common, and the first one is 0
+	 */
+	public static int[] lcpArray(List<? extends CharSequence> sorted) {
+		int[] lcp = new int[sorted.size()];
+		CharSequence previous = null;
+		int index = 0;
+		for (CharSequence str : sorted) {
+			if (previous != null)
+				lcp[index] = commonPrefixLength(previous, str);
+			previous = str;
+			index++;
+		}
+		return lcp;
+	}
+
+	private static int commonPrefixLength(CharSequence str, int strFrom, CharSequence other, int otherFrom,
+			int length) {
+		// the same loop on the concrete class, so that charAt can be inlined
+		if (str instanceof String && other instanceof String) {
+			String string = (String) str;
+			String otherString = (String) other;
+			for (int i = 0; i < length; i++)
+				if (string.charAt(strFrom + i) != otherString.charAt(otherFrom + i))
+					return i;
+			return length;
+		}
+
+		for (int i = 0; i < length; i++)
+			if (str.charAt(strFrom + i) != other.charAt(otherFrom + i))
+				return i;
+		return length;
+	}
+
+	private static int commonSuffixLength(CharSequence str, CharSequence other, int length) {
+		int strEnd = str.length() - 1;
+		int otherEnd = other.length() - 1;
+		for (int i = 0; i < length; i++)
+			if (str.charAt(strEnd - i) != other.charAt(otherEnd - i))
+				return i;
+		return length;
 	}
 
 }
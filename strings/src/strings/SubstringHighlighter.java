@@ -0,0 +1,263 @@
+package strings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import strings.MultiSubstringSearcher.MatchMode;
+
+/**
+ * Renders the occurrences of one or more needles, or the matches of a regex, found
+ * in a text. The text is searched once and the output is written to an
+ * {@link Appendable} in a single pass, so the rendering time is linear in the
+ * length of the text.
+ * <p>
+ * The occurrences don't overlap each other: with more than one needle, at every
+ * position the one starting first is chosen and, among the ones starting at the same
+ * index, the longest. Instances are immutable and can be shared between threads.
+ */
+public final class SubstringHighlighter {
+
+	private static final char UNDERLINE = '^';
+
+	private final SubstringSearcher searcher;
+	private final MultiSubstringSearcher multiSearcher;
+	private final Pattern pattern;
+
+	private SubstringHighlighter(SubstringSearcher searcher, MultiSubstringSearcher multiSearcher, Pattern pattern) {
+		this.searcher = searcher;
+		this.multiSearcher = multiSearcher;
+		this.pattern = pattern;
+	}
+
+	/**
+	 * @param needles
+	 * @return a highlighter for the occurrences of all the {@code needles}
+	 * @exception IllegalArgumentException if there are many needles and one of them is empty
+	 */
+	public static SubstringHighlighter of(String... needles) {
+		if (needles.length == 1)
+			return of(SubstringSearcher.compile(needles[0]));
+		return of(MultiSubstringSearcher.of(needles));
+	}
+
+	/**
+	 * @param needles
+	 * @return a highlighter for the occurrences of all the {@code needles}
+	 * @exception IllegalArgumentException if there are many needles and one of them is empty
+	 */
+	public static SubstringHighlighter of(Collection<String> needles) {
+		return of(needles.toArray(String[]::new));
+	}
+
+	/**
+	 * @param searcher
+	 * @return a highlighter for the occurrences of the needle of {@code searcher}
+	 */
+	public static SubstringHighlighter of(SubstringSearcher searcher) {
+		return new SubstringHighlighter(Objects.requireNonNull(searcher), null, null);
+	}
+
+	/**
+	 * @param searcher
+	 * @return a highlighter for the leftmost longest occurrences of the needles of {@code searcher}
+	 */
+	public static SubstringHighlighter of(MultiSubstringSearcher searcher) {
+		return new SubstringHighlighter(null, Objects.requireNonNull(searcher), null);
+	}
+
+	/**
+	 * @param pattern
+	 * @return a highlighter for the matches of {@code pattern}
+	 */
+	public static SubstringHighlighter of(Pattern pattern) {
+		return new SubstringHighlighter(null, null, Objects.requireNonNull(pattern));
+	}
+
+	/**
+	 * Writes every line of {@code text} followed by a line underlining the occurrences
+	 * found in it. The lines are the ones returned by {@link Strings#lines(CharSequence)};
+	 * the occurrences spanning more than one line aren't underlined.
+	 * <blockquote>For example,<pre>
+	 * {@code underline("house mouse")
+	 * => "house mouse"
+	 *    "  ^^    ^^ "
+	 * }</pre></blockquote>
+	 *
+	 * @param text
+	 * @param out
+	 * @return the number of occurrences found in {@code text}
+	 * @throws IOException if {@code out} throws it
+	 */
+	public int underline(CharSequence text, Appendable out) throws IOException {
+		Occurrences occurrences = find(text);
+
+		int length = text.length();
+		if (length == 0) {
+			out.append('\n');
+			return occurrences.count;
+		}
+
+		int k = 0;
+		int lineStart = 0;
+		while (lineStart < length) {
+			int lineEnd = lineStart;
+			while (lineEnd < length && lineBreakLength(text, lineEnd) == 0)
+				lineEnd++;
+			int next = lineEnd;
+			for (int breakLength; (breakLength = lineBreakLength(text, next)) > 0; )
+				next += breakLength;
+
+			// as in Pattern.split, a leading empty line is kept only if other lines follow
+			if (lineEnd > lineStart || (lineStart == 0 && next < length)) {
+				if (lineStart > 0)
+					out.append('\n');
+				out.append(text, lineStart, lineEnd).append('\n');
+
+				int column = lineStart;
+				for (; k < occurrences.count && occurrences.starts[k] < lineEnd; k++) {
+					int start = occurrences.starts[k];
+					int end = occurrences.ends[k];
+					if (start >= lineStart && end <= lineEnd) {
+						appendRepeated(out, ' ', start - column);
+						appendRepeated(out, UNDERLINE, end - start);
+						column = end;
+					}
+				}
+				appendRepeated(out, ' ', lineEnd - column);
+			}
+			lineStart = next;
+		}
+		return occurrences.count;
+	}
+
+	/**
+	 * @param text
+	 * @return the result of {@link #underline(CharSequence, Appendable)} as a string
+	 */
+	public String underline(CharSequence text) {
+		StringBuilder builder = new StringBuilder(text.length() * 2 + 1);
+		try {
+			underline(text, builder);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Writes {@code text} replacing every occurrence with the result of {@code highlighter}.
+	 * <blockquote>For example,<pre>
+	 * {@code highlight("hello world", s -> "[" + s + "]")
+	 * => "hell[o] w[o]rld"
+	 * }</pre></blockquote>
+	 *
+	 * @param text
+	 * @param highlighter
+	 *        the function applied to every occurrence
+	 * @param out
+	 * @return the number of occurrences found in {@code text}
+	 * @throws IOException if {@code out} throws it
+	 */
+	public int highlight(CharSequence text, Function<String, Object> highlighter, Appendable out) throws IOException {
+		Occurrences occurrences = find(text);
+
+		int previousEnd = 0;
+		for (int k = 0; k < occurrences.count; k++) {
+			int start = occurrences.starts[k];
+			int end = occurrences.ends[k];
+			out.append(text, previousEnd, start)
+				.append(String.valueOf(highlighter.apply(text.subSequence(start, end).toString())));
+			previousEnd = end;
+		}
+		out.append(text, previousEnd, text.length());
+		return occurrences.count;
+	}
+
+	/**
+	 * @param text
+	 * @param highlighter
+	 * @return the result of {@link #highlight(CharSequence, Function, Appendable)} as a string
+	 */
+	public String highlight(CharSequence text, Function<String, Object> highlighter) {
+		StringBuilder builder = new StringBuilder(text.length() + 16);
+		try {
+			highlight(text, highlighter, builder);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder.toString();
+	}
+
+	private Occurrences find(CharSequence text) {
+		Occurrences occurrences = new Occurrences();
+		if (searcher != null) {
+			int length = searcher.needle().length();
+			OccurrenceCursor cursor = searcher.cursor(text);
+			for (int index; (index = cursor.nextOrEnd()) != -1; )
+				occurrences.add(index, index + length);
+		}
+		else if (multiSearcher != null)
+			multiSearcher.forEachOccurrence(text, MatchMode.LEFTMOST_LONGEST, (needleId, index) ->
+				occurrences.add(index, index + multiSearcher.needle(needleId).length()));
+		else {
+			Matcher matcher = pattern.matcher(text);
+			while (matcher.find())
+				occurrences.add(matcher.start(), matcher.end());
+		}
+		return occurrences;
+	}
+
+	/**
+	 * @return the length of the line break starting at {@code index}, 0 if there is none
+	 */
+	private static int lineBreakLength(CharSequence text, int index) {
+		if (index >= text.length())
+			return 0;
+		char ch = text.charAt(index);
+		if (ch == '\n')
+			return 1;
+		if (ch == '\r' && index + 1 < text.length() && text.charAt(index + 1) == '\n')
+			return 2;
+		return 0;
+	}
+
+	private static void appendRepeated(Appendable out, char ch, int times) throws IOException {
+		if (times > 0)
+			RepeatedSequence.of(ch, times).appendTo(out);
+	}
+
+	@Override
+	public String toString() {
+		Object source = searcher != null ? searcher : multiSearcher != null ? multiSearcher : pattern;
+		return "SubstringHighlighter[" + source + "]";
+	}
+
+	/**
+	 * The start and end indexes of the occurrences found in a text.
+	 */
+	private static final class Occurrences {
+
+		int[] starts = new int[16];
+		int[] ends = new int[16];
+		int count;
+
+		void add(int start, int end) {
+			if (count == starts.length) {
+				starts = Arrays.copyOf(starts, count * 2);
+				ends = Arrays.copyOf(ends, count * 2);
+			}
+			starts[count] = start;
+			ends[count] = end;
+			count++;
+		}
+	}
+
+}
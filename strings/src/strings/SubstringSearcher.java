@@ -0,0 +1,397 @@
+package strings;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+import chars.ScanKernels;
+
+/**
+ * A substring search compiled once from a needle and reusable on any number of texts.
+ * <p>
+ * The search algorithm is chosen from the needle when the searcher is compiled:
+ * short needles are searched with a simple scan (which for {@code String} texts
+ * delegates to {@link String#indexOf(String, int)}), needles made of few distinct
+ * characters use the Two-Way algorithm, whose running time is linear in the worst case,
+ * and every other needle uses Boyer-Moore-Horspool, which skips most of the text.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class SubstringSearcher {
+
+	public enum Algorithm {
+		SIMPLE, HORSPOOL, TWO_WAY
+	}
+
+	private static final int SIMPLE_MAX_LENGTH = 3;
+	private static final int SMALL_ALPHABET_SIZE = 4;
+	private static final int SHIFT_TABLE_SIZE = 256;
+
+	private final String needle;
+	private final char[] chars;
+	private final Algorithm algorithm;
+
+	// Boyer-Moore-Horspool bad character shifts, indexed by the low byte of a character
+	private final int[] shifts;
+
+	// Two-Way critical factorization
+	private final int criticalPosition;
+	private final int period;
+	private final boolean periodic;
+
+	/**
+	 * @param needle
+	 * @return a searcher for {@code needle} using the algorithm that suits it best
+	 */
+	public static SubstringSearcher compile(String needle) {
+		return new SubstringSearcher(needle, chooseAlgorithm(needle));
+	}
+
+	/**
+	 * @param needle
+	 * @param algorithm
+	 * @return a searcher for {@code needle} using {@code algorithm}
+	 */
+	public static SubstringSearcher compile(String needle, Algorithm algorithm) {
+		return new SubstringSearcher(needle, Objects.requireNonNull(algorithm));
+	}
+
+	private static Algorithm chooseAlgorithm(String needle) {
+		if (needle.length() <= SIMPLE_MAX_LENGTH)
+			return Algorithm.SIMPLE;
+
+		long distinct = needle.chars()
+				.distinct()
+				.limit(SMALL_ALPHABET_SIZE + 1)
+				.count();
+		return distinct <= SMALL_ALPHABET_SIZE ? Algorithm.TWO_WAY : Algorithm.HORSPOOL;
+	}
+
+	private SubstringSearcher(String needle, Algorithm algorithm) {
+		this.needle = needle;
+		this.chars = needle.toCharArray();
+		this.algorithm = needle.isEmpty() ? Algorithm.SIMPLE : algorithm;
+
+		int length = chars.length;
+		if (this.algorithm == Algorithm.HORSPOOL) {
+			shifts = new int[SHIFT_TABLE_SIZE];
+			Arrays.fill(shifts, length);
+			for (int i = 0; i < length - 1; i++)
+				shifts[chars[i] & 0xFF] = length - 1 - i;
+		}
+		else
+			shifts = null;
+
+		if (this.algorithm == Algorithm.TWO_WAY) {
+			long suffix = maximalSuffix(chars, false);
+			long reversedSuffix = maximalSuffix(chars, true);
+			if ((int) (suffix >> 32) < (int) (reversedSuffix >> 32))
+				suffix = reversedSuffix;
+
+			criticalPosition = (int) (suffix >> 32);
+			int suffixPeriod = (int) suffix;
+			periodic = Arrays.equals(chars, 0, criticalPosition + 1,
+					chars, suffixPeriod, suffixPeriod + criticalPosition + 1);
+			period = periodic
+					? suffixPeriod
+					: Math.max(criticalPosition + 1, length - criticalPosition - 1) + 1;
+		}
+		else {
+			criticalPosition = 0;
+			period = 0;
+			periodic = false;
+		}
+	}
+
+	/**
+	 * Computes the maximal suffix of {@code x} for the alphabet order, or for the
+	 * reversed order if {@code reversed} is {@code true}.
+	 *
+	 * @return the position preceding the suffix in the high 32 bits and its period
+	 *         in the low 32 bits
+	 */
+	private static long maximalSuffix(char[] x, boolean reversed) {
+		int ms = -1;
+		int j = 0;
+		int k = 1;
+		int p = 1;
+		while (j + k < x.length) {
+			char a = x[j + k];
+			char b = x[ms + k];
+			if (reversed ? a > b : a < b) {
+				j += k;
+				k = 1;
+				p = j - ms;
+			}
+			else if (a == b) {
+				if (k != p)
+					k++;
+				else {
+					j += p;
+					k = 1;
+				}
+			}
+			else {
+				ms = j;
+				j = ms + 1;
+				k = p = 1;
+			}
+		}
+		return ((long) ms << 32) | p;
+	}
+
+	public String needle() {
+		return needle;
+	}
+
+	public Algorithm algorithm() {
+		return algorithm;
+	}
+
+	/**
+	 * @param text
+	 * @return the index of the first occurrence of the needle in {@code text},
+	 *         -1 if there is none
+	 */
+	public int indexIn(CharSequence text) {
+		return indexIn(text, 0);
+	}
+
+	/**
+	 * @param text
+	 * @param fromIndex
+	 *        the index to start the search from
+	 * @return the index of the first occurrence of the needle in {@code text} starting
+	 *         from {@code fromIndex}, -1 if there is none
+	 */
+	public int indexIn(CharSequence text, int fromIndex) {
+		return indexIn(text, fromIndex, text.length());
+	}
+
+	/**
+	 * @param text
+	 * @param fromIndex
+	 *        the index to start the search from
+	 * @param toIndex
+	 *        the index where the occurrence must end at the latest, exclusive
+	 * @return the index of the first occurrence of the needle in {@code text} between
+	 *         {@code fromIndex} and {@code toIndex}, -1 if there is none
+	 */
+	public int indexIn(CharSequence text, int fromIndex, int toIndex) {
+		int length = Math.min(toIndex, text.length());
+		if (fromIndex < 0)
+			fromIndex = 0;
+		if (fromIndex > length - chars.length)
+			return -1;
+
+		switch (algorithm) {
+		case HORSPOOL:
+			return horspool(text, fromIndex, length);
+		case TWO_WAY:
+			return twoWay(text, fromIndex, length);
+		default:
+			return simple(text, fromIndex, length);
+		}
+	}
+
+	/**
+	 * Finds the occurrences of the needle scanning {@code text} from left to right.
+	 * Each occurrence starts after the end of the previous one.
+	 *
+	 * @param text
+	 * @return an array of indexes where each index represents the position of the first
+	 *         letter of an occurrence of the needle in {@code text}
+	 */
+	public int[] occurrencesIn(CharSequence text) {
+		return occurrencesIn(text, false);
+	}
+
+	/**
+	 * @param text
+	 * @param overlapping
+	 *        if {@code true} an occurrence can start before the end of the previous one
+	 * @return an array of indexes where each index represents the position of the first
+	 *         letter of an occurrence of the needle in {@code text}
+	 */
+	public int[] occurrencesIn(CharSequence text, boolean overlapping) {
+		int[] occurrences = new int[8];
+		int count = 0;
+		int step = step(overlapping);
+
+		for (int index = indexIn(text, 0); index != -1; index = indexIn(text, index + step)) {
+			if (count == occurrences.length)
+				occurrences = Arrays.copyOf(occurrences, count * 2);
+			occurrences[count++] = index;
+		}
+
+		return Arrays.copyOf(occurrences, count);
+	}
+
+	/**
+	 * @param text
+	 * @return the number of occurrences that {@link #occurrencesIn(CharSequence)} would return
+	 */
+	public int countIn(CharSequence text) {
+		return countIn(text, false);
+	}
+
+	/**
+	 * Counts the occurrences of the needle without allocating any memory.
+	 *
+	 * @param text
+	 * @param overlapping
+	 *        if {@code true} an occurrence can start before the end of the previous one
+	 * @return the number of occurrences that {@link #occurrencesIn(CharSequence, boolean)}
+	 *         would return
+	 */
+	public int countIn(CharSequence text, boolean overlapping) {
+		int count = 0;
+		int step = step(overlapping);
+
+		for (int index = indexIn(text, 0); index != -1; index = indexIn(text, index + step))
+			count++;
+
+		return count;
+	}
+
+	/**
+	 * @param text
+	 * @return a cursor lazily finding the occurrences that {@link #occurrencesIn(CharSequence)}
+	 *         would return
+	 */
+	public OccurrenceCursor cursor(CharSequence text) {
+		return cursor(text, false);
+	}
+
+	/**
+	 * @param text
+	 * @param overlapping
+	 *        if {@code true} an occurrence can start before the end of the previous one
+	 * @return a cursor lazily finding the occurrences that
+	 *         {@link #occurrencesIn(CharSequence, boolean)} would return
+	 */
+	public OccurrenceCursor cursor(CharSequence text, boolean overlapping) {
+		return new OccurrenceCursor(this::indexIn, text, step(overlapping));
+	}
+
+	private int step(boolean overlapping) {
+		return overlapping ? 1 : Math.max(chars.length, 1);
+	}
+
+	private int simple(CharSequence text, int from, int length) {
+		if (text instanceof String && length == text.length())
+			return ((String) text).indexOf(needle, from);
+
+		if (chars.length == 0)
+			return from;
+		if (text instanceof CharBuffer && ((CharBuffer) text).hasArray())
+			return simple((CharBuffer) text, from, length);
+
+		char first = chars[0];
+		int last = length - chars.length;
+		for (int i = from; i <= last; i++) {
+			if (text.charAt(i) != first)
+				continue;
+
+			int j = 1;
+			while (j < chars.length && text.charAt(i + j) == chars[j])
+				j++;
+			if (j == chars.length)
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds the candidates in the array of {@code buffer} with
+	 * {@link ScanKernels#indexOf(char[], int, int, char)}, which compares many
+	 * characters at a time with the first one of the needle.
+	 */
+	private int simple(CharBuffer buffer, int from, int length) {
+		char[] array = buffer.array();
+		// the index in the array of the character at index 0 of the buffer
+		int offset = buffer.arrayOffset() + buffer.position();
+		int end = offset + length - chars.length + 1;
+		for (int i = offset + from; i < end; i++) {
+			i = ScanKernels.indexOf(array, i, end, chars[0]);
+			if (i == -1)
+				return -1;
+			if (Arrays.equals(array, i + 1, i + chars.length, chars, 1, chars.length))
+				return i - offset;
+		}
+		return -1;
+	}
+
+	private int horspool(CharSequence text, int from, int length) {
+		int lastIndex = chars.length - 1;
+		char lastChar = chars[lastIndex];
+
+		int i = from;
+		int last = length - chars.length;
+		while (i <= last) {
+			char ch = text.charAt(i + lastIndex);
+			if (ch == lastChar) {
+				int j = lastIndex - 1;
+				while (j >= 0 && text.charAt(i + j) == chars[j])
+					j--;
+				if (j < 0)
+					return i;
+			}
+			i += shifts[ch & 0xFF];
+		}
+		return -1;
+	}
+
+	private int twoWay(CharSequence text, int from, int length) {
+		int m = chars.length;
+		int ell = criticalPosition;
+		int last = length - m;
+
+		int j = from;
+		if (periodic) {
+			int memory = -1;
+			while (j <= last) {
+				int i = Math.max(ell, memory) + 1;
+				while (i < m && chars[i] == text.charAt(i + j))
+					i++;
+				if (i >= m) {
+					i = ell;
+					while (i > memory && chars[i] == text.charAt(i + j))
+						i--;
+					if (i <= memory)
+						return j;
+					j += period;
+					memory = m - period - 1;
+				}
+				else {
+					j += i - ell;
+					memory = -1;
+				}
+			}
+		}
+		else {
+			while (j <= last) {
+				int i = ell + 1;
+				while (i < m && chars[i] == text.charAt(i + j))
+					i++;
+				if (i >= m) {
+					i = ell;
+					while (i >= 0 && chars[i] == text.charAt(i + j))
+						i--;
+					if (i < 0)
+						return j;
+					j += period;
+				}
+				else
+					j += i - ell;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public String toString() {
+		return "SubstringSearcher[needle=" + Strings.inQuotes(needle) + ", algorithm=" + algorithm + "]";
+	}
+
+}
@@ -0,0 +1,204 @@
+package strings;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import chars.ScanKernels;
+
+/**
+ * Splits the characters read from a {@link Reader} into tokens separated by runs of
+ * delimiters, reading through a fixed size buffer. The tokens are the same ones
+ * {@link Strings#lines(CharSequence)} and {@link Strings#words(CharSequence)} would
+ * return for the whole text: a leading empty token is kept and trailing ones are removed.
+ */
+final class TokenSpliterator extends Spliterators.AbstractSpliterator<String> {
+
+	private static final int BUFFER_SIZE = 8192;
+	private static final char[] WORD_DELIMITERS = {' ', '(', ')', '\r', '?', '\n'};
+
+	private final Reader reader;
+	private final boolean lines;
+
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int position;
+	private int limit;
+	private boolean endOfInput;
+
+	private final StringBuilder token = new StringBuilder();
+	private boolean started;
+	private boolean leadingEmptyToken;
+	private String queued;
+	private boolean done;
+
+	private TokenSpliterator(Reader reader, boolean lines) {
+		super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+		this.reader = reader;
+		this.lines = lines;
+	}
+
+	/**
+	 * @return a spliterator of the tokens separated by {@code (\r?\n)+}
+	 */
+	static TokenSpliterator lines(Reader reader) {
+		return new TokenSpliterator(reader, true);
+	}
+
+	/**
+	 * @return a spliterator of the tokens separated by {@code [ (\r?\n)]+}
+	 */
+	static TokenSpliterator words(Reader reader) {
+		return new TokenSpliterator(reader, false);
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super String> action) {
+		if (queued != null) {
+			action.accept(queued);
+			queued = null;
+			return true;
+		}
+
+		while (!done) {
+			token.setLength(0);
+			boolean delimited = readToken();
+
+			if (!started) {
+				started = true;
+				if (!delimited && token.length() == 0) {
+					// an empty input is split into a single empty token
+					done = true;
+					action.accept("");
+					return true;
+				}
+			}
+
+			if (!delimited)
+				done = true;
+
+			if (token.length() > 0) {
+				String found = token.toString();
+				if (leadingEmptyToken) {
+					leadingEmptyToken = false;
+					queued = found;
+					found = "";
+				}
+				action.accept(found);
+				return true;
+			}
+
+			// only the first token or the one at the end of the input can be empty
+			if (delimited)
+				leadingEmptyToken = true;
+		}
+		return false;
+	}
+
+	/**
+	 * Appends the characters preceding the next run of delimiters to {@code token}
+	 * and skips the run.
+	 *
+	 * @return {@code true} if a run of delimiters was found,
+	 *         {@code false} if the end of the input was reached
+	 */
+	private boolean readToken() {
+		while (true) {
+			if (position == limit && !fill(1))
+				return false;
+
+			int delimiter = findDelimiter(position, limit);
+			token.append(buffer, position, delimiter - position);
+			position = delimiter;
+
+			if (delimiter < limit) {
+				int length = delimiterLength();
+				if (length > 0) {
+					skipDelimiters(length);
+					return true;
+				}
+				// a carriage return not followed by a line feed belongs to the line
+				token.append(buffer[position++]);
+			}
+		}
+	}
+
+	private int findDelimiter(int from, int to) {
+		int delimiter = lines
+				? ScanKernels.indexOfAny(buffer, from, to, '\n', '\r')
+				: ScanKernels.indexOfAny(buffer, from, to, WORD_DELIMITERS);
+		return delimiter == -1 ? to : delimiter;
+	}
+
+	private static boolean isWordDelimiter(char ch) {
+		switch (ch) {
+		case ' ':
+		case '(':
+		case ')':
+		case '\r':
+		case '?':
+		case '\n':
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * @return the length of the delimiter starting at {@code position}, 0 if there is none
+	 */
+	private int delimiterLength() {
+		if (position == limit && !fill(1))
+			return 0;
+
+		char ch = buffer[position];
+		if (!lines)
+			return isWordDelimiter(ch) ? 1 : 0;
+		if (ch == '\n')
+			return 1;
+		if (ch == '\r' && fill(2) && buffer[position + 1] == '\n')
+			return 2;
+		return 0;
+	}
+
+	private void skipDelimiters(int length) {
+		do
+			position += length;
+		while ((length = delimiterLength()) > 0);
+	}
+
+	/**
+	 * Makes sure at least {@code n} characters are available after {@code position},
+	 * moving the unread ones to the start of the buffer if it needs to be refilled.
+	 *
+	 * @return {@code false} if the end of the input was reached first
+	 */
+	private boolean fill(int n) {
+		if (limit - position >= n)
+			return true;
+		if (endOfInput)
+			return false;
+
+		System.arraycopy(buffer, position, buffer, 0, limit - position);
+		limit -= position;
+		position = 0;
+
+		try {
+			while (limit < n) {
+				int read = reader.read(buffer, limit, buffer.length - limit);
+				if (read == -1) {
+					endOfInput = true;
+					return false;
+				}
+				limit += read;
+			}
+			return true;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
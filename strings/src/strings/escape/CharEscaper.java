@@ -0,0 +1,176 @@
+package strings.escape;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * An {@link Escaper} replacing single characters, looked up in a table indexed by
+ * the character, so a text is escaped in one pass without any regex. Characters
+ * past the end of the table are never escaped.
+ * <blockquote>For example,<pre>
+ * {@code CharEscaper.builder().escape('\'', "''").quoteIfEscaped('\'').build()
+ * escape("abc")   => "abc"
+ * escape("it's")  => "'it''s'"
+ * }</pre></blockquote>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class CharEscaper extends Escaper {
+
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+	// the replacement of every character, null for the characters left as they are
+	private final char[][] replacements;
+	// the quote around the texts containing a character to escape, -1 if there is none
+	private final int quote;
+
+	private CharEscaper(char[][] replacements, int quote) {
+		this.replacements = replacements;
+		this.quote = quote;
+	}
+
+	/**
+	 * @return a builder of an escaper which doesn't escape any character yet
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @param ch
+	 * @return {@code true} if {@code ch} is escaped
+	 */
+	public boolean escapes(char ch) {
+		return ch < replacements.length && replacements[ch] != null;
+	}
+
+	@Override
+	public String escape(String str) {
+		int first = indexOfEscaped(str);
+		if (first == -1)
+			return str;
+
+		StringBuilder escaped = new StringBuilder(str.length() + 16);
+		try {
+			write(str, first, escaped);
+		}
+		catch (IOException e) {
+			// a StringBuilder never throws it
+			throw new AssertionError(e);
+		}
+		return escaped.toString();
+	}
+
+	@Override
+	public void escape(CharSequence str, Appendable out) throws IOException {
+		int first = indexOfEscaped(str);
+		if (first == -1)
+			out.append(str);
+		else
+			write(str, first, out);
+	}
+
+	private int indexOfEscaped(CharSequence str) {
+		for (int i = 0; i < str.length(); i++)
+			if (escapes(str.charAt(i)))
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Writes {@code str} escaped, whose first character to escape is at {@code first}.
+	 */
+	private void write(CharSequence str, int first, Appendable out) throws IOException {
+		if (quote != -1)
+			out.append((char) quote);
+		out.append(str, 0, first);
+		// the start of the characters left as they are, appended all at once
+		int start = first;
+		for (int i = first; i < str.length(); i++) {
+			char ch = str.charAt(i);
+			if (!escapes(ch))
+				continue;
+			out.append(str, start, i);
+			char[] replacement = replacements[ch];
+			for (char replacementChar : replacement)
+				out.append(replacementChar);
+			start = i + 1;
+		}
+		out.append(str, start, str.length());
+		if (quote != -1)
+			out.append((char) quote);
+	}
+
+	public static final class Builder {
+
+		private final TreeMap<Character, String> replacements = new TreeMap<>();
+		private int quote = -1;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param ch
+		 * @param replacement
+		 * @return this builder
+		 */
+		public Builder escape(char ch, String replacement) {
+			replacements.put(ch, Objects.requireNonNull(replacement));
+			return this;
+		}
+
+		/**
+		 * Escapes each of {@code chars} by putting {@code prefix} before it.
+		 *
+		 * @param chars
+		 * @param prefix
+		 * @return this builder
+		 */
+		public Builder escapeAll(String chars, String prefix) {
+			for (int i = 0; i < chars.length(); i++)
+				escape(chars.charAt(i), prefix + chars.charAt(i));
+			return this;
+		}
+
+		/**
+		 * Escapes the characters from {@code first} to {@code last} as the Unicode
+		 * escape {@code \}{@code uXXXX}, except the ones already escaped.
+		 *
+		 * @param first
+		 * @param last
+		 * @return this builder
+		 */
+		public Builder escapeAsUnicode(char first, char last) {
+			for (int ch = first; ch <= last; ch++)
+				replacements.putIfAbsent((char) ch, new String(new char[] {
+					'\\', 'u',
+					HEX_DIGITS[ch >> 12 & 0xF], HEX_DIGITS[ch >> 8 & 0xF],
+					HEX_DIGITS[ch >> 4 & 0xF], HEX_DIGITS[ch & 0xF]
+				}));
+			return this;
+		}
+
+		/**
+		 * Puts {@code quote} around the texts containing a character to escape. A character
+		 * escaped as itself is then only a reason to quote the text.
+		 *
+		 * @param quote
+		 * @return this builder
+		 */
+		public Builder quoteIfEscaped(char quote) {
+			this.quote = quote;
+			return this;
+		}
+
+		/**
+		 * @return the escaper
+		 */
+		public CharEscaper build() {
+			int length = replacements.isEmpty() ? 0 : replacements.lastKey() + 1;
+			char[][] table = new char[length][];
+			replacements.forEach((ch, replacement) -> table[ch] = replacement.toCharArray());
+			return new CharEscaper(table, quote);
+		}
+	}
+
+}
@@ -0,0 +1,46 @@
+package strings.escape;
+
+import java.io.IOException;
+
+/**
+ * Escapes the characters of a text which have a special meaning in some syntax,
+ * such as the quotes of a string literal or the metacharacters of a regex.
+ *
+ * @see Escapers
+ */
+public abstract class Escaper {
+
+	/**
+	 * @param str
+	 * @return {@code str} escaped, or {@code str} itself if none of its characters needs escaping
+	 */
+	public abstract String escape(String str);
+
+	/**
+	 * Appends {@code str} escaped to {@code out}.
+	 *
+	 * @param str
+	 * @param out
+	 * @throws IOException if {@code out} throws it
+	 */
+	public abstract void escape(CharSequence str, Appendable out) throws IOException;
+
+	/**
+	 * Appends {@code str} escaped to {@code out}.
+	 *
+	 * @param str
+	 * @param out
+	 * @return {@code out}
+	 */
+	public StringBuilder escape(CharSequence str, StringBuilder out) {
+		try {
+			escape(str, (Appendable) out);
+		}
+		catch (IOException e) {
+			// a StringBuilder never throws it
+			throw new AssertionError(e);
+		}
+		return out;
+	}
+
+}
@@ -0,0 +1,66 @@
+package strings.escape;
+
+/**
+ * The escapers of some common syntaxes.
+ */
+public final class Escapers {
+
+	/**
+	 * Escapes the metacharacters of a {@link java.util.regex.Pattern}, so the text
+	 * matches itself literally.
+	 */
+	public static final CharEscaper REGEX_LITERAL = CharEscaper.builder()
+			.escapeAll("\\/()[]{}?^$.+*|", "\\")
+			.build();
+
+	/**
+	 * Escapes the characters with a special meaning inside a
+	 * {@link java.util.regex.Pattern} character class, plus the slash and the parentheses.
+	 */
+	public static final CharEscaper REGEX_CHARACTER_CLASS = CharEscaper.builder()
+			.escapeAll("\\/()[]^-&", "\\")
+			.build();
+
+	/**
+	 * Escapes the text of a Java string literal: quotes, backslashes and control characters.
+	 */
+	public static final CharEscaper JAVA_STRING = CharEscaper.builder()
+			.escapeAll("\"\\", "\\")
+			.escape('\b', "\\b")
+			.escape('\t', "\\t")
+			.escape('\n', "\\n")
+			.escape('\f', "\\f")
+			.escape('\r', "\\r")
+			.escapeAsUnicode('\u0000', '\u001F')
+			.escapeAsUnicode('\u007F', '\u007F')
+			.build();
+
+	/**
+	 * Escapes the text of a JSON string, as in RFC 8259.
+	 */
+	public static final CharEscaper JSON = CharEscaper.builder()
+			.escapeAll("\"\\", "\\")
+			.escape('\b', "\\b")
+			.escape('\t', "\\t")
+			.escape('\n', "\\n")
+			.escape('\f', "\\f")
+			.escape('\r', "\\r")
+			.escapeAsUnicode('\u0000', '\u001F')
+			.build();
+
+	/**
+	 * Escapes a CSV field, as in RFC 4180: a field containing commas, quotes or line
+	 * breaks is quoted and its quotes are doubled.
+	 */
+	public static final CharEscaper CSV = CharEscaper.builder()
+			.escape('"', "\"\"")
+			.escape(',', ",")
+			.escape('\n', "\n")
+			.escape('\r', "\r")
+			.quoteIfEscaped('"')
+			.build();
+
+	private Escapers() {
+	}
+
+}
@@ -0,0 +1,416 @@
+package strings.regexp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import strings.regexp.RegExpParser.AlternationNode;
+import strings.regexp.RegExpParser.AssertionNode;
+import strings.regexp.RegExpParser.CharSetNode;
+import strings.regexp.RegExpParser.ConcatNode;
+import strings.regexp.RegExpParser.Node;
+import strings.regexp.RegExpParser.RepeatNode;
+import strings.regexp.RegExpParser.UnsupportedSyntaxException;
+
+/**
+ * A regex matched by a finite automaton instead of the backtracking engine of
+ * {@link java.util.regex}, so that the time to match a text is always linear in its
+ * length, whatever the regex.
+ * <p>
+ * The regex is compiled into a nondeterministic automaton, whose deterministic
+ * states are built lazily while matching and cached. The supported syntax is the one
+ * produced by {@link RegExpBuilder}: literals, escapes, character classes, the dot,
+ * groups, alternations and greedy or reluctant quantifiers. Regexes using anything else,
+ * such as boundary matchers, lookarounds or backreferences, are matched by a
+ * {@link Pattern} instead: {@link #isAutomaton()} tells which engine is used.
+ * <p>
+ * Inputs rejected by the regex's {@link RegExpPrefilter} are never matched.
+ * Instances are immutable and can be shared between threads, which build their
+ * own cache of deterministic states.
+ */
+public final class AutomatonRegExp {
+
+	private static final int MAX_NFA_STATES = 20_000;
+	private static final int MAX_DFA_STATES = 2_000;
+
+	private static final int CHAR_SET = 0;
+	private static final int SPLIT = 1;
+	private static final int MATCH = 2;
+
+	private final Pattern pattern;
+	private final RegExpPrefilter prefilter;
+
+	// the nondeterministic automaton, null if the regex isn't supported
+	private final Nfa nfa;
+	private final ThreadLocal<Dfa> anchoredDfa;
+	private final ThreadLocal<Dfa> unanchoredDfa;
+
+	private AutomatonRegExp(Pattern pattern, Nfa nfa) {
+		this.pattern = pattern;
+		this.prefilter = RegExpPrefilter.of(pattern);
+		this.nfa = nfa;
+		this.anchoredDfa = nfa != null ? ThreadLocal.withInitial(() -> new Dfa(nfa, false)) : null;
+		this.unanchoredDfa = nfa != null ? ThreadLocal.withInitial(() -> new Dfa(nfa, true)) : null;
+	}
+
+	/**
+	 * @param regex
+	 * @return {@code regex} compiled
+	 * @throws PatternSyntaxException if the regex's syntax is invalid
+	 */
+	public static AutomatonRegExp compile(String regex) {
+		Pattern pattern = Pattern.compile(regex);
+		Nfa nfa;
+		try {
+			nfa = new Nfa(RegExpParser.parse(regex));
+		}
+		catch (UnsupportedSyntaxException e) {
+			nfa = null;
+		}
+		return new AutomatonRegExp(pattern, nfa);
+	}
+
+	public String regex() {
+		return pattern.pattern();
+	}
+
+	public Pattern pattern() {
+		return pattern;
+	}
+
+	public RegExpPrefilter prefilter() {
+		return prefilter;
+	}
+
+	/**
+	 * @return {@code true} if the regex is matched by an automaton,
+	 *         {@code false} if it's matched by {@link java.util.regex}
+	 */
+	public boolean isAutomaton() {
+		return nfa != null;
+	}
+
+	/**
+	 * @param input
+	 * @return {@code true} if the whole {@code input} matches the regex, {@code false} otherwise
+	 */
+	public boolean matches(CharSequence input) {
+		if (!prefilter.mayMatch(input))
+			return false;
+		if (nfa == null)
+			return pattern.matcher(input).matches();
+		return anchoredDfa.get().run(input);
+	}
+
+	/**
+	 * @param input
+	 * @return {@code true} if the regex matches a part of {@code input}, {@code false} otherwise
+	 */
+	public boolean find(CharSequence input) {
+		if (!prefilter.mayMatch(input))
+			return false;
+		if (nfa == null)
+			return pattern.matcher(input).find();
+		return unanchoredDfa.get().run(input);
+	}
+
+	@Override
+	public String toString() {
+		return regex();
+	}
+
+	/**
+	 * A Thompson automaton whose transitions are labelled with the classes of
+	 * equivalent code points, the code points no character set tells apart.
+	 */
+	private static final class Nfa {
+
+		// every state has a type, a character set or a first target, and a second target
+		private int[] types = new int[64];
+		private int[] arguments = new int[64];
+		private int[] targets = new int[64];
+		private int size;
+
+		private final List<CodePointSet> sets = new ArrayList<>();
+		private final int start;
+
+		// the first code point of every class, the index of a class in the boundaries
+		private final int[] classBoundaries;
+		private final int[] asciiClasses = new int[128];
+		// the classes matched by every character set
+		private final boolean[][] setClasses;
+
+		Nfa(Node root) {
+			int match = add(MATCH, 0, 0);
+			start = compile(root, match);
+
+			TreeSet<Integer> boundaries = new TreeSet<>();
+			boundaries.add(0);
+			for (CodePointSet set : sets)
+				for (int boundary : set.boundaries())
+					if (boundary <= Character.MAX_CODE_POINT)
+						boundaries.add(boundary);
+			classBoundaries = boundaries.stream().mapToInt(Integer::intValue).toArray();
+
+			for (int ch = 0; ch < asciiClasses.length; ch++)
+				asciiClasses[ch] = searchClass(ch);
+
+			setClasses = new boolean[sets.size()][classBoundaries.length];
+			for (int s = 0; s < sets.size(); s++)
+				for (int c = 0; c < classBoundaries.length; c++)
+					setClasses[s][c] = sets.get(s).contains(classBoundaries[c]);
+		}
+
+		private int add(int type, int argument, int target) {
+			if (size == MAX_NFA_STATES)
+				throw new UnsupportedSyntaxException("A regex this large");
+			if (size == types.length) {
+				types = Arrays.copyOf(types, size * 2);
+				arguments = Arrays.copyOf(arguments, size * 2);
+				targets = Arrays.copyOf(targets, size * 2);
+			}
+			types[size] = type;
+			arguments[size] = argument;
+			targets[size] = target;
+			return size++;
+		}
+
+		/**
+		 * Compiles {@code node} into states leading to {@code next}.
+		 *
+		 * @return the first state of {@code node}
+		 */
+		private int compile(Node node, int next) {
+			if (node instanceof AssertionNode)
+				throw new UnsupportedSyntaxException("Boundary matcher " + ((AssertionNode) node).assertion);
+			if (node instanceof CharSetNode) {
+				sets.add(((CharSetNode) node).set);
+				return add(CHAR_SET, sets.size() - 1, next);
+			}
+			if (node instanceof ConcatNode) {
+				List<Node> nodes = ((ConcatNode) node).nodes;
+				for (int i = nodes.size() - 1; i >= 0; i--)
+					next = compile(nodes.get(i), next);
+				return next;
+			}
+			if (node instanceof AlternationNode) {
+				List<Node> alternatives = ((AlternationNode) node).alternatives;
+				int first = compile(alternatives.get(alternatives.size() - 1), next);
+				for (int i = alternatives.size() - 2; i >= 0; i--)
+					first = add(SPLIT, compile(alternatives.get(i), next), first);
+				return first;
+			}
+
+			RepeatNode repeat = (RepeatNode) node;
+			int first;
+			if (repeat.max == RegExpParser.UNBOUNDED) {
+				int loop = add(SPLIT, 0, next);
+				// compile can grow the arrays, so it must run before they're accessed
+				int body = compile(repeat.node, loop);
+				arguments[loop] = body;
+				first = loop;
+			}
+			else {
+				// every optional occurrence can be followed by another one or by next
+				first = next;
+				for (int i = repeat.min; i < repeat.max; i++)
+					first = add(SPLIT, compile(repeat.node, first), next);
+			}
+			for (int i = 0; i < repeat.min; i++)
+				first = compile(repeat.node, first);
+			return first;
+		}
+
+		int classCount() {
+			return classBoundaries.length;
+		}
+
+		int classOf(int codePoint) {
+			return codePoint < asciiClasses.length ? asciiClasses[codePoint] : searchClass(codePoint);
+		}
+
+		private int searchClass(int codePoint) {
+			int index = Arrays.binarySearch(classBoundaries, codePoint);
+			return index >= 0 ? index : -index - 2;
+		}
+	}
+
+	/**
+	 * A deterministic automaton whose states, sets of states of the {@link Nfa}, are built
+	 * the first time they're reached. Its cache is cleared when it grows too big.
+	 */
+	private static final class Dfa {
+
+		private static final int UNKNOWN = -1;
+
+		private final Nfa nfa;
+		// if true the automaton finds the regex anywhere, restarting at every position
+		private final boolean unanchored;
+
+		private final Map<StateSet, Integer> index = new HashMap<>();
+		private final List<int[]> states = new ArrayList<>();
+		private boolean[] accepting = new boolean[16];
+		private int[] transitions = new int[0];
+
+		// work areas for the closures
+		private final int[] marks;
+		private int mark;
+		private final int[] stack;
+		private final int[] buffer;
+
+		private final int[] startClosure;
+		private int startState;
+
+		Dfa(Nfa nfa, boolean unanchored) {
+			this.nfa = nfa;
+			this.unanchored = unanchored;
+			marks = new int[nfa.size];
+			stack = new int[nfa.size * 2 + 1];
+			buffer = new int[nfa.size];
+
+			mark++;
+			int count = closure(nfa.start, buffer, 0);
+			startClosure = Arrays.copyOf(buffer, count);
+			reset();
+		}
+
+		private void reset() {
+			index.clear();
+			states.clear();
+			transitions = new int[0];
+			startState = state(startClosure.clone());
+		}
+
+		boolean run(CharSequence input) {
+			int state = startState;
+			if (unanchored && accepting[state])
+				return true;
+
+			for (int i = 0, length = input.length(); i < length; ) {
+				int codePoint = Character.codePointAt(input, i);
+				i += Character.charCount(codePoint);
+
+				int characterClass = nfa.classOf(codePoint);
+				int next = transitions[state * nfa.classCount() + characterClass];
+				if (next == UNKNOWN)
+					next = computeTransition(state, characterClass);
+				state = next;
+
+				if (unanchored) {
+					if (accepting[state])
+						return true;
+				}
+				else if (states.get(state).length == 0)
+					return false;
+			}
+			return accepting[state];
+		}
+
+		private int computeTransition(int state, int characterClass) {
+			int[] set = states.get(state);
+			mark++;
+			int count = 0;
+			for (int nfaState : set)
+				if (nfa.types[nfaState] == CHAR_SET && nfa.setClasses[nfa.arguments[nfaState]][characterClass])
+					count = closure(nfa.targets[nfaState], buffer, count);
+			if (unanchored)
+				for (int nfaState : startClosure)
+					count = closure(nfaState, buffer, count);
+
+			int[] targetSet = Arrays.copyOf(buffer, count);
+			Arrays.sort(targetSet);
+
+			if (states.size() >= MAX_DFA_STATES) {
+				reset();
+				return state(targetSet);
+			}
+			int target = state(targetSet);
+			transitions[state * nfa.classCount() + characterClass] = target;
+			return target;
+		}
+
+		/**
+		 * @return the index of the state made of the sorted {@code set}, added if it's new
+		 */
+		private int state(int[] set) {
+			StateSet key = new StateSet(set);
+			Integer existing = index.get(key);
+			if (existing != null)
+				return existing;
+
+			int state = states.size();
+			states.add(set);
+			index.put(key, state);
+
+			int classes = nfa.classCount();
+			if ((state + 1) * classes > transitions.length) {
+				int oldLength = transitions.length;
+				transitions = Arrays.copyOf(transitions, Math.max(oldLength * 2, 16 * classes));
+				Arrays.fill(transitions, oldLength, transitions.length, UNKNOWN);
+			}
+			if (state == accepting.length)
+				accepting = Arrays.copyOf(accepting, state * 2);
+
+			accepting[state] = false;
+			for (int nfaState : set)
+				if (nfa.types[nfaState] == MATCH)
+					accepting[state] = true;
+			return state;
+		}
+
+		/**
+		 * Adds to {@code out} the character set and match states reachable from {@code from}
+		 * without consuming any input, skipping the ones already marked.
+		 *
+		 * @return the new number of states in {@code out}
+		 */
+		private int closure(int from, int[] out, int count) {
+			int top = 0;
+			stack[top++] = from;
+			while (top > 0) {
+				int nfaState = stack[--top];
+				if (marks[nfaState] == mark)
+					continue;
+				marks[nfaState] = mark;
+
+				if (nfa.types[nfaState] == SPLIT) {
+					stack[top++] = nfa.targets[nfaState];
+					stack[top++] = nfa.arguments[nfaState];
+				}
+				else
+					out[count++] = nfaState;
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * A sorted set of states of the {@link Nfa}, used as the key of a deterministic state.
+	 */
+	private static final class StateSet {
+
+		private final int[] states;
+		private final int hash;
+
+		StateSet(int[] states) {
+			this.states = states;
+			this.hash = Arrays.hashCode(states);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof StateSet && Arrays.equals(states, ((StateSet) obj).states);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+}
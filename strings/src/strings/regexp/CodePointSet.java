@@ -0,0 +1,139 @@
+package strings.regexp;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of code points, stored as sorted and disjoint inclusive ranges.
+ */
+final class CodePointSet {
+
+	static final CodePointSet EMPTY = new CodePointSet(new int[0]);
+	static final CodePointSet ALL = range(0, Character.MAX_CODE_POINT);
+
+	// the bounds of the ranges: {first0, last0, first1, last1, ...}
+	private final int[] ranges;
+
+	private CodePointSet(int[] ranges) {
+		this.ranges = ranges;
+	}
+
+	static CodePointSet of(int codePoint) {
+		return range(codePoint, codePoint);
+	}
+
+	static CodePointSet range(int first, int last) {
+		return new CodePointSet(new int[] { first, last });
+	}
+
+	/**
+	 * @param codePoints
+	 * @return a set containing every code point of {@code codePoints}
+	 */
+	static CodePointSet of(String codePoints) {
+		return codePoints.codePoints()
+				.mapToObj(CodePointSet::of)
+				.reduce(EMPTY, CodePointSet::union);
+	}
+
+	CodePointSet union(CodePointSet other) {
+		int[] merged = new int[ranges.length + other.ranges.length];
+		int count = 0;
+		int i = 0, j = 0;
+		while (i < ranges.length || j < other.ranges.length) {
+			int first, last;
+			if (j == other.ranges.length || i < ranges.length && ranges[i] <= other.ranges[j]) {
+				first = ranges[i];
+				last = ranges[i + 1];
+				i += 2;
+			}
+			else {
+				first = other.ranges[j];
+				last = other.ranges[j + 1];
+				j += 2;
+			}
+
+			// ranges overlapping or adjacent to the previous one are merged with it
+			if (count > 0 && first <= merged[count - 1] + 1)
+				merged[count - 1] = Math.max(merged[count - 1], last);
+			else {
+				merged[count++] = first;
+				merged[count++] = last;
+			}
+		}
+		return new CodePointSet(Arrays.copyOf(merged, count));
+	}
+
+	CodePointSet complement() {
+		int[] complement = new int[ranges.length + 2];
+		int count = 0;
+		int next = 0;
+		for (int i = 0; i < ranges.length; i += 2) {
+			if (ranges[i] > next) {
+				complement[count++] = next;
+				complement[count++] = ranges[i] - 1;
+			}
+			next = ranges[i + 1] + 1;
+		}
+		if (next <= Character.MAX_CODE_POINT) {
+			complement[count++] = next;
+			complement[count++] = Character.MAX_CODE_POINT;
+		}
+		return new CodePointSet(Arrays.copyOf(complement, count));
+	}
+
+	boolean contains(int codePoint) {
+		int low = 0;
+		int high = ranges.length / 2 - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (ranges[2 * mid + 1] < codePoint)
+				low = mid + 1;
+			else if (ranges[2 * mid] > codePoint)
+				high = mid - 1;
+			else
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the only code point of the set, -1 if the set has none or more than one
+	 */
+	int singleCodePoint() {
+		return ranges.length == 2 && ranges[0] == ranges[1] ? ranges[0] : -1;
+	}
+
+	/**
+	 * @return the first code point of every range and the one following its last code point
+	 */
+	int[] boundaries() {
+		int[] boundaries = new int[ranges.length];
+		for (int i = 0; i < ranges.length; i += 2) {
+			boundaries[i] = ranges[i];
+			boundaries[i + 1] = ranges[i + 1] + 1;
+		}
+		return boundaries;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof CodePointSet && Arrays.equals(ranges, ((CodePointSet) obj).ranges);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(ranges);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < ranges.length; i += 2) {
+			builder.append(String.format("\\x{%X}", ranges[i]));
+			if (ranges[i + 1] != ranges[i])
+				builder.append(String.format("-\\x{%X}", ranges[i + 1]));
+		}
+		return builder.append(']').toString();
+	}
+
+}
@@ -0,0 +1,202 @@
+package strings.regexp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import strings.Strings;
+
+/**
+ * An immutable regex compiled once, usually built with {@link RegExpBuilder#compile()}.
+ * <p>
+ * Instances can be shared between threads: every thread reuses its own {@link Matcher},
+ * so no matcher is allocated per call. The matcher is reset after every call, so it
+ * doesn't keep a reference to the last searched text.
+ * <p>
+ * Inputs which can't match, because they're too short or lack a literal every match
+ * contains, are rejected by the regex's {@link RegExpPrefilter} before the regex runs.
+ */
+public final class CompiledRegExp {
+
+	private final Pattern pattern;
+	private final ThreadLocal<Matcher> matchers;
+	private final RegExpPrefilter prefilter;
+
+	CompiledRegExp(Pattern pattern) {
+		this.pattern = pattern;
+		this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+		this.prefilter = RegExpPrefilter.of(pattern);
+	}
+
+	/**
+	 * @param regex
+	 * @return {@code regex} compiled
+	 * @throws PatternSyntaxException if the regex's syntax is invalid
+	 */
+	public static CompiledRegExp compile(String regex) {
+		return new CompiledRegExp(Pattern.compile(regex));
+	}
+
+	/**
+	 * @param pattern
+	 * @return a compiled regex using {@code pattern}
+	 */
+	public static CompiledRegExp of(Pattern pattern) {
+		return new CompiledRegExp(Objects.requireNonNull(pattern));
+	}
+
+	public Pattern pattern() {
+		return pattern;
+	}
+
+	public String regex() {
+		return pattern.pattern();
+	}
+
+	public RegExpPrefilter prefilter() {
+		return prefilter;
+	}
+
+	private Matcher matcher(CharSequence input) {
+		return matchers.get().reset(input);
+	}
+
+	private static void release(Matcher matcher) {
+		matcher.reset("");
+	}
+
+	/**
+	 * @param input
+	 * @return {@code true} if the whole {@code input} matches the regex, {@code false} otherwise
+	 */
+	public boolean matches(CharSequence input) {
+		if (!prefilter.mayMatch(input))
+			return false;
+		Matcher matcher = matcher(input);
+		try {
+			return matcher.matches();
+		}
+		finally {
+			release(matcher);
+		}
+	}
+
+	/**
+	 * @param input
+	 * @return {@code true} if the regex matches a part of {@code input}, {@code false} otherwise
+	 */
+	public boolean find(CharSequence input) {
+		if (!prefilter.mayMatch(input))
+			return false;
+		Matcher matcher = matcher(input);
+		try {
+			return matcher.find();
+		}
+		finally {
+			release(matcher);
+		}
+	}
+
+	/**
+	 * @param input
+	 * @return an array of strings containing the matches of the regex found in {@code input}
+	 */
+	public String[] findAll(CharSequence input) {
+		if (!prefilter.mayMatch(input))
+			return new String[0];
+		Matcher matcher = matcher(input);
+		try {
+			List<String> results = new ArrayList<>();
+			while (matcher.find())
+				results.add(matcher.group());
+			return results.toArray(String[]::new);
+		}
+		finally {
+			release(matcher);
+		}
+	}
+
+	/**
+	 * Splits {@code input} around the matches of the regex, as {@link Pattern#split(CharSequence)}.
+	 *
+	 * @param input
+	 * @return the array of strings computed by splitting {@code input}
+	 */
+	public String[] split(CharSequence input) {
+		if (!prefilter.mayMatch(input))
+			return new String[] { input.toString() };
+		Matcher matcher = matcher(input);
+		try {
+			List<String> parts = new ArrayList<>();
+			int index = 0;
+			while (matcher.find()) {
+				// a zero-width match at the beginning never produces an empty leading substring
+				if (matcher.end() == 0)
+					continue;
+				parts.add(input.subSequence(index, matcher.start()).toString());
+				index = matcher.end();
+			}
+			if (index == 0)
+				return new String[] { input.toString() };
+
+			parts.add(input.subSequence(index, input.length()).toString());
+			int size = parts.size();
+			while (size > 0 && parts.get(size - 1).isEmpty())
+				size--;
+			return parts.subList(0, size).toArray(String[]::new);
+		}
+		finally {
+			release(matcher);
+		}
+	}
+
+	/**
+	 * The index in the returned array corresponds to the index that would be used in the method
+	 * {@code Matcher.group(index)}. This means that index 0 contains {@code input}.
+	 *
+	 * @param input
+	 * @return an array of strings containing the groups matched
+	 * @throws IllegalArgumentException if the regex doesn't match {@code input}
+	 */
+	public String[] groups(CharSequence input) {
+		Matcher matcher = matcher(input);
+		try {
+			if (!prefilter.mayMatch(input) || !matcher.matches())
+				throw new IllegalArgumentException(Strings.inQuotes(regex()) + " doesn't match "
+						+ Strings.inQuotes(input.toString()));
+
+			String[] groups = new String[matcher.groupCount() + 1];
+			groups[0] = input.toString();
+			for (int i = 1; i < groups.length; i++)
+				groups[i] = matcher.group(i);
+			return groups;
+		}
+		finally {
+			release(matcher);
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof CompiledRegExp))
+			return false;
+		CompiledRegExp other = (CompiledRegExp) obj;
+		return regex().equals(other.regex()) && pattern.flags() == other.pattern.flags();
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(regex(), pattern.flags());
+	}
+
+	@Override
+	public String toString() {
+		return regex();
+	}
+
+}
@@ -0,0 +1,642 @@
+package strings.regexp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import strings.escape.Escapers;
+
+/**
+ * A node of the expression tree kept by {@link RegExpBuilder}. The tree is rendered
+ * either as it was built, with {@link #toRegex()}, or after {@link #optimize()} has
+ * simplified it into an equivalent regex which is faster to match.
+ * <p>
+ * Two expressions are equal if they render the same regex.
+ */
+abstract class Expression {
+
+	static final Expression ANY = new Any();
+
+	/**
+	 * @param regex
+	 * @return an expression rendered as {@code regex}, untouched by the optimizations
+	 */
+	static Expression raw(String regex) {
+		return new Raw(regex);
+	}
+
+	/**
+	 * @param text
+	 * @return an expression matching {@code text} literally
+	 */
+	static Expression literal(String text) {
+		return new Literal(text);
+	}
+
+	/**
+	 * @param escape
+	 *        an escape sequence matching a single character, such as {@code \d}
+	 */
+	static Expression escape(String escape) {
+		return new Escape(escape);
+	}
+
+	/**
+	 * @param body
+	 *        the content of the character class, without the square brackets
+	 */
+	static Expression characterClass(String body) {
+		return new CharacterClass(body);
+	}
+
+	static Expression sequence(List<Expression> expressions) {
+		return new Sequence(List.copyOf(expressions));
+	}
+
+	static Expression alternation(List<Expression> alternatives) {
+		return new Alternation(List.copyOf(alternatives));
+	}
+
+	/**
+	 * Builds an alternation of literals shaped as a trie, which tries the alternatives
+	 * sharing a prefix after matching the prefix once. The literals are tried in the
+	 * same order as in an alternation listing them.
+	 *
+	 * @param literals
+	 * @return an expression matching any of {@code literals}
+	 */
+	static Expression trie(List<String> literals) {
+		return trie(new ArrayList<>(new LinkedHashSet<>(literals)), 0);
+	}
+
+	/**
+	 * @param literals
+	 *        distinct literals sharing their first {@code depth} characters
+	 */
+	private static Expression trie(List<String> literals, int depth) {
+		int ended = -1;
+		for (int i = 0; i < literals.size() && ended == -1; i++)
+			if (literals.get(i).length() == depth)
+				ended = i;
+		if (ended == -1)
+			return alternationOf(trieBranches(literals, depth));
+
+		// only literals having the ended one as a prefix can match together with it, so
+		// they're tried before or after ending here as in the alternation
+		List<Expression> before = trieBranches(literals.subList(0, ended), depth);
+		List<Expression> after = trieBranches(literals.subList(ended + 1, literals.size()), depth);
+		if (before.isEmpty() && after.isEmpty())
+			return new Sequence(List.of());
+		if (before.isEmpty())
+			return new Repeat(alternationOf(after), "??");
+		if (after.isEmpty())
+			return new Repeat(alternationOf(before), "?");
+
+		List<Expression> alternatives = new ArrayList<>(before);
+		alternatives.add(new Sequence(List.of()));
+		alternatives.addAll(after);
+		return new Alternation(alternatives);
+	}
+
+	private static List<Expression> trieBranches(List<String> literals, int depth) {
+		Map<Integer, List<String>> branches = new LinkedHashMap<>();
+		for (String literal : literals)
+			branches.computeIfAbsent(literal.codePointAt(depth), codePoint -> new ArrayList<>()).add(literal);
+
+		List<Expression> alternatives = new ArrayList<>();
+		for (Map.Entry<Integer, List<String>> branch : branches.entrySet()) {
+			List<String> branchLiterals = branch.getValue();
+			if (branchLiterals.size() == 1) {
+				alternatives.add(new Literal(branchLiterals.get(0).substring(depth)));
+				continue;
+			}
+			int codePoint = branch.getKey();
+			alternatives.add(new Sequence(List.of(
+					new Literal(new String(Character.toChars(codePoint))),
+					trie(branchLiterals, depth + Character.charCount(codePoint)))));
+		}
+		return alternatives;
+	}
+
+	private static Expression alternationOf(List<Expression> alternatives) {
+		return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+	}
+
+	/**
+	 * @return a capturing group explicitly requested by the user of the builder
+	 */
+	static Expression group(Expression expression) {
+		return new Group(expression, true);
+	}
+
+	/**
+	 * @return a capturing group the builder needs to apply a quantifier or delimit an
+	 *         alternation, which the optimizations drop or make non-capturing
+	 */
+	static Expression implicitGroup(Expression expression) {
+		return new Group(expression, false);
+	}
+
+	/**
+	 * @param quantifier
+	 *        the quantifier as written in a regex, such as {@code *} or {@code {2,3}}
+	 */
+	static Expression repeat(Expression expression, String quantifier) {
+		return new Repeat(expression, quantifier);
+	}
+
+	abstract void appendTo(StringBuilder regex);
+
+	/**
+	 * @return an equivalent expression, simpler to match
+	 */
+	Expression optimize() {
+		return this;
+	}
+
+	/**
+	 * @return {@code true} if a quantifier can follow the expression without a group
+	 */
+	boolean isAtomic() {
+		return true;
+	}
+
+	boolean isGroup() {
+		return false;
+	}
+
+	boolean hasCapturingGroup() {
+		return false;
+	}
+
+	/**
+	 * @return the expression as an item of a character class, or {@code null} if it
+	 *         can't be one
+	 */
+	String classItem() {
+		return null;
+	}
+
+	/**
+	 * @return {@code true} if the expression always matches exactly one character in a single way
+	 */
+	boolean isSingleCharacter() {
+		return classItem() != null;
+	}
+
+	/**
+	 * @return the consecutive parts of the expression, a character for every literal one
+	 */
+	List<Expression> atoms() {
+		return List.of(this);
+	}
+
+	String toRegex() {
+		StringBuilder regex = new StringBuilder();
+		appendTo(regex);
+		return regex.toString();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof Expression && toRegex().equals(((Expression) obj).toRegex());
+	}
+
+	@Override
+	public int hashCode() {
+		return toRegex().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return toRegex();
+	}
+
+	private static final class Raw extends Expression {
+
+		private final String regex;
+
+		Raw(String regex) {
+			this.regex = regex;
+		}
+
+		@Override
+		void appendTo(StringBuilder regex) {
+			regex.append(this.regex);
+		}
+
+		/**
+		 * The regex is known to be a single atom if it is a character which isn't a
+		 * metacharacter, an escaped character or a character class without nested
+		 * brackets. Otherwise a quantifier could apply only to its end.
+		 */
+		@Override
+		boolean isAtomic() {
+			if (regex.codePointCount(0, regex.length()) == 1)
+				return "\\[](){}|^$*+?.".indexOf(regex.charAt(0)) == -1;
+			if (regex.length() == 2 && regex.charAt(0) == '\\')
+				// the other escapes of a letter are boundaries or start longer constructs
+				return !Character.isLetterOrDigit(regex.charAt(1)) || "dDsSwWhHvVtnrfaeR".indexOf(regex.charAt(1)) != -1;
+			return regex.length() > 2 && regex.charAt(0) == '[' && regex.indexOf(']', 1) == regex.length() - 1
+					&& regex.indexOf('[', 1) == -1 && regex.indexOf('\\') == -1;
+		}
+
+		@Override
+		boolean hasCapturingGroup() {
+			return regex.indexOf('(') != -1;
+		}
+	}
+
+	private static final class Any extends Expression {
+
+		@Override
+		void appendTo(StringBuilder regex) {
+			regex.append('.');
+		}
+
+		@Override
+		boolean isSingleCharacter() {
+			return true;
+		}
+	}
+
+	private static final class Literal extends Expression {
+
+		private final String text;
+
+		Literal(String text) {
+			this.text = text;
+		}
+
+		@Override
+		void appendTo(StringBuilder regex) {
+			Escapers.REGEX_LITERAL.escape(text, regex);
+		}
+
+		@Override
+		boolean isAtomic() {
+			return text.codePointCount(0, text.length()) == 1;
+		}
+
+		@Override
+		String classItem() {
+			if (!isAtomic())
+				return null;
+			return "[]^-&/\\".contains(text) ? "\\" + text : text;
+		}
+
+		@Override
+		List<Expression> atoms() {
+			List<Expression> atoms = new ArrayList<>();
+			text.codePoints().forEach(codePoint -> atoms.add(new Literal(new String(Character.toChars(codePoint)))));
+			return atoms;
+		}
+	}
+
+	private static final class Escape extends Expression {
+
+		private final String escape;
+
+		Escape(String escape) {
+			this.escape = escape;
+		}
+
+		@Override
+		void appendTo(StringBuilder regex) {
+			regex.append(escape);
+		}
+
+		@Override
+		String classItem() {
+			return escape;
+		}
+	}
+
+	private static final class CharacterClass extends Expression {
+
+		private final String body;
+
+		CharacterClass(String body) {
+			this.body = body;
+		}
+
+		@Override
+		void appendTo(StringBuilder regex) {
+			regex.append('[').append(body).append(']');
+		}
+
+		@Override
+		String classItem() {
+			// a negated class or an intersection can't be merged with other items
+			return body.startsWith("^") || body.contains("&&") ? null : body;
+		}
+
+		@Override
+		boolean isSingleCharacter() {
+			return true;
+		}
+	}
+
+	private static final class Sequence extends Expression {
+
+		private final List<Expression> expressions;
+
+		Sequence(List<Expression> expressions) {
+			this.expressions = expressions;
+		}
+
+		@Override
+		void appendTo(StringBuilder regex) {
+			for (Expression expression : expressions) {
+				if (expressions.size() > 1 && expression instanceof Alternation) {
+					regex.append("(?:");
+					expression.appendTo(regex);
+					regex.append(')');
+				}
+				else
+					expression.appendTo(regex);
+			}
+		}
+
+		@Override
+		Expression optimize() {
+			List<Expression> optimized = new ArrayList<>();
+			StringBuilder text = new StringBuilder();
+			for (Expression expression : expressions)
+				for (Expression item : flatten(expression.optimize())) {
+					// adjacent literals are joined so that they can be factored together
+					if (item instanceof Literal) {
+						text.append(((Literal) item).text);
+						continue;
+					}
+					if (text.length() > 0) {
+						optimized.add(new Literal(text.toString()));
+						text.setLength(0);
+					}
+					optimized.add(item);
+				}
+			if (text.length() > 0)
+				optimized.add(new Literal(text.toString()));
+
+			return optimized.size() == 1 ? optimized.get(0) : new Sequence(optimized);
+		}
+
+		private static List<Expression> flatten(Expression expression) {
+			return expression instanceof Sequence ? ((Sequence) expression).expressions : List.of(expression);
+		}
+
+		@Override
+		boolean isAtomic() {
+			return expressions.size() == 1 && expressions.get(0).isAtomic();
+		}
+
+		@Override
+		boolean hasCapturingGroup() {
+			return expressions.stream().anyMatch(Expression::hasCapturingGroup);
+		}
+
+		@Override
+		String classItem() {
+			return expressions.size() == 1 ? expressions.get(0).classItem() : null;
+		}
+
+		@Override
+		boolean isSingleCharacter() {
+			return expressions.size() == 1 && expressions.get(0).isSingleCharacter();
+		}
+
+		@Override
+		List<Expression> atoms() {
+			List<Expression> atoms = new ArrayList<>();
+			for (Expression expression : expressions)
+				atoms.addAll(expression.atoms());
+			return atoms;
+		}
+	}
+
+	private static final class Alternation extends Expression {
+
+		private final List<Expression> alternatives;
+
+		Alternation(List<Expression> alternatives) {
+			this.alternatives = alternatives;
+		}
+
+		@Override
+		void appendTo(StringBuilder regex) {
+			for (int i = 0; i < alternatives.size(); i++) {
+				if (i > 0)
+					regex.append('|');
+				alternatives.get(i).appendTo(regex);
+			}
+		}
+
+		@Override
+		boolean isAtomic() {
+			return false;
+		}
+
+		@Override
+		boolean hasCapturingGroup() {
+			return alternatives.stream().anyMatch(Expression::hasCapturingGroup);
+		}
+
+		/**
+		 * Factors the prefixes shared by consecutive alternatives and merges consecutive
+		 * single characters into a character class. Only consecutive alternatives are
+		 * rewritten, so the alternatives are still tried in the same order.
+		 */
+		@Override
+		Expression optimize() {
+			List<Expression> flattened = new ArrayList<>();
+			for (Expression alternative : alternatives) {
+				Expression optimized = alternative.optimize();
+				if (optimized instanceof Alternation)
+					flattened.addAll(((Alternation) optimized).alternatives);
+				else
+					flattened.add(optimized);
+			}
+
+			List<Expression> factored = factorPrefixes(flattened);
+			List<Expression> merged = mergeCharacters(factored);
+			if (merged.size() == 1)
+				return merged.get(0);
+
+			// an optional alternative becomes a quantifier preferring the same alternative
+			if (merged.size() == 2 && isEmpty(merged.get(1)))
+				return new Repeat(merged.get(0), "?").optimize();
+			if (merged.size() == 2 && isEmpty(merged.get(0)))
+				return new Repeat(merged.get(1), "??").optimize();
+			return new Alternation(merged);
+		}
+
+		private static boolean isEmpty(Expression expression) {
+			return expression instanceof Sequence && ((Sequence) expression).expressions.isEmpty();
+		}
+
+		/**
+		 * @return the first of {@code atoms} if it can be factored, {@code null} otherwise
+		 */
+		private static Expression factorableHead(List<Expression> atoms) {
+			if (atoms.isEmpty())
+				return null;
+			Expression head = atoms.get(0);
+			// an atom matching in more than one way would change the order the matches are tried in
+			return head.isSingleCharacter() && !head.hasCapturingGroup() ? head : null;
+		}
+
+		private static List<Expression> factorPrefixes(List<Expression> alternatives) {
+			List<Expression> factored = new ArrayList<>();
+			int i = 0;
+			while (i < alternatives.size()) {
+				List<Expression> atoms = alternatives.get(i).atoms();
+				Expression head = factorableHead(atoms);
+
+				List<List<Expression>> run = new ArrayList<>();
+				run.add(atoms);
+				int j = i + 1;
+				while (head != null && j < alternatives.size()) {
+					List<Expression> next = alternatives.get(j).atoms();
+					if (!head.equals(factorableHead(next)))
+						break;
+					run.add(next);
+					j++;
+				}
+				if (run.size() == 1) {
+					factored.add(alternatives.get(i));
+					i++;
+					continue;
+				}
+
+				int prefixLength = 1;
+				while (isSharedPrefix(run, prefixLength))
+					prefixLength++;
+
+				List<Expression> remainders = new ArrayList<>();
+				for (List<Expression> alternative : run)
+					remainders.add(new Sequence(alternative.subList(prefixLength, alternative.size())));
+				List<Expression> parts = new ArrayList<>(run.get(0).subList(0, prefixLength));
+				parts.add(new Alternation(remainders).optimize());
+				factored.add(new Sequence(parts).optimize());
+				i = j;
+			}
+			return factored;
+		}
+
+		private static boolean isSharedPrefix(List<List<Expression>> run, int length) {
+			List<Expression> first = run.get(0);
+			if (first.size() < length + 1)
+				return false;
+			Expression atom = first.get(length);
+			if (!atom.isSingleCharacter() || atom.hasCapturingGroup())
+				return false;
+			for (List<Expression> alternative : run)
+				if (alternative.size() < length + 1 || !alternative.get(length).equals(atom))
+					return false;
+			return true;
+		}
+
+		private static List<Expression> mergeCharacters(List<Expression> alternatives) {
+			List<Expression> merged = new ArrayList<>();
+			List<Expression> characters = new ArrayList<>();
+			for (Expression alternative : alternatives) {
+				if (alternative.classItem() != null) {
+					characters.add(alternative);
+					continue;
+				}
+				addCharacters(characters, merged);
+				merged.add(alternative);
+			}
+			addCharacters(characters, merged);
+			return merged;
+		}
+
+		private static void addCharacters(List<Expression> characters, List<Expression> merged) {
+			if (characters.size() == 1)
+				merged.add(characters.get(0));
+			else if (characters.size() > 1) {
+				StringBuilder body = new StringBuilder();
+				for (Expression character : characters)
+					body.append(character.classItem());
+				merged.add(new CharacterClass(body.toString()));
+			}
+			characters.clear();
+		}
+	}
+
+	private static final class Group extends Expression {
+
+		private final Expression expression;
+		private final boolean explicit;
+
+		Group(Expression expression, boolean explicit) {
+			this.expression = expression;
+			this.explicit = explicit;
+		}
+
+		@Override
+		void appendTo(StringBuilder regex) {
+			regex.append('(');
+			expression.appendTo(regex);
+			regex.append(')');
+		}
+
+		@Override
+		Expression optimize() {
+			return explicit ? new Group(expression.optimize(), true) : expression.optimize();
+		}
+
+		@Override
+		boolean isGroup() {
+			return true;
+		}
+
+		@Override
+		boolean hasCapturingGroup() {
+			return true;
+		}
+	}
+
+	private static final class Repeat extends Expression {
+
+		private final Expression expression;
+		private final String quantifier;
+
+		Repeat(Expression expression, String quantifier) {
+			this.expression = expression;
+			this.quantifier = quantifier;
+		}
+
+		@Override
+		void appendTo(StringBuilder regex) {
+			if (expression.isAtomic())
+				expression.appendTo(regex);
+			else {
+				regex.append("(?:");
+				expression.appendTo(regex);
+				regex.append(')');
+			}
+			regex.append(quantifier);
+		}
+
+		@Override
+		Expression optimize() {
+			Expression optimized = expression.optimize();
+			return quantifier.equals("{1}") ? optimized : new Repeat(optimized, quantifier);
+		}
+
+		@Override
+		boolean isAtomic() {
+			// another quantifier would make this one reluctant or possessive
+			return false;
+		}
+
+		@Override
+		boolean hasCapturingGroup() {
+			return expression.hasCapturingGroup();
+		}
+	}
+
+}
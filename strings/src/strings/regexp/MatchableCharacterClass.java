@@ -3,34 +3,34 @@ package strings.regexp;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 
+import strings.escape.Escapers;
 import strings.regexp.escapechars.RegExpEscapeCharacter;
 
 public final class MatchableCharacterClass extends MatchableObject {
 
 	MatchableCharacterClass(String chars, RegExpBuilder builder) {
-		super("[" + escapeForCharacterClass(chars) + "]", builder);
+		super(Expression.characterClass(escapeForCharacterClass(chars)), builder);
 	}
 	
 	MatchableCharacterClass(RegExpBuilder builder, RegExpEscapeCharacter... escapeChars) {
-		this(
-			Arrays.stream(escapeChars)
+		super(
+			Expression.characterClass(Arrays.stream(escapeChars)
 				.map(RegExpEscapeCharacter::toString)
-				.collect(Collectors.joining()),
+				.collect(Collectors.joining())),
 			builder
 		);
 	}
 	
 	MatchableCharacterClass(String chars, CharacterClassRange range, RegExpBuilder builder) {
-		super("[" + escapeForCharacterClass(chars) + range.getString() + "]", builder);	
+		super(Expression.characterClass(escapeForCharacterClass(chars) + range.getString()), builder);
 	}
 	
 	MatchableCharacterClass(CharacterClassRange range, RegExpBuilder builder) {
-		super("[" + range.getString() + "]", builder);	
+		super(Expression.characterClass(range.getString()), builder);
 	}
 	
-	// solo parentesi tonde, quadre, slash e -
 	private static String escapeForCharacterClass(String str) {
-		return str.replaceAll("([\\/\\(\\)\\[\\]-])", "\\\\$1");
+		return Escapers.REGEX_CHARACTER_CLASS.escape(str);
 	}
 
 }
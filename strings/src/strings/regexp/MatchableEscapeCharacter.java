@@ -5,7 +5,7 @@ import strings.regexp.escapechars.RegExpEscapeCharacter;
 public final class MatchableEscapeCharacter extends MatchableObject {
 
 	MatchableEscapeCharacter(RegExpEscapeCharacter escapeChar, RegExpBuilder builder) {
-		super(escapeChar.toString(), builder);
+		super(Expression.escape(escapeChar.toString()), builder);
 	}
 
 }
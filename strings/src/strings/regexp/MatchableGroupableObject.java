@@ -2,17 +2,21 @@ package strings.regexp;
 
 public abstract class MatchableGroupableObject extends MatchableObject {
 	
-	private final int originalLength;
+	private final boolean singleCharacter;
 
 	public MatchableGroupableObject(String str, RegExpBuilder builder) {
-		super(str, builder);
-		originalLength = str.length();
+		this(Expression.raw(str), str.length() == 1, builder);
+	}
+	
+	MatchableGroupableObject(Expression expression, boolean singleCharacter, RegExpBuilder builder) {
+		super(expression, builder);
+		this.singleCharacter = singleCharacter;
 	}
 
 	@Override
-	protected RegExpBuilder appendString() {
-		return getRegExpBuilder()
-			.append(originalLength == 1 ? getString() : group().getString());
+	Expression quantifiedExpression() {
+		Expression expression = getExpression();
+		return singleCharacter || expression.isGroup() ? expression : Expression.implicitGroup(expression);
 	}
 
-}
\ No newline at end of file
+}
@@ -1,48 +1,92 @@
 package strings.regexp;
 
-import strings.Strings;
-
 public abstract class MatchableObject {
 	
-	private String str;
+	private Expression expression;
 	private final RegExpBuilder builder;
 
+	/**
+	 * @param str
+	 *        a regex, which is matched as it is
+	 * @param builder
+	 */
 	public MatchableObject(String str, RegExpBuilder builder) {
-		this.str = str;
+		this(Expression.raw(str), builder);
+	}
+	
+	MatchableObject(Expression expression, RegExpBuilder builder) {
+		this.expression = expression;
 		this.builder = builder;
 	}
 	
 	public MatchableObject group() {
-		str = Strings.prepend(str, "(");
-		str = Strings.append(str, ")");
+		expression = Expression.group(expression);
 		return this;
 	}
 	
+	Expression getExpression() {
+		return expression;
+	}
+	
+	/**
+	 * @param str
+	 *        a regex replacing the one matched, which is matched as it is
+	 * @deprecated the object keeps an expression instead of a regex string, which
+	 *             {@code str} replaces as a whole
+	 */
+	@Deprecated
 	protected void setString(String str) {
-		this.str = str;
+		expression = Expression.raw(str);
 	}
 	
+	/**
+	 * @return the regex matched
+	 * @deprecated the object keeps an expression instead of a regex string, which is
+	 *             rendered at every call
+	 */
+	@Deprecated
 	protected String getString() {
-		return str;
+		return expression.toRegex();
 	}
 	
+	/**
+	 * @deprecated the quantifiers are applied by the methods of this class
+	 */
+	@Deprecated
 	protected RegExpBuilder getRegExpBuilder() {
 		return builder;
 	}
 	
+	/**
+	 * Appends the matched regex to the builder, without a quantifier.
+	 *
+	 * @return the builder
+	 * @deprecated use {@link #once()}, the quantifiers no longer call this method
+	 */
+	@Deprecated
 	protected RegExpBuilder appendString() {
-		return builder.append(str);
+		return once();
+	}
+	
+	/**
+	 * @return the expression a quantifier is applied to
+	 */
+	Expression quantifiedExpression() {
+		return expression;
+	}
+	
+	private RegExpBuilder appendQuantified(String quantifier) {
+		return builder.append(Expression.repeat(quantifiedExpression(), quantifier));
 	}
 	
 	public RegExpBuilder once() {
-		return builder.append(str);
+		return builder.append(expression);
 	}
 	
 	public RegExpBuilder times(int times) {
 		checkPositive(times);
 		
-		appendString();
-		return builder.append("{" + times + "}");
+		return appendQuantified("{" + times + "}");
 	}
 	
 	public RegExpBuilder times(int from, int to) {
@@ -50,30 +94,25 @@ public abstract class MatchableObject {
 		if (to < from)
 			throw new IllegalArgumentException("to must be bigger than from");
 		
-		appendString();
-		return builder.append("{" + from + "," + to + "}");
+		return appendQuantified("{" + from + "," + to + "}");
 	}
 	
 	public RegExpBuilder atLeastTimes(int from) {
 		checkPositive(from);
 		
-		appendString();
-		return builder.append("{" + from + ",}");
+		return appendQuantified("{" + from + ",}");
 	}
 	
 	public RegExpBuilder zeroOrOneTimes() {
-		appendString();
-		return builder.append("?");
+		return appendQuantified("?");
 	}
 	
 	public RegExpBuilder zeroOrMoreTimes() {
-		appendString();
-		return builder.append("*");
+		return appendQuantified("*");
 	}
 	
 	public RegExpBuilder oneOrMoreTimes() {
-		appendString();
-		return builder.append("+");
+		return appendQuantified("+");
 	}
 	
 	private void checkPositive(int n) {
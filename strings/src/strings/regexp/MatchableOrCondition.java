@@ -1,24 +1,34 @@
 package strings.regexp;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public final class MatchableOrCondition extends MatchableObject {
+	
+	// above this number of strings the alternation is shaped as a trie
+	static final int TRIE_THRESHOLD = 64;
 
 	MatchableOrCondition(RegExpBuilder builder, String... strings) {
-		super(createOrCondition((Object[]) strings), builder);
+		super(strings.length > TRIE_THRESHOLD
+				? Expression.implicitGroup(Expression.trie(Arrays.asList(strings)))
+				: createOrCondition(
+					Arrays.stream(strings)
+						.map(Expression::literal)
+						.collect(Collectors.toList())
+				), builder);
 	}
 	
 	MatchableOrCondition(RegExpBuilder builder, RegExpBuilder... builders) {
-		super(createOrCondition((Object[]) builders), builder);
+		super(createOrCondition(
+				Arrays.stream(builders)
+					.map(RegExpBuilder::expression)
+					.collect(Collectors.toList())
+			), builder);
 	}
 	
-	private static String createOrCondition(Object... objects) {
-		return "(" 
-			+ Arrays.stream(objects)
-				.map(Object::toString)
-				.collect(Collectors.joining("|"))
-			+ ")";
+	private static Expression createOrCondition(List<Expression> alternatives) {
+		return Expression.implicitGroup(Expression.alternation(alternatives));
 	}
 
 }
@@ -3,7 +3,7 @@ package strings.regexp;
 public final class MatchableRegExpBuilder extends MatchableGroupableObject {
 
 	MatchableRegExpBuilder(RegExpBuilder subBuilder, RegExpBuilder builder) {
-		super(subBuilder.build(), builder);
+		super(subBuilder.expression(), subBuilder.build().length() == 1, builder);
 	}
 
 }
@@ -1,6 +1,12 @@
 package strings.regexp;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import generalutils.ConsoleWarning;
@@ -16,24 +22,25 @@ import strings.regexp.escapechars.RegExpEscapeCharacter;
 
 public final class RegExpBuilder {
 	
-	private StringBuilder regexp;
-	private boolean openedGroup = false;
+	// the expressions of the groups still open, the outermost one at the bottom
+	private final Deque<List<Expression>> levels = new ArrayDeque<>();
 
 	public RegExpBuilder() {
-		regexp = new StringBuilder();
+		levels.push(new ArrayList<>());
 	}
 	
 	public RegExpBuilder(RegExpBuilder start) {
-		regexp = new StringBuilder(start.build());
+		this();
+		append(start.expression());
 	}
 	
-	RegExpBuilder append(String str) {
-		regexp.append(str);
+	RegExpBuilder append(Expression expression) {
+		levels.peek().add(expression);
 		return this;
 	}
 	
 	public MatchableGroupableObject matchAny() {
-		return new MatchableGroupableObject(".", this) {
+		return new MatchableGroupableObject(Expression.ANY, true, this) {
 		};
 	}
 	
@@ -82,25 +89,103 @@ public final class RegExpBuilder {
 	}
 	
 	public RegExpBuilder startGroup() {
-		openedGroup = true;
-		return append("(");
+		levels.push(new ArrayList<>());
+		return this;
 	}
 	
 	public RegExpBuilder endGroup() {
-		if (!openedGroup) {
+		if (levels.size() == 1) {
 			new ConsoleWarning("endGroup() was called before calling startGroup()");
 			return this;
 		}
-		
-		openedGroup = false;
-		return append(")");
+		Expression group = Expression.group(Expression.sequence(levels.pop()));
+		return append(group);
+	}
+	
+	/**
+	 * @return the expression built so far
+	 * @throws PatternSyntaxException if one or more groups were opened but never closed
+	 */
+	Expression expression() {
+		if (levels.size() > 1) {
+			StringBuilder built = new StringBuilder();
+			Iterator<List<Expression>> iterator = levels.descendingIterator();
+			Expression.sequence(iterator.next()).appendTo(built);
+			while (iterator.hasNext())
+				Expression.sequence(iterator.next()).appendTo(built.append('('));
+			throw new PatternSyntaxException("One or more groups were opened but never closed", built.toString(), -1);
+		}
+		return Expression.sequence(levels.peek());
 	}
 	
 	public String build() {
-		String built = regexp.toString();
-		if (openedGroup)
-			throw new PatternSyntaxException("One or more groups were opened but never closed", built, -1);
-		return built;
+		return expression().toRegex();
+	}
+	
+	/**
+	 * Builds an equivalent regex which is faster to match: the prefixes shared by
+	 * alternatives are factored, alternatives of single characters become character
+	 * classes and the groups added by the builder are dropped or made non-capturing.
+	 * <blockquote>For example,<pre>
+	 * {@code new RegExpBuilder().matchAnyOf("cat", "car", "c").oneOrMoreTimes()
+	 * build()          => "(cat|car|c)+"
+	 * buildOptimized() => "(?:c(?:a[tr])?)+"
+	 * }</pre></blockquote>
+	 * Only the groups opened with {@link #startGroup()} or {@link MatchableObject#group()}
+	 * capture, so they're numbered differently than in {@link #build()}.
+	 * 
+	 * @return the optimized regex
+	 * @throws PatternSyntaxException if one or more groups were opened but never closed
+	 */
+	public String buildOptimized() {
+		return expression().optimize().toRegex();
+	}
+	
+	/**
+	 * Builds the regex and compiles it once: unlike this builder, the result is
+	 * immutable and can be shared between threads.
+	 * 
+	 * @return the compiled regex
+	 * @throws PatternSyntaxException if one or more groups were opened but never closed,
+	 *         or the regex's syntax is invalid
+	 */
+	public CompiledRegExp compile() {
+		return compile(0);
+	}
+	
+	/**
+	 * @param flags
+	 *        the match flags, as in {@link Pattern#compile(String, int)}
+	 * @return the compiled regex
+	 * @throws PatternSyntaxException if one or more groups were opened but never closed,
+	 *         or the regex's syntax is invalid
+	 * @see #compile()
+	 */
+	public CompiledRegExp compile(int flags) {
+		return new CompiledRegExp(Pattern.compile(build(), flags));
+	}
+	
+	/**
+	 * Builds the regex and compiles it into a finite automaton, which matches any text in
+	 * linear time however the quantifiers are nested.
+	 *
+	 * @return the compiled regex
+	 * @throws PatternSyntaxException if one or more groups were opened but never closed,
+	 *         or the regex's syntax is invalid
+	 * @see AutomatonRegExp
+	 */
+	public AutomatonRegExp compileAutomaton() {
+		return AutomatonRegExp.compile(buildOptimized());
+	}
+
+	/**
+	 * @return the literals every match of the regex contains and the minimum length of the matches
+	 * @throws PatternSyntaxException if one or more groups were opened but never closed,
+	 *         or the regex's syntax is invalid
+	 * @see RegExpPrefilter
+	 */
+	public RegExpPrefilter prefilter() {
+		return RegExpPrefilter.of(build());
 	}
 	
 	@Override
@@ -0,0 +1,297 @@
+package strings.regexp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the subset of the {@link java.util.regex.Pattern} syntax produced by
+ * {@link RegExpBuilder} into a tree of {@link Node}s: literals, escapes, character
+ * classes, the dot, groups, alternations, quantifiers and boundary matchers. The regex must be valid,
+ * since the parser doesn't report syntax errors.
+ */
+final class RegExpParser {
+
+	/**
+	 * Thrown when the regex uses a construct outside the supported subset.
+	 */
+	static final class UnsupportedSyntaxException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		UnsupportedSyntaxException(String construct) {
+			super(construct + " is not supported");
+		}
+	}
+
+	static final int UNBOUNDED = -1;
+
+	private static final CodePointSet DIGITS = CodePointSet.range('0', '9');
+	private static final CodePointSet WORD_CHARS = CodePointSet.range('a', 'z')
+			.union(CodePointSet.range('A', 'Z'))
+			.union(CodePointSet.of('_'))
+			.union(DIGITS);
+	private static final CodePointSet WHITESPACE = CodePointSet.of(" \t\n\u000B\f\r");
+	private static final CodePointSet VERTICAL_WHITESPACE = CodePointSet.of("\n\u000B\f\r\u0085\u2028\u2029");
+	private static final CodePointSet LINE_TERMINATORS = CodePointSet.of("\n\r\u0085\u2028\u2029");
+
+	abstract static class Node {
+	}
+
+	/**
+	 * A zero-width assertion, such as a boundary matcher.
+	 */
+	static final class AssertionNode extends Node {
+		final String assertion;
+
+		AssertionNode(String assertion) {
+			this.assertion = assertion;
+		}
+	}
+
+	static final class CharSetNode extends Node {
+		final CodePointSet set;
+
+		CharSetNode(CodePointSet set) {
+			this.set = set;
+		}
+	}
+
+	static final class ConcatNode extends Node {
+		final List<Node> nodes;
+
+		ConcatNode(List<Node> nodes) {
+			this.nodes = nodes;
+		}
+	}
+
+	static final class AlternationNode extends Node {
+		final List<Node> alternatives;
+
+		AlternationNode(List<Node> alternatives) {
+			this.alternatives = alternatives;
+		}
+	}
+
+	static final class RepeatNode extends Node {
+		final Node node;
+		final int min;
+		final int max;
+
+		RepeatNode(Node node, int min, int max) {
+			this.node = node;
+			this.min = min;
+			this.max = max;
+		}
+	}
+
+	private final String regex;
+	private int position;
+
+	private RegExpParser(String regex) {
+		this.regex = regex;
+	}
+
+	/**
+	 * @param regex
+	 * @return the tree of {@code regex}
+	 * @throws UnsupportedSyntaxException if {@code regex} uses an unsupported construct
+	 */
+	static Node parse(String regex) {
+		RegExpParser parser = new RegExpParser(regex);
+		Node node = parser.alternation();
+		if (parser.position < regex.length())
+			throw new UnsupportedSyntaxException("Unbalanced ')'");
+		return node;
+	}
+
+	private boolean hasNext() {
+		return position < regex.length();
+	}
+
+	private int peek() {
+		return regex.codePointAt(position);
+	}
+
+	private int next() {
+		int codePoint = regex.codePointAt(position);
+		position += Character.charCount(codePoint);
+		return codePoint;
+	}
+
+	private boolean consume(char ch) {
+		if (hasNext() && regex.charAt(position) == ch) {
+			position++;
+			return true;
+		}
+		return false;
+	}
+
+	private Node alternation() {
+		List<Node> alternatives = new ArrayList<>();
+		alternatives.add(concatenation());
+		while (consume('|'))
+			alternatives.add(concatenation());
+		return alternatives.size() == 1 ? alternatives.get(0) : new AlternationNode(alternatives);
+	}
+
+	private Node concatenation() {
+		List<Node> nodes = new ArrayList<>();
+		while (hasNext() && peek() != '|' && peek() != ')')
+			nodes.add(quantified(atom()));
+		return nodes.size() == 1 ? nodes.get(0) : new ConcatNode(nodes);
+	}
+
+	private Node quantified(Node node) {
+		while (hasNext()) {
+			int min, max;
+			if (consume('?')) {
+				min = 0;
+				max = 1;
+			}
+			else if (consume('*')) {
+				min = 0;
+				max = UNBOUNDED;
+			}
+			else if (consume('+')) {
+				min = 1;
+				max = UNBOUNDED;
+			}
+			else if (consume('{')) {
+				min = number();
+				max = min;
+				if (consume(','))
+					max = hasNext() && peek() == '}' ? UNBOUNDED : number();
+				consume('}');
+			}
+			else
+				return node;
+
+			// a reluctant quantifier matches the same strings, a possessive one doesn't
+			if (consume('+'))
+				throw new UnsupportedSyntaxException("Possessive quantifier");
+			consume('?');
+			node = new RepeatNode(node, min, max);
+		}
+		return node;
+	}
+
+	private int number() {
+		int start = position;
+		while (hasNext() && Character.isDigit(regex.charAt(position)))
+			position++;
+		try {
+			return Integer.parseInt(regex.substring(start, position));
+		}
+		catch (NumberFormatException e) {
+			throw new UnsupportedSyntaxException("Quantifier " + regex.substring(start, position));
+		}
+	}
+
+	private Node atom() {
+		int codePoint = next();
+		switch (codePoint) {
+		case '(':
+			if (consume('?')) {
+				if (!consume(':'))
+					throw new UnsupportedSyntaxException("Special group");
+			}
+			Node group = alternation();
+			consume(')');
+			return group;
+		case '[':
+			return new CharSetNode(characterClass());
+		case '.':
+			return new CharSetNode(LINE_TERMINATORS.complement());
+		case '\\':
+			if (hasNext() && "bBAGzZ".indexOf(peek()) != -1)
+				return new AssertionNode("\\" + (char) next());
+			return new CharSetNode(escape());
+		case '^':
+		case '$':
+			return new AssertionNode(String.valueOf((char) codePoint));
+		default:
+			return new CharSetNode(CodePointSet.of(codePoint));
+		}
+	}
+
+	private CodePointSet characterClass() {
+		boolean negated = consume('^');
+		if (hasNext() && peek() == ']')
+			throw new UnsupportedSyntaxException("Leading ']' in a character class");
+
+		CodePointSet set = CodePointSet.EMPTY;
+		while (!consume(']')) {
+			if (peek() == '[' || regex.startsWith("&&", position))
+				throw new UnsupportedSyntaxException("Character class union or intersection");
+
+			int first;
+			if (consume('\\')) {
+				if (Character.isLetterOrDigit(peek())) {
+					set = set.union(escape());
+					if (isRangeDash())
+						throw new UnsupportedSyntaxException("Escape sequence as a range bound");
+					continue;
+				}
+				first = next();
+			}
+			else
+				first = next();
+
+			if (isRangeDash()) {
+				position++;
+				set = set.union(CodePointSet.range(first, rangeEnd()));
+			}
+			else
+				set = set.union(CodePointSet.of(first));
+		}
+		return negated ? set.complement() : set;
+	}
+
+	private boolean isRangeDash() {
+		return hasNext() && peek() == '-' && position + 1 < regex.length() && regex.charAt(position + 1) != ']';
+	}
+
+	private int rangeEnd() {
+		if (!consume('\\'))
+			return next();
+		if (Character.isLetterOrDigit(peek()))
+			throw new UnsupportedSyntaxException("Escape sequence as a range bound");
+		return next();
+	}
+
+	/**
+	 * Parses the escape sequence following a backslash.
+	 */
+	private CodePointSet escape() {
+		int codePoint = next();
+		switch (codePoint) {
+		case 'd':
+			return DIGITS;
+		case 'D':
+			return DIGITS.complement();
+		case 'w':
+			return WORD_CHARS;
+		case 'W':
+			return WORD_CHARS.complement();
+		case 's':
+			return WHITESPACE;
+		case 'S':
+			return WHITESPACE.complement();
+		case 'v':
+			return VERTICAL_WHITESPACE;
+		case 'f':
+			return CodePointSet.of('\f');
+		case 'n':
+			return CodePointSet.of('\n');
+		case 'r':
+			return CodePointSet.of('\r');
+		case 't':
+			return CodePointSet.of('\t');
+		default:
+			if (Character.isLetterOrDigit(codePoint))
+				throw new UnsupportedSyntaxException("Escape sequence \\" + new String(Character.toChars(codePoint)));
+			return CodePointSet.of(codePoint);
+		}
+	}
+
+}
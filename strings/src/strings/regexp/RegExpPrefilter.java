@@ -0,0 +1,281 @@
+package strings.regexp;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import strings.SubstringSearcher;
+import strings.regexp.RegExpParser.AlternationNode;
+import strings.regexp.RegExpParser.AssertionNode;
+import strings.regexp.RegExpParser.CharSetNode;
+import strings.regexp.RegExpParser.ConcatNode;
+import strings.regexp.RegExpParser.Node;
+import strings.regexp.RegExpParser.RepeatNode;
+import strings.regexp.RegExpParser.UnsupportedSyntaxException;
+
+/**
+ * The conditions every text matched by a regex satisfies: a minimum length and the
+ * literals it contains. Checking them with a substring search is much faster than
+ * running the regex, so an input failing them is rejected before the regex runs.
+ * <blockquote>For example,<pre>
+ * {@code RegExpPrefilter.of("txn=\\d+ (ERROR|FATAL)")
+ * requiredLiterals() => ["txn=", " "]
+ * minimumLength()    => 11
+ * }</pre></blockquote>
+ * The conditions are extracted from the syntax supported by {@link AutomatonRegExp},
+ * plus the boundary matchers. A prefilter of any other regex, or of a regex compiled
+ * with flags that change how literals match, such as {@link Pattern#CASE_INSENSITIVE},
+ * accepts every input.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class RegExpPrefilter {
+
+	private static final RegExpPrefilter NONE = new RegExpPrefilter(List.of(), 0);
+
+	private static final int UNSUPPORTED_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.COMMENTS
+			| Pattern.LITERAL | Pattern.CANON_EQ;
+
+	// an exact literal repeated more than this is only required once
+	private static final int MAX_REPEATED_LENGTH = 256;
+
+	private final List<String> requiredLiterals;
+	private final int minimumLength;
+	// the searchers of the literals, the longest and most selective first
+	private final SubstringSearcher[] searchers;
+
+	private RegExpPrefilter(List<String> requiredLiterals, int minimumLength) {
+		this.requiredLiterals = requiredLiterals;
+		this.minimumLength = minimumLength;
+		this.searchers = requiredLiterals.stream()
+				.sorted(Comparator.comparingInt(String::length).reversed())
+				.map(SubstringSearcher::compile)
+				.toArray(SubstringSearcher[]::new);
+	}
+
+	/**
+	 * @param regex
+	 * @return the prefilter of {@code regex}
+	 * @throws PatternSyntaxException if the regex's syntax is invalid
+	 */
+	public static RegExpPrefilter of(String regex) {
+		return of(Pattern.compile(regex));
+	}
+
+	/**
+	 * @param pattern
+	 * @return the prefilter of {@code pattern}
+	 */
+	public static RegExpPrefilter of(Pattern pattern) {
+		if ((pattern.flags() & UNSUPPORTED_FLAGS) != 0)
+			return NONE;
+
+		Facts facts;
+		try {
+			facts = facts(RegExpParser.parse(pattern.pattern()));
+		}
+		catch (UnsupportedSyntaxException e) {
+			return NONE;
+		}
+
+		List<String> literals = new ArrayList<>(facts.factors);
+		if (facts.exact != null)
+			literals.add(facts.exact);
+		return new RegExpPrefilter(withoutRedundant(literals), facts.minimumLength);
+	}
+
+	/**
+	 * @return the literals every match contains, in the order they appear in the regex
+	 */
+	public List<String> requiredLiterals() {
+		return requiredLiterals;
+	}
+
+	/**
+	 * @return the minimum length of the matches
+	 */
+	public int minimumLength() {
+		return minimumLength;
+	}
+
+	/**
+	 * @return {@code true} if the prefilter accepts every input
+	 */
+	public boolean isEmpty() {
+		return minimumLength == 0 && requiredLiterals.isEmpty();
+	}
+
+	/**
+	 * @param input
+	 * @return {@code false} if the regex can't match any part of {@code input},
+	 *         {@code true} if it may
+	 */
+	public boolean mayMatch(CharSequence input) {
+		if (input.length() < minimumLength)
+			return false;
+		for (SubstringSearcher searcher : searchers) {
+			// String.indexOf is intrinsified into a vectorized scan by the JIT
+			int index = input instanceof String
+					? ((String) input).indexOf(searcher.needle())
+					: searcher.indexIn(input);
+			if (index == -1)
+				return false;
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "requiredLiterals=" + requiredLiterals + ", minimumLength=" + minimumLength;
+	}
+
+	/**
+	 * The facts known about the texts matched by a node.
+	 */
+	private static final class Facts {
+
+		// the only text matched, null if the node matches more than one text
+		final String exact;
+		// the literals every matched text contains
+		final List<String> factors;
+		final int minimumLength;
+
+		Facts(String exact, List<String> factors, int minimumLength) {
+			this.exact = exact;
+			this.factors = factors;
+			this.minimumLength = minimumLength;
+		}
+
+		/**
+		 * @return the factors, including the exact text if there is one
+		 */
+		List<String> literals() {
+			if (exact == null || exact.isEmpty())
+				return factors;
+			List<String> literals = new ArrayList<>(factors);
+			literals.add(exact);
+			return literals;
+		}
+	}
+
+	private static Facts facts(Node node) {
+		if (node instanceof AssertionNode)
+			// a zero-width assertion doesn't separate the literals around it
+			return new Facts("", List.of(), 0);
+
+		if (node instanceof CharSetNode) {
+			int codePoint = ((CharSetNode) node).set.singleCodePoint();
+			return codePoint == -1
+					? new Facts(null, List.of(), 1)
+					: new Facts(new String(Character.toChars(codePoint)), List.of(), Character.charCount(codePoint));
+		}
+
+		if (node instanceof ConcatNode) {
+			StringBuilder current = new StringBuilder();
+			List<String> factors = new ArrayList<>();
+			boolean exact = true;
+			long minimumLength = 0;
+			for (Node item : ((ConcatNode) node).nodes) {
+				Facts facts = facts(item);
+				minimumLength += facts.minimumLength;
+				if (facts.exact != null) {
+					current.append(facts.exact);
+					continue;
+				}
+				exact = false;
+				if (current.length() > 0)
+					factors.add(current.toString());
+				current.setLength(0);
+				factors.addAll(facts.factors);
+			}
+			if (exact)
+				return new Facts(current.toString(), List.of(), saturatedCast(minimumLength));
+			if (current.length() > 0)
+				factors.add(current.toString());
+			return new Facts(null, factors, saturatedCast(minimumLength));
+		}
+
+		if (node instanceof AlternationNode)
+			return alternationFacts(((AlternationNode) node).alternatives);
+
+		RepeatNode repeat = (RepeatNode) node;
+		Facts facts = facts(repeat.node);
+		int minimumLength = saturatedCast((long) facts.minimumLength * repeat.min);
+		if (repeat.min == 0)
+			return new Facts(repeat.max == 0 ? "" : null, List.of(), 0);
+		if (facts.exact != null && repeat.min == repeat.max
+				&& (long) facts.exact.length() * repeat.min <= MAX_REPEATED_LENGTH)
+			return new Facts(facts.exact.repeat(repeat.min), List.of(), minimumLength);
+		return new Facts(null, facts.literals(), minimumLength);
+	}
+
+	/**
+	 * An alternation requires the parts of the literals that all its alternatives require.
+	 */
+	private static Facts alternationFacts(List<Node> alternatives) {
+		List<Facts> facts = new ArrayList<>();
+		for (Node alternative : alternatives)
+			facts.add(facts(alternative));
+
+		int minimumLength = facts.stream()
+				.mapToInt(alternative -> alternative.minimumLength)
+				.min()
+				.orElse(0);
+		String exact = facts.get(0).exact;
+		for (Facts alternative : facts)
+			if (exact != null && !exact.equals(alternative.exact))
+				exact = null;
+		if (exact != null)
+			return new Facts(exact, List.of(), minimumLength);
+
+		List<String> factors = new ArrayList<>();
+		for (String literal : facts.get(0).literals()) {
+			String common = literal;
+			for (int i = 1; i < facts.size() && !common.isEmpty(); i++)
+				common = longestCommonSubstring(common, facts.get(i).literals());
+			if (!common.isEmpty())
+				factors.add(common);
+		}
+		return new Facts(null, factors, minimumLength);
+	}
+
+	/**
+	 * @return the longest substring of {@code str} contained in one of {@code literals}
+	 */
+	private static String longestCommonSubstring(String str, List<String> literals) {
+		for (int length = str.length(); length > 0; length--)
+			for (int start = 0; start + length <= str.length(); start++) {
+				String candidate = str.substring(start, start + length);
+				for (String literal : literals)
+					if (literal.contains(candidate))
+						return candidate;
+			}
+		return "";
+	}
+
+	/**
+	 * @return {@code literals} without duplicates and without the literals contained in others
+	 */
+	private static List<String> withoutRedundant(List<String> literals) {
+		List<String> result = new ArrayList<>();
+		for (int i = 0; i < literals.size(); i++) {
+			String literal = literals.get(i);
+			boolean redundant = literal.isEmpty();
+			for (int j = 0; j < literals.size() && !redundant; j++) {
+				String other = literals.get(j);
+				redundant = j != i && other.contains(literal)
+						&& (other.length() > literal.length() || j < i);
+			}
+			if (!redundant)
+				result.add(literal);
+		}
+		return List.copyOf(result);
+	}
+
+	private static int saturatedCast(long value) {
+		return (int) Math.min(value, Integer.MAX_VALUE);
+	}
+
+}
@@ -0,0 +1,81 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+import strings.ApproximateSearcher;
+import strings.ApproximateSearcher.Distance;
+import strings.OccurrenceCursor;
+
+public class ApproximateSearcherTest {
+
+	@Test
+	public void testLevenshtein() {
+		ApproximateSearcher searcher = ApproximateSearcher.compile("invoice", 1);
+
+		assertThat(searcher.endsIn("Invoice lnvoice invice"))
+			.isEqualTo(new int[] {7, 15, 22});
+		assertThat(searcher.endsIn(new StringBuilder("invoices")))
+			.isEqualTo(new int[] {6, 7, 8});
+		assertThat(searcher.endsIn("receipt"))
+			.isEqualTo(new int[0]);
+		assertThat(searcher.countIn("invoce 1nvoice"))
+			.isEqualTo(2);
+	}
+
+	@Test
+	public void testHamming() {
+		ApproximateSearcher searcher = ApproximateSearcher.compile("invoice", 1, Distance.HAMMING);
+
+		// the deletion of "invice" isn't a mismatch
+		assertThat(searcher.endsIn("Invoice lnvoice invice"))
+			.isEqualTo(new int[] {7, 15});
+		assertThat(ApproximateSearcher.compile("aba", 1, Distance.HAMMING).endsIn("abbabaa"))
+			.isEqualTo(new int[] {3, 4, 6});
+	}
+
+	@Test
+	public void testEndIndexIn() {
+		ApproximateSearcher searcher = ApproximateSearcher.compile("needle", 2);
+
+		assertThat(searcher.endIndexIn("a neddle and a nedle"))
+			.isEqualTo(7);
+		assertThat(searcher.endsIn("a neddle and a nedle"))
+			.isEqualTo(new int[] {7, 8, 9, 19, 20});
+		assertThat(searcher.endIndexIn("a neddle and a nedle", 10))
+			.isEqualTo(19);
+		assertThat(searcher.endIndexIn("a haystack"))
+			.isEqualTo(-1);
+	}
+
+	@Test
+	public void testCursor() {
+		ApproximateSearcher searcher = ApproximateSearcher.compile("color", 1);
+		OccurrenceCursor cursor = searcher.cursor("colour and colr");
+
+		// "colo" is a deletion away
+		assertThat(cursor.nextInt())
+			.isEqualTo(4);
+		assertThat(cursor.nextInt())
+			.isEqualTo(5);
+		assertThat(cursor.stream())
+			.containsExactly(6, 15);
+		assertThat(cursor.reset("kolor").nextOrEnd())
+			.isEqualTo(5);
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		assertThatThrownBy(() -> ApproximateSearcher.compile("", 0))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ApproximateSearcher.compile("a".repeat(65), 1))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ApproximateSearcher.compile("abc", 3))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ApproximateSearcher.compile("abc", -1))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,107 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import strings.regexp.AutomatonRegExp;
+import strings.regexp.RegExpBuilder;
+import strings.regexp.escapechars.RegExpEscapeCharacters;
+
+public class AutomatonRegExpTest {
+
+	private static final String[] REGEXES = {
+			"", "a", "abc", "a|b|", "(a|ab)(c|bcd)", "a*", "(?:ab)+", "a?b??c",
+			"a{3}", "a{2,}", "(a|b){1,3}c", "x{0}y", "[a-c]+d", "[^a-c]", "[-a]", "[a-]",
+			"\\d+\\.\\d{2}", "\\w+@\\w+", "\\s\\S", "\\W\\D", "\\v", "\\t|\\n|\\r|\\f",
+			"[\\d\\s]+", "[\\.\\-]", ".", ".+", "(a*)*b", "(\\d{4})-(\\d{2})", "\\(\\)\\[\\]"
+	};
+
+	private static final String[] INPUTS = {
+			"", "a", "b", "ab", "abc", "aaa", "aabcd", "abbcd", "aaaab", "ac", "bbc", "y",
+			"12.50", "1.5", "me@home", " x", "\t", "\n", "\r", "\u000B", "\u2028", "\u0085",
+			"-", ".", "2008-12", "()[]", "a\nb", "\uD83D\uDE00", "x\uD83D\uDE00y", "\u00e8", "\uD83D"
+	};
+
+	@Test
+	public void testAgreesWithPattern() {
+		for (String regex : REGEXES) {
+			AutomatonRegExp automaton = AutomatonRegExp.compile(regex);
+			Pattern pattern = Pattern.compile(regex);
+
+			assertThat(automaton.isAutomaton())
+				.isTrue();
+			for (String input : INPUTS) {
+				assertThat(automaton.matches(input))
+					.isEqualTo(pattern.matcher(input).matches());
+				assertThat(automaton.find(input))
+					.isEqualTo(pattern.matcher(input).find());
+			}
+		}
+	}
+
+	@Test
+	public void testFallback() {
+		for (String regex : new String[] { "^a", "a$", "\\ba", "(a)\\1", "(?=a)", "a*+", "(?i)a", "[a[b]]", "\\p{L}" }) {
+			AutomatonRegExp automaton = AutomatonRegExp.compile(regex);
+			Pattern pattern = Pattern.compile(regex);
+
+			assertThat(automaton.isAutomaton())
+				.isFalse();
+			for (String input : INPUTS) {
+				assertThat(automaton.matches(input))
+					.isEqualTo(pattern.matcher(input).matches());
+				assertThat(automaton.find(input))
+					.isEqualTo(pattern.matcher(input).find());
+			}
+		}
+	}
+
+	@Test
+	public void testNestedQuantifiers() {
+		RegExpBuilder nested = new RegExpBuilder()
+				.match(new RegExpBuilder()
+						.match(new RegExpBuilder().match("a").zeroOrMoreTimes())
+						.group().zeroOrMoreTimes())
+				.group().oneOrMoreTimes()
+				.match("b").once();
+		assertThat(nested.build())
+			.isEqualTo("((a*)*)+b");
+
+		AutomatonRegExp automaton = nested.compileAutomaton();
+		assertThat(automaton.isAutomaton())
+			.isTrue();
+
+		// java.util.regex takes seconds on 24 characters
+		String input = "a".repeat(100_000) + "!";
+		assertThat(automaton.matches(input))
+			.isFalse();
+		assertThat(automaton.find(input))
+			.isFalse();
+		assertThat(automaton.find(input + "b"))
+			.isTrue();
+	}
+
+	@Test
+	public void testBuilderOutput() {
+		AutomatonRegExp date = new RegExpBuilder()
+				.match(RegExpEscapeCharacters.DIGIT).times(4)
+				.match("-").once()
+				.match(RegExpEscapeCharacters.DIGIT).times(1, 2)
+				.compileAutomaton();
+
+		assertThat(date.isAutomaton())
+			.isTrue();
+		assertThat(date.matches("2008-12"))
+			.isTrue();
+		assertThat(date.matches("2008-123"))
+			.isFalse();
+		assertThat(date.find("build 2008-1"))
+			.isTrue();
+		assertThat(date.find("build 208-12"))
+			.isFalse();
+	}
+
+}
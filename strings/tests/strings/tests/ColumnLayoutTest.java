@@ -0,0 +1,54 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import strings.ColumnLayout;
+
+public class ColumnLayoutTest {
+
+	@Test
+	public void testLayout() {
+		assertThat(new ColumnLayout(1).add("a\nbcd").add("ef\ng").add("h"))
+			.hasToString("a   ef h\n"
+					   + "bcd g  ");
+		
+		assertThat(new ColumnLayout(2).add("a").add("").add("b\r\nc\rd\n"))
+			.hasToString("a    b\n"
+					   + "     c\n"
+					   + "     d");
+		
+		assertThat(new ColumnLayout(2).add("").add(""))
+			.hasToString("");
+	}
+	
+	@Test
+	public void testReaderAndFileColumns() throws IOException {
+		Path file = Files.createTempFile("strings", ".txt");
+		try {
+			Files.writeString(file, "line\nlonger line\n");
+			
+			StringBuilder out = new StringBuilder();
+			new ColumnLayout(1)
+				.add(file)
+				.add(new StringReader("a\nb\nc"), 2)
+				.add("x")
+				.writeTo(out);
+			
+			assertThat(out)
+				.hasToString("line        a  x\n"
+						   + "longer line b  \n"
+						   + "            c  ");
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+	
+}
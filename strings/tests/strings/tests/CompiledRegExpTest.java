@@ -0,0 +1,87 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import strings.regexp.CompiledRegExp;
+import strings.regexp.RegExpBuilder;
+import strings.regexp.escapechars.RegExpEscapeCharacters;
+
+public class CompiledRegExpTest {
+
+	private static final CompiledRegExp DATE = new RegExpBuilder()
+			.startGroup()
+			.match(RegExpEscapeCharacters.DIGIT).times(4)
+			.endGroup()
+			.match("-").once()
+			.startGroup()
+			.match(RegExpEscapeCharacters.DIGIT).times(2)
+			.endGroup()
+			.compile();
+	
+	@Test
+	public void testMatchAndFind() {
+		assertThat(DATE.regex())
+			.isEqualTo("(\\d{4})-(\\d{2})");
+		
+		assertThat(DATE.matches("2008-12"))
+			.isTrue();
+		assertThat(DATE.matches("build 2008-12"))
+			.isFalse();
+		assertThat(DATE.find("build 2008-12"))
+			.isTrue();
+		
+		assertThat(DATE.findAll("2008-12, 1999-01 and 20-10"))
+			.containsExactly("2008-12", "1999-01");
+	}
+	
+	@Test
+	public void testSplit() {
+		CompiledRegExp separators = CompiledRegExp.compile("[,;]\\s*");
+		for (String input : new String[] { "a, b;c", ", a,, b,", "", "abc", ";" })
+			assertThat(separators.split(input))
+				.containsExactly(Pattern.compile("[,;]\\s*").split(input));
+		
+		assertThat(CompiledRegExp.compile("").split("abc"))
+			.containsExactly("a", "b", "c");
+	}
+	
+	@Test
+	public void testGroups() {
+		assertThat(DATE.groups("2008-12"))
+			.containsExactly("2008-12", "2008", "12");
+		
+		assertThatThrownBy(() -> DATE.groups("2008"))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+	
+	@Test
+	public void testSharedBetweenThreads() throws InterruptedException {
+		List<Thread> threads = new ArrayList<>();
+		List<Throwable> errors = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			String input = "200" + t + "-1" + t;
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 10_000; i++)
+					if (!DATE.groups(input)[1].equals(input.substring(0, 4)))
+						synchronized (errors) {
+							errors.add(new AssertionError(input));
+						}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+		
+		assertThat(errors)
+			.isEmpty();
+	}
+	
+}
@@ -0,0 +1,119 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+import strings.EditDistance;
+import strings.Strings;
+
+public class EditDistanceTest {
+
+	@Test
+	public void testLevenshtein() {
+		assertThat(EditDistance.levenshtein("kitten", "sitting"))
+			.isEqualTo(3);
+		assertThat(EditDistance.levenshtein("flaw", "lawn"))
+			.isEqualTo(2);
+		assertThat(EditDistance.levenshtein("John", "Jhon"))
+			.isEqualTo(2);
+		assertThat(EditDistance.levenshtein("", "abc"))
+			.isEqualTo(3);
+		assertThat(EditDistance.levenshtein("same", new StringBuilder("same")))
+			.isEqualTo(0);
+		assertThat(EditDistance.levenshtein("caf\u00e9 \u4e2d\u6587", "cafe \u4e2d\u6587"))
+			.isEqualTo(1);
+	}
+
+	@Test
+	public void testDamerauLevenshtein() {
+		assertThat(EditDistance.damerauLevenshtein("John", "Jhon"))
+			.isEqualTo(1);
+		assertThat(EditDistance.damerauLevenshtein("kitten", "sitting"))
+			.isEqualTo(3);
+		// no substring is edited twice
+		assertThat(EditDistance.damerauLevenshtein("ca", "abc"))
+			.isEqualTo(3);
+		assertThat(EditDistance.damerauLevenshtein("abcdef", "badcfe"))
+			.isEqualTo(3);
+	}
+
+	@Test
+	public void testBoundedDistance() {
+		assertThat(EditDistance.levenshtein("kitten", "sitting", 3))
+			.isEqualTo(3);
+		assertThat(EditDistance.levenshtein("kitten", "sitting", 2))
+			.isEqualTo(-1);
+		assertThat(EditDistance.levenshtein("Jhon Smith", "John", 3))
+			.isEqualTo(-1);
+		assertThat(EditDistance.damerauLevenshtein("John", "Jhon", 1))
+			.isEqualTo(1);
+		assertThat(EditDistance.levenshtein("abc", "abc", 0))
+			.isEqualTo(0);
+		assertThatThrownBy(() -> EditDistance.levenshtein("a", "b", -1))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testLongStrings() {
+		// longer than 64 characters on both sides
+		String text = Strings.repeat("the quick brown fox jumps over the lazy dog ", 4);
+		String edited = "x" + text.substring(0, 60) + text.substring(62, 120) + "y" + text.substring(121);
+
+		assertThat(EditDistance.levenshtein(text, edited))
+			.isEqualTo(4);
+		assertThat(EditDistance.levenshtein(edited, text, 4))
+			.isEqualTo(4);
+		assertThat(EditDistance.levenshtein(text, edited, 3))
+			.isEqualTo(-1);
+		assertThat(EditDistance.damerauLevenshtein(text, edited))
+			.isEqualTo(4);
+		assertThat(EditDistance.levenshtein("ab", text))
+			.isEqualTo(text.length() - 2);
+	}
+
+	@Test
+	public void testJaroWinkler() {
+		assertThat(EditDistance.jaro("MARTHA", "MARHTA"))
+			.isCloseTo(0.944, within(0.001));
+		assertThat(EditDistance.jaroWinkler("MARTHA", "MARHTA"))
+			.isCloseTo(0.961, within(0.001));
+		assertThat(EditDistance.jaroWinkler("DWAYNE", "DUANE"))
+			.isCloseTo(0.840, within(0.001));
+		assertThat(EditDistance.jaroWinkler("DIXON", "DICKSONX"))
+			.isCloseTo(0.813, within(0.001));
+		assertThat(EditDistance.jaroWinkler("abc", "xyz"))
+			.isEqualTo(0.0);
+		assertThat(EditDistance.jaroWinkler("", ""))
+			.isEqualTo(1.0);
+		assertThat(EditDistance.jaroWinkler("abc", ""))
+			.isEqualTo(0.0);
+	}
+
+	@Test
+	public void testQuery() {
+		EditDistance.Query query = EditDistance.query("Jon Smith");
+
+		assertThat(query.levenshtein("John Smith"))
+			.isEqualTo(1);
+		assertThat(query.levenshtein("Jon Smyth"))
+			.isEqualTo(1);
+		assertThat(query.levenshtein("Jane Smithers", 2))
+			.isEqualTo(-1);
+		assertThat(query.damerauLevenshtein("Jno Smtih"))
+			.isEqualTo(2);
+		assertThat(query.levenshtein(""))
+			.isEqualTo(9);
+		assertThat(query.jaroWinkler("Jon Smith"))
+			.isEqualTo(1.0);
+
+		String long1 = Strings.repeat("abcdefghij", 8);
+		assertThat(EditDistance.query(long1).levenshtein(long1.substring(1) + "k"))
+			.isEqualTo(2);
+		assertThat(EditDistance.query("").levenshtein("abc"))
+			.isEqualTo(3);
+	}
+
+}
@@ -0,0 +1,101 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import strings.escape.CharEscaper;
+import strings.escape.Escapers;
+
+public class EscapersTest {
+
+	@Test
+	public void testNothingToEscapeReturnsInput() {
+		String str = "nothing to escape";
+		assertThat(Escapers.REGEX_LITERAL.escape(str))
+			.isSameAs(str);
+		assertThat(Escapers.JAVA_STRING.escape(str))
+			.isSameAs(str);
+		assertThat(Escapers.CSV.escape(str))
+			.isSameAs(str);
+	}
+
+	@Test
+	public void testRegexLiteral() {
+		String str = "C:\\temp\\(1+1).txt|[a-z]{2}?^$";
+		String escaped = Escapers.REGEX_LITERAL.escape(str);
+		assertThat(escaped)
+			.isEqualTo("C:\\\\temp\\\\\\(1\\+1\\)\\.txt\\|\\[a-z\\]\\{2\\}\\?\\^\\$");
+		assertThat(Pattern.compile(escaped).matcher(str).matches())
+			.isTrue();
+	}
+
+	@Test
+	public void testRegexCharacterClass() {
+		String str = "a-z^]\\&";
+		String escaped = Escapers.REGEX_CHARACTER_CLASS.escape(str);
+		assertThat(escaped)
+			.isEqualTo("a\\-z\\^\\]\\\\\\&");
+
+		Pattern pattern = Pattern.compile("[" + escaped + "]+");
+		assertThat(pattern.matcher(str).matches())
+			.isTrue();
+		assertThat(pattern.matcher("b").matches())
+			.isFalse();
+	}
+
+	@Test
+	public void testJavaString() {
+		assertThat(Escapers.JAVA_STRING.escape("say \"hi\"\n\tC:\\ \u0000\u007F\u00E8"))
+			.isEqualTo("say \\\"hi\\\"\\n\\tC:\\\\ \\u0000\\u007F\u00E8");
+	}
+
+	@Test
+	public void testJson() {
+		assertThat(Escapers.JSON.escape("{\"a\": \"b\\c\"}\r\n\u001B"))
+			.isEqualTo("{\\\"a\\\": \\\"b\\\\c\\\"}\\r\\n\\u001B");
+	}
+
+	@Test
+	public void testCsv() {
+		assertThat(Escapers.CSV.escape("plain field"))
+			.isEqualTo("plain field");
+		assertThat(Escapers.CSV.escape("a,b"))
+			.isEqualTo("\"a,b\"");
+		assertThat(Escapers.CSV.escape("say \"hi\""))
+			.isEqualTo("\"say \"\"hi\"\"\"");
+		assertThat(Escapers.CSV.escape("two\nlines"))
+			.isEqualTo("\"two\nlines\"");
+	}
+
+	@Test
+	public void testEscapeToAppendable() throws IOException {
+		StringWriter out = new StringWriter();
+		Escapers.JSON.escape(new StringBuilder("a\"b"), out);
+		Escapers.JSON.escape("cd", out);
+		assertThat(out.toString())
+			.isEqualTo("a\\\"bcd");
+	}
+
+	@Test
+	public void testCustomEscaper() {
+		CharEscaper escaper = CharEscaper.builder()
+				.escape('\'', "''")
+				.quoteIfEscaped('\'')
+				.build();
+
+		assertThat(escaper.escape("abc"))
+			.isEqualTo("abc");
+		assertThat(escaper.escape("it's"))
+			.isEqualTo("'it''s'");
+		assertThat(escaper.escapes('\''))
+			.isTrue();
+		assertThat(escaper.escapes('\u4E2D'))
+			.isFalse();
+	}
+
+}
@@ -0,0 +1,65 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import strings.IdentifierCase;
+
+public class IdentifierCaseTest {
+
+	@Test
+	public void testConvertBetweenCases() {
+		String[] identifiers = {
+				"homeSweetHome", "HomeSweetHome", "home_sweet_home", "home-sweet-home",
+				"HOME_SWEET_HOME", "Home Sweet Home", "home sweet home"
+		};
+		IdentifierCase[] cases = IdentifierCase.values();
+		for (int i = 0; i < cases.length; i++)
+			for (String identifier : identifiers)
+				assertThat(cases[i].convert(identifier))
+					.isEqualTo(identifiers[i]);
+	}
+
+	@Test
+	public void testWordBoundaries() {
+		assertThat(IdentifierCase.SNAKE.convert("parseHTTPResponse2xx"))
+			.isEqualTo("parse_http_response2xx");
+		assertThat(IdentifierCase.KEBAB.convert("utf8Decoder"))
+			.isEqualTo("utf8-decoder");
+		assertThat(IdentifierCase.CAMEL.convert("  user--account  id_ "))
+			.isEqualTo("userAccountId");
+		assertThat(IdentifierCase.PASCAL.convert("ABC2"))
+			.isEqualTo("Abc2");
+		assertThat(IdentifierCase.UPPER_SNAKE.convert(""))
+			.isEqualTo("");
+		assertThat(IdentifierCase.UPPER_SNAKE.convert("__"))
+			.isEqualTo("");
+	}
+
+	@Test
+	public void testNonAscii() {
+		assertThat(IdentifierCase.SNAKE.convert("\u00C9t\u00E9Chaud"))
+			.isEqualTo("\u00E9t\u00E9_chaud");
+		assertThat(IdentifierCase.TITLE.convert("caff\u00E8_latte"))
+			.isEqualTo("Caff\u00E8 Latte");
+		assertThat(IdentifierCase.CAMEL.convert("\u6771\u4EAC tower"))
+			.isEqualTo("\u6771\u4EACTower");
+		assertThat(IdentifierCase.PASCAL.convert("\uD801\uDC28bc"))
+			.isEqualTo("\uD801\uDC00bc");
+	}
+
+	@Test
+	public void testConvertToAppendable() throws IOException {
+		StringWriter out = new StringWriter();
+		IdentifierCase.KEBAB.convert("fooBar", out);
+		out.append(' ');
+		IdentifierCase.KEBAB.convert(new StringBuilder("BazQux"), out);
+		assertThat(out.toString())
+			.isEqualTo("foo-bar baz-qux");
+	}
+
+}
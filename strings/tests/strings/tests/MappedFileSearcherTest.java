@@ -0,0 +1,101 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import strings.MappedFileSearcher;
+import strings.SubstringSearcher;
+
+public class MappedFileSearcherTest {
+
+	@Test
+	public void testOccurrencesIn() throws IOException {
+		Path file = Files.createTempFile("strings", ".txt");
+		try {
+			Files.writeString(file, "this is a wonderful world, ciao wonderful world");
+			
+			MappedFileSearcher searcher = MappedFileSearcher.compile("wo");
+			assertThat(searcher.occurrencesIn(file))
+				.containsExactly(10, 20, 32, 42);
+			assertThat(searcher.withChunkSize(3).occurrencesIn(file))
+				.containsExactly(10, 20, 32, 42);
+			
+			Files.writeString(file, "\u00e8aaaaa");
+			assertThat(MappedFileSearcher.compile("aa").withChunkSize(2).occurrencesIn(file))
+				.containsExactly(2, 4);
+			assertThat(MappedFileSearcher.compile("aa").withChunkSize(2).occurrencesIn(file, true))
+				.containsExactly(2, 3, 4, 5);
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testChunkBoundaries() throws IOException {
+		Random random = new Random(7);
+		Path file = Files.createTempFile("strings", ".txt");
+		try {
+			for (int t = 0; t < 200; t++) {
+				char[] chars = new char[random.nextInt(300)];
+				for (int i = 0; i < chars.length; i++)
+					chars[i] = (char) ('a' + random.nextInt(2));
+				String text = new String(chars);
+				String needle = text.isEmpty() ? "a" : text.substring(0, 1 + random.nextInt(Math.min(text.length(), 5)));
+				Files.writeString(file, text, StandardCharsets.ISO_8859_1);
+				
+				MappedFileSearcher searcher = MappedFileSearcher.compile(needle, StandardCharsets.ISO_8859_1)
+						.withChunkSize(1 + random.nextInt(20));
+				for (boolean overlapping : new boolean[] { false, true }) {
+					long[] expected = Arrays.stream(SubstringSearcher.compile(needle).occurrencesIn(text, overlapping))
+							.asLongStream()
+							.toArray();
+					assertThat(searcher.occurrencesIn(file, overlapping))
+						.containsExactly(expected);
+				}
+			}
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testProgress() throws Exception {
+		Path file = Files.createTempFile("strings", ".txt");
+		try {
+			Files.writeString(file, "home sweet home".repeat(100));
+			
+			AtomicLong searched = new AtomicLong();
+			long[] occurrences = MappedFileSearcher.compile("home").withChunkSize(64)
+					.submit(file, false, ForkJoinPool.commonPool(), (bytes, total) -> searched.accumulateAndGet(bytes, Math::max))
+					.get();
+			
+			assertThat(occurrences.length)
+				.isEqualTo(200);
+			assertThat(searched.get())
+				.isEqualTo(1500L);
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testEmptyNeedle() {
+		assertThatThrownBy(() -> MappedFileSearcher.compile(""))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+	
+}
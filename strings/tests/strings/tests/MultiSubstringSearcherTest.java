@@ -0,0 +1,88 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static strings.MultiSubstringSearcher.MatchMode.LEFTMOST_LONGEST;
+import static strings.MultiSubstringSearcher.MatchMode.OVERLAPPING;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import strings.MultiSubstringSearcher;
+import strings.MultiSubstringSearcher.MatchMode;
+
+public class MultiSubstringSearcherTest {
+
+	private static List<String> found(MultiSubstringSearcher searcher, CharSequence text, MatchMode mode) {
+		List<String> found = new ArrayList<>();
+		searcher.forEachOccurrence(text, mode, (needleId, index) ->
+			found.add(searcher.needle(needleId) + "@" + index));
+		return found;
+	}
+
+	@Test
+	public void testOverlapping() {
+		MultiSubstringSearcher searcher = MultiSubstringSearcher.of("he", "she", "his", "hers");
+
+		assertThat(found(searcher, "ushers", OVERLAPPING))
+			.containsExactly("she@1", "he@2", "hers@2");
+	}
+
+	@Test
+	public void testLeftmostLongest() {
+		MultiSubstringSearcher searcher = MultiSubstringSearcher.of("he", "she", "his", "hers");
+
+		assertThat(found(searcher, "ushers", LEFTMOST_LONGEST))
+			.containsExactly("she@1");
+
+		searcher = MultiSubstringSearcher.of("bcd", "abcde", "e", "ef");
+
+		assertThat(found(searcher, "abcdef", LEFTMOST_LONGEST))
+			.containsExactly("abcde@0");
+
+		assertThat(found(searcher, "xbcdef", LEFTMOST_LONGEST))
+			.containsExactly("bcd@1", "ef@4");
+	}
+
+	@Test(timeout = 2000)
+	public void testLeftmostLongestPeriodicText() {
+		// every position starts a prefix of the long needle, which a scan going back would read again
+		MultiSubstringSearcher searcher = MultiSubstringSearcher.of("a", "a".repeat(5000) + "b");
+		int[] counts = new int[2];
+		searcher.forEachOccurrence("a".repeat(200000), LEFTMOST_LONGEST, (needleId, index) -> counts[needleId]++);
+
+		assertThat(counts).containsExactly(200000, 0);
+
+		assertThat(found(searcher, "a".repeat(5001) + "b", LEFTMOST_LONGEST))
+			.startsWith("a@0")
+			.endsWith("a".repeat(5000) + "b@1")
+			.hasSize(2);
+	}
+
+	@Test
+	public void testDuplicateNeedles() {
+		MultiSubstringSearcher searcher = MultiSubstringSearcher.of("ab", "b", "ab");
+
+		assertThat(found(searcher, new StringBuilder("aab"), OVERLAPPING))
+			.containsExactly("ab@1", "ab@1", "b@2");
+	}
+
+	@Test
+	public void testContainsAny() {
+		MultiSubstringSearcher searcher = MultiSubstringSearcher.of(List.of("error", "fatal"));
+
+		assertThat(searcher.containsAny("all good"))
+			.isFalse();
+		assertThat(searcher.containsAny("a fatal error"))
+			.isTrue();
+	}
+
+	@Test
+	public void testEmptyNeedle() {
+		assertThatThrownBy(() -> MultiSubstringSearcher.of("a", ""))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
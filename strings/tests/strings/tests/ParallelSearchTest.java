@@ -0,0 +1,56 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import strings.ParallelSearch;
+import strings.Strings;
+import strings.SubstringSearcher;
+
+public class ParallelSearchTest {
+
+	private static final ParallelSearch SMALL_CHUNKS = ParallelSearch.on(ForkJoinPool.commonPool())
+			.withThreshold(0)
+			.withChunkSize(3);
+	
+	@Test
+	public void testOccurrencesIn() {
+		String text = "aaaaaaa wonderful world aaaa";
+		for (String needle : new String[] { "aa", "wo", "aaaaa", "" }) {
+			SubstringSearcher searcher = SubstringSearcher.compile(needle);
+			
+			assertThat(SMALL_CHUNKS.occurrencesIn(text, searcher))
+				.containsExactly(searcher.occurrencesIn(text));
+			assertThat(SMALL_CHUNKS.occurrencesIn(text, searcher, true))
+				.containsExactly(searcher.occurrencesIn(text, true));
+		}
+	}
+	
+	@Test
+	public void testMatchedResults() {
+		String text = "aaaaaaa wonderful\nworld aaaa\n\nciao";
+		for (String regex : new String[] { "a{2,3}", "(?<=a)a", "\\bw\\w", "b*", "(?m)^\\w" }) {
+			Pattern pattern = Pattern.compile(regex);
+			
+			assertThat(SMALL_CHUNKS.matchedResults(text, pattern, 3))
+				.containsExactly(Strings.matchedResults(text, pattern));
+			assertThat(SMALL_CHUNKS.matchedResultsByLine(text, pattern))
+				.containsExactly(Strings.matchedResults(text, pattern));
+		}
+	}
+	
+	@Test
+	public void testThreshold() {
+		assertThat(Strings.parallelSubstringOccurrences("home sweet home", "home"))
+			.containsExactly(0, 11);
+		
+		String text = "home sweet home\n".repeat(100_000);
+		assertThat(ParallelSearch.common().withThreshold(1000).occurrencesIn(text, SubstringSearcher.compile("home")))
+			.containsExactly(SubstringSearcher.compile("home").occurrencesIn(text));
+	}
+	
+}
@@ -0,0 +1,105 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.Test;
+
+import strings.PatternCache;
+
+public class PatternCacheTest {
+
+	@Test
+	public void testHitsAndMisses() {
+		PatternCache cache = new PatternCache(4);
+		
+		assertThat(cache.get("a+"))
+			.isSameAs(cache.get("a+"));
+		assertThat(cache.hitCount())
+			.isEqualTo(1L);
+		assertThat(cache.missCount())
+			.isEqualTo(1L);
+	}
+	
+	@Test
+	public void testEvictsLeastRecentlyUsed() {
+		PatternCache cache = new PatternCache(2);
+		cache.get("a");
+		cache.get("b");
+		cache.get("a");
+		cache.get("c");
+		
+		assertThat(cache.size())
+			.isEqualTo(2);
+		assertThat(cache.contains("a"))
+			.isTrue();
+		assertThat(cache.contains("b"))
+			.isFalse();
+		assertThat(cache.evictionCount())
+			.isEqualTo(1L);
+	}
+	
+	@Test
+	public void testKeepsPatternAdded() {
+		PatternCache cache = new PatternCache(1);
+		cache.get("a");
+		cache.get("a");
+		cache.get("b");
+		
+		assertThat(cache.contains("b"))
+			.isTrue();
+		assertThat(cache.contains("a"))
+			.isFalse();
+	}
+	
+	@Test
+	public void testEvictsInBatches() {
+		PatternCache cache = new PatternCache(32);
+		for (int i = 0; i < 32; i++)
+			cache.get("a{" + i + "}");
+		cache.get("a{0}");
+		cache.get("b");
+		
+		// the entry over the maximum size, and 32 / 16 more
+		assertThat(cache.size())
+			.isEqualTo(30);
+		assertThat(cache.evictionCount())
+			.isEqualTo(3L);
+		assertThat(cache.contains("a{0}"))
+			.isTrue();
+		assertThat(cache.contains("a{3}"))
+			.isFalse();
+		assertThat(cache.contains("a{4}"))
+			.isTrue();
+		
+		cache.get("c");
+		cache.get("d");
+		
+		assertThat(cache.evictionCount())
+			.isEqualTo(3L);
+	}
+	
+	@Test
+	public void testPreload() {
+		PatternCache cache = new PatternCache();
+		cache.preload("\\d+", "[a-z]");
+		
+		assertThat(cache.contains("\\d+"))
+			.isTrue();
+		assertThat(cache.missCount())
+			.isEqualTo(2L);
+	}
+	
+	@Test
+	public void testInvalidRegexIsNotCached() {
+		PatternCache cache = new PatternCache();
+		
+		assertThatThrownBy(() -> cache.get("(a"))
+			.isInstanceOf(PatternSyntaxException.class);
+		assertThat(cache.size())
+			.isEqualTo(0);
+	}
+
+}
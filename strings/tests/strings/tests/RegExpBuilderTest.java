@@ -3,10 +3,13 @@ package strings.tests;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.junit.Test;
 
+import strings.regexp.MatchableObject;
 import strings.regexp.RegExpBuilder;
 import strings.regexp.escapechars.RegExpEscapeCharacters;
 
@@ -209,22 +212,138 @@ public class RegExpBuilderTest {
 			.isEqualTo("(a|bb)(c|d)*"); 
 	}
 	
-//	@Test
-//	public void testMatchOrConditionOfSubBuilders() {
-//		RegExpBuilder subBuilder0 = new RegExpBuilder()
-//				.matchAnyOf("123").zeroOrOneTimes();
-//		
-//		RegExpBuilder subBuilder1 = new RegExpBuilder()
-//				.match("(a)").once();
-//				
-//		String regex = new RegExpBuilder()
-//				.matchAnyOf(subBuilder0, subBuilder1).once()
-//				.build();
-//		
-//		assertThat(regex)
-//			.isEqualTo("([123]?|\\(a\\))"); 
-//	}
+	@Test
+	public void testMatchOrConditionOfSubBuilders() {
+		RegExpBuilder subBuilder0 = new RegExpBuilder()
+				.matchAnyOf("123").zeroOrOneTimes();
+		
+		RegExpBuilder subBuilder1 = new RegExpBuilder()
+				.match("(a)").once();
+				
+		String regex = new RegExpBuilder()
+				.matchAnyOf(subBuilder0, subBuilder1).once()
+				.build();
+		
+		assertThat(regex)
+			.isEqualTo("([123]?|\\(a\\))"); 
+	}
+	
+	@Test
+	public void testMatchStringIsEscaped() {
+		String regex = new RegExpBuilder()
+				.match("1.5").once()
+				.matchAnyOf("a+", "b").once()
+				.match("ab").group().times(2)
+				.build();
+		
+		assertThat(regex)
+			.isEqualTo("1\\.5(a\\+|b)(ab){2}");
+	}
+	
+	@Test
+	public void testMatchBackslashIsEscaped() {
+		String regex = new RegExpBuilder()
+				.match("C:\\dir").once()
+				.matchAnyOf("\\^").once()
+				.build();
+		
+		assertThat(regex)
+			.isEqualTo("C:\\\\dir[\\\\\\^]");
+		assertThat(Pattern.matches(regex, "C:\\dir^"))
+			.isTrue();
+	}
+	
+	@Test
+	public void testBuildOptimized() {
+		RegExpBuilder builder = new RegExpBuilder()
+				.matchAnyOf("Monday", "Tuesday", "Saturday", "Sunday").once()
+				.match(" ").once()
+				.matchAnyOf(
+						new RegExpBuilder().match(RegExpEscapeCharacters.DIGIT).once(),
+						new RegExpBuilder().match("-").once(),
+						new RegExpBuilder().matchAnyOf("xy").once()
+					).times(2)
+				.matchAnyOf("ab", "abc").zeroOrMoreTimes();
+		
+		assertThat(builder.build())
+			.isEqualTo("(Monday|Tuesday|Saturday|Sunday) (\\d|-|[xy]){2}(ab|abc)*");
+		assertThat(builder.buildOptimized())
+			.isEqualTo("(?:Monday|Tuesday|S(?:aturday|unday)) [\\d\\-xy]{2}(?:abc??)*");
+		
+		String regex = new RegExpBuilder()
+				.startGroup()
+				.matchAnyOf("a", "b").once()
+				.endGroup()
+				.match("cd").zeroOrOneTimes()
+				.buildOptimized();
+		
+		assertThat(regex)
+			.isEqualTo("([ab])(?:cd)?");
+	}
+	
+	@Test
+	public void testMatchLargeOrConditionAsTrie() {
+		String[] codes = new String[100];
+		for (int i = 0; i < codes.length - 1; i++)
+			codes[i] = "code" + i;
+		codes[codes.length - 1] = "x+y";
+		
+		String regex = new RegExpBuilder()
+				.matchAnyOf(codes).once()
+				.build();
+		
+		assertThat(regex)
+			.startsWith("(code(?:");
+		assertThat(regex)
+			.endsWith("|x\\+y)");
+		
+		Pattern pattern = Pattern.compile(regex);
+		for (String code : codes)
+			assertThat(pattern.matcher(code).matches())
+				.isTrue();
+		assertThat(pattern.matcher("code100").matches())
+			.isFalse();
+		assertThat(pattern.matcher("xxy").matches())
+			.isFalse();
+		
+		Matcher matcher = pattern.matcher("code10");
+		assertThat(matcher.lookingAt())
+			.isTrue();
+		// as in the alternation, "code1" comes before "code10"
+		assertThat(matcher.group(1))
+			.isEqualTo("code1");
+	}	
 	
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testMatchableObjectSubclass() {
+		RegExpBuilder builder = new RegExpBuilder();
+		MatchableObject matchable = new MatchableObject("a", builder) {
+			{
+				setString(getString() + "b");
+			}
+		};
+		
+		String regex = matchable.once()
+				.build();
+		
+		assertThat(regex)
+			.isEqualTo("ab");
+	}
+	
+	@Test
+	public void testQuantifiedMatchableObjectSubclass() {
+		RegExpBuilder builder = new RegExpBuilder();
+		new MatchableObject("ab", builder) {
+		}.oneOrMoreTimes();
+		new MatchableObject("\\d", builder) {
+		}.times(2);
+		new MatchableObject("[xy]", builder) {
+		}.zeroOrOneTimes();
+		
+		assertThat(builder.build())
+			.isEqualTo("(?:ab)+\\d{2}[xy]?");
+	}
 	
 
 }
@@ -0,0 +1,87 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import strings.regexp.CompiledRegExp;
+import strings.regexp.RegExpBuilder;
+import strings.regexp.RegExpPrefilter;
+import strings.regexp.escapechars.RegExpEscapeCharacters;
+
+public class RegExpPrefilterTest {
+
+	@Test
+	public void testRequiredLiterals() {
+		RegExpPrefilter prefilter = RegExpPrefilter.of("txn=\\d+ (ERROR|FATAL)");
+		assertThat(prefilter.requiredLiterals())
+			.isEqualTo(List.of("txn=", " "));
+		assertThat(prefilter.minimumLength())
+			.isEqualTo(11);
+
+		prefilter = RegExpPrefilter.of("^\\[(ERROR|WARN)\\] .*time(out)?$");
+		assertThat(prefilter.requiredLiterals())
+			.isEqualTo(List.of("[", "R", "] ", "time"));
+		assertThat(prefilter.minimumLength())
+			.isEqualTo(11);
+
+		prefilter = RegExpPrefilter.of("ab(cd){2}e?");
+		assertThat(prefilter.requiredLiterals())
+			.isEqualTo(List.of("abcdcd"));
+		assertThat(prefilter.minimumLength())
+			.isEqualTo(6);
+	}
+
+	@Test
+	public void testMayMatch() {
+		RegExpPrefilter prefilter = RegExpPrefilter.of("txn=\\d+ (ERROR|FATAL)");
+		assertThat(prefilter.mayMatch("12:00 txn=42 ERROR"))
+			.isTrue();
+		assertThat(prefilter.mayMatch(new StringBuilder("12:00 txn=42 ERROR")))
+			.isTrue();
+		assertThat(prefilter.mayMatch("12:00 tx=42 ERROR"))
+			.isFalse();
+		assertThat(prefilter.mayMatch("txn=4 OK"))
+			.isFalse();
+	}
+
+	@Test
+	public void testUnsupported() {
+		for (String regex : new String[] { "(?i)error", "a(?=b)", "(a)\\1", "\\p{L}+" })
+			assertThat(RegExpPrefilter.of(regex).isEmpty())
+				.isTrue();
+
+		RegExpPrefilter caseInsensitive = RegExpPrefilter.of(Pattern.compile("error", Pattern.CASE_INSENSITIVE));
+		assertThat(caseInsensitive.isEmpty())
+			.isTrue();
+		assertThat(caseInsensitive.mayMatch("ERROR"))
+			.isTrue();
+	}
+
+	@Test
+	public void testBuilder() {
+		RegExpBuilder builder = new RegExpBuilder()
+				.match("ERROR").once()
+				.match(RegExpEscapeCharacters.WHITESPACE).oneOrMoreTimes()
+				.matchAnyOf("disk", "desk").once();
+
+		assertThat(builder.prefilter().requiredLiterals())
+			.isEqualTo(List.of("ERROR", "sk"));
+
+		CompiledRegExp compiled = builder.compile();
+		assertThat(compiled.prefilter().minimumLength())
+			.isEqualTo(10);
+		assertThat(compiled.find("ERROR  disk full"))
+			.isTrue();
+		assertThat(compiled.find("WARNING disk full"))
+			.isFalse();
+		assertThat(compiled.split("no errors"))
+			.containsExactly("no errors");
+		assertThat(builder.compileAutomaton().find("WARNING disk full"))
+			.isFalse();
+	}
+
+}
@@ -0,0 +1,56 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import strings.RepeatedSequence;
+
+public class RepeatedSequenceTest {
+
+	@Test
+	public void testCharacters() {
+		RepeatedSequence repeated = RepeatedSequence.of("abc", 3);
+		
+		assertThat(repeated.length())
+			.isEqualTo(9);
+		assertThat(repeated.charAt(4))
+			.isEqualTo('b');
+		assertThat(repeated.subSequence(2, 7).toString())
+			.isEqualTo("cabca");
+		assertThat(repeated.toString())
+			.isEqualTo("abcabcabc");
+		assertThat(RepeatedSequence.of('x', 0).toString())
+			.isEqualTo("");
+	}
+	
+	@Test
+	public void testAppendTo() throws IOException {
+		StringBuilder builder = new StringBuilder("<");
+		RepeatedSequence.of("ab", 200).appendTo(builder).append('>');
+		assertThat(builder.toString())
+			.isEqualTo("<" + "ab".repeat(200) + ">");
+		
+		StringWriter writer = new StringWriter();
+		RepeatedSequence.of(' ', 1000).appendTo(writer);
+		assertThat(writer.toString())
+			.isEqualTo(" ".repeat(1000));
+	}
+	
+	@Test
+	public void testLengthIsChecked() {
+		RepeatedSequence repeated = RepeatedSequence.of('a', 3);
+		
+		assertThatThrownBy(() -> repeated.charAt(3))
+			.isInstanceOf(StringIndexOutOfBoundsException.class);
+		assertThatThrownBy(() -> RepeatedSequence.of("ab", -1))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RepeatedSequence.of("ab", Integer.MAX_VALUE))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,70 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+import chars.ScanKernels;
+
+public class ScanKernelsTest {
+
+	// longer than the widest vectors, so that both the vector and the scalar loops run
+	private static final char[] TEXT = ("The quick brown fox\r\njumps over the lazy dog (twice?)\n"
+			+ "caf\u00e9 and na\u00efve words").toCharArray();
+
+	@Test
+	public void testIndexOf() {
+		assertThat(ScanKernels.indexOf(TEXT, 0, TEXT.length, 'z'))
+			.isEqualTo(38);
+		assertThat(ScanKernels.indexOf(TEXT, 39, TEXT.length, 'z'))
+			.isEqualTo(-1);
+		assertThat(ScanKernels.indexOf(TEXT, 0, 38, 'z'))
+			.isEqualTo(-1);
+		assertThat(ScanKernels.indexOf(TEXT, 5, 5, 'q'))
+			.isEqualTo(-1);
+	}
+
+	@Test
+	public void testIndexOfAny() {
+		assertThat(ScanKernels.indexOfAny(TEXT, 0, TEXT.length, '\n', '\r'))
+			.isEqualTo(19);
+		assertThat(ScanKernels.indexOfAny(TEXT, 21, TEXT.length, '\n', '\r'))
+			.isEqualTo(53);
+		assertThat(ScanKernels.indexOfAny(TEXT, 44, TEXT.length, '(', ')', '?'))
+			.isEqualTo(45);
+		assertThat(ScanKernels.indexOfAny(TEXT, 0, TEXT.length, new char[0]))
+			.isEqualTo(-1);
+	}
+
+	@Test
+	public void testAscii() {
+		assertThat(ScanKernels.indexOfNonAscii(TEXT, 0, TEXT.length))
+			.isEqualTo(57);
+		assertThat(ScanKernels.isAscii(TEXT, 0, 57))
+			.isTrue();
+		assertThat(ScanKernels.isAscii(TEXT, 0, TEXT.length))
+			.isFalse();
+	}
+
+	@Test
+	public void testCountInRange() {
+		assertThat(ScanKernels.countInRange(TEXT, 0, TEXT.length, 'a', 'z'))
+			.isEqualTo(54);
+		assertThat(ScanKernels.countInRange(TEXT, 0, TEXT.length, 'A', 'Z'))
+			.isEqualTo(1);
+		assertThat(ScanKernels.countInRange(TEXT, 0, TEXT.length, '\u00e0', '\u00ff'))
+			.isEqualTo(2);
+		assertThat(ScanKernels.countInRange(TEXT, 0, TEXT.length, 'z', 'a'))
+			.isEqualTo(0);
+	}
+
+	@Test
+	public void testInvalidRange() {
+		assertThatThrownBy(() -> ScanKernels.indexOf(TEXT, 10, TEXT.length + 1, 'a'))
+			.isInstanceOf(IndexOutOfBoundsException.class);
+		assertThatThrownBy(() -> ScanKernels.countInRange(TEXT, 5, 4, 'a', 'z'))
+			.isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+}
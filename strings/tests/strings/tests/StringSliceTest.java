@@ -0,0 +1,63 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+import strings.StringSlice;
+
+public class StringSliceTest {
+
+	@Test
+	public void testSubSequence() {
+		StringSlice slice = StringSlice.of("hello world", 2, 9);
+		
+		assertThat(slice.toString())
+			.isEqualTo("llo wor");
+		assertThat(slice.subSequence(4, 7).toString())
+			.isEqualTo("wor");
+		assertThat(slice.charAt(0))
+			.isEqualTo('l');
+	}
+	
+	@Test
+	public void testOutOfBounds() {
+		StringSlice slice = StringSlice.of("hello", 1, 3);
+		
+		assertThatThrownBy(() -> slice.charAt(2))
+			.isInstanceOf(StringIndexOutOfBoundsException.class);
+		assertThatThrownBy(() -> slice.subSequence(1, 3))
+			.isInstanceOf(StringIndexOutOfBoundsException.class);
+	}
+	
+	@Test
+	public void testSearch() {
+		StringSlice slice = StringSlice.of("key=value; key=other", 11, 20);
+		
+		assertThat(slice.indexOf("="))
+			.isEqualTo(3);
+		assertThat(slice.indexOf("value"))
+			.isEqualTo(-1);
+		assertThat(slice.startsWith("key"))
+			.isTrue();
+		assertThat(slice.endsWith("other"))
+			.isTrue();
+	}
+	
+	@Test
+	public void testEqualsAndHashCode() {
+		StringSlice slice = StringSlice.of("abcabc", 0, 3);
+		StringSlice other = StringSlice.of(new StringBuilder("abcabc"), 3, 6);
+		
+		assertThat((Object) slice)
+			.isEqualTo(other);
+		assertThat(slice.hashCode())
+			.isEqualTo("abc".hashCode());
+		assertThat(slice.contentEquals("abc"))
+			.isTrue();
+		assertThat(slice.compareTo(StringSlice.of("abd")))
+			.isLessThan(0);
+	}
+
+}
@@ -4,10 +4,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static strings.Strings.*;
 
+import java.io.StringReader;
+import java.nio.CharBuffer;
 import java.util.List;
 
 import org.junit.Test;
 
+import chars.CharPredicate;
+import strings.NonExistentSubstringException;
+
 public class StringsTest {
 
 	@Test
@@ -34,6 +39,29 @@ public class StringsTest {
 			.isEqualTo("a");
 	}
 	
+	@Test
+	public void testWhitespaceAndIndentation() {
+		assertThat(whitespace(3))
+			.isEqualTo("   ");
+		assertThat(whitespace(4))
+			.isSameAs(whitespace(4));
+		assertThat(whitespace(100_000).length())
+			.isEqualTo(100_000);
+		assertThat(whitespace(100_000).isBlank())
+			.isTrue();
+		assertThat(indentTabs(2))
+			.isEqualTo("\t\t");
+		assertThat(indentSpaces(2))
+			.isEqualTo("    ");
+		assertThat(indentSpaces(200))
+			.isEqualTo(repeat(" ", 400));
+		
+		assertThatThrownBy(() -> whitespace(-1))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> indentSpaces(-1))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+	
 	@Test
 	public void testReplaceCharAt() {
 		assertThat(replaceCharAt("strIng", 3, "a"))
@@ -60,6 +88,61 @@ public class StringsTest {
 			.isEqualTo(new int[] {0, 10});
 	}
 	
+	@Test
+	public void testOverlappingSubstringOccurences() {
+		assertThat(substringOccurrences("aaaa", "aa", false))
+			.isEqualTo(new int[] {0, 2});
+		
+		assertThat(substringOccurrences("aaaa", "aa", true))
+			.isEqualTo(new int[] {0, 1, 2});
+	}
+	
+	@Test
+	public void testSubstringOccurrencesStream() {
+		assertThat(substringOccurrencesStream("hello world", "o"))
+			.containsExactly(4, 7);
+		
+		assertThat(substringOccurrencesStream("hello world", "z"))
+			.isEmpty();
+	}
+	
+	@Test
+	public void testApproximateSubstringOccurrences() {
+		assertThat(approximateSubstringOccurrences("recieve the recipe", "receive", 1))
+			.isEqualTo(new int[0]);
+		assertThat(approximateSubstringOccurrences("recieve the recipe", "receive", 2))
+			.isEqualTo(new int[] {5, 7, 18});
+		assertThat(approximateSubstringOccurrences("hello world", "xyz", 1))
+			.isEqualTo(new int[0]);
+	}
+
+	@Test
+	public void testCountOccurrences() {
+		assertThat(countOccurrences("wonderful world", "wo"))
+			.isEqualTo(2);
+		
+		assertThat(countOccurrences("aaaa", "aa", true))
+			.isEqualTo(3);
+		
+		assertThat(countOccurrences("hello", "z"))
+			.isEqualTo(0);
+		
+		assertThat(countOccurrences(new StringBuilder("wonderful world"), "wo"))
+			.isEqualTo(2);
+		
+		assertThat(countOccurrences(new StringBuilder("aaaa"), "aa", true))
+			.isEqualTo(3);
+		
+		assertThat(countOccurrences(new StringBuilder("aaaa"), "aa", false))
+			.isEqualTo(2);
+		
+		assertThat(countOccurrences(new StringBuilder("abc"), ""))
+			.isEqualTo(4);
+		
+		assertThat(countOccurrences(new StringBuilder("ab"), "abc"))
+			.isEqualTo(0);
+	}
+	
 	@Test
 	public void testHighlightSubstringWithHighlighter() {
 		assertThat(highlightSubstring("hello world", "o", s -> "[" + s + "]"))
@@ -87,6 +170,9 @@ public class StringsTest {
 					 + "    ^  ^   \n"
 					 + "does it\n"
 					 + " ^     ");	
+		
+		assertThat(highlightSubstring("hello world\ndoes it", "o", s -> "[" + s + "]"))
+			.isEqualTo("hell[o] w[o]rld\nd[o]es it");
 	}
 	
 	@Test
@@ -125,6 +211,26 @@ public class StringsTest {
 			.isEqualTo("2008");
 	}
 	
+	@Test
+	public void testSubstringAsSlice() {
+		String record = "{id: 7, name: <giulio>}";
+		
+		assertThat(substringBetweenAsSlice(substringAfterAsSlice(record, "name:"), "<", ">").toString())
+			.isEqualTo("giulio");
+		
+		assertThat(substringBeforeAsSlice(record, ",").toString())
+			.isEqualTo("{id: 7");
+		
+		assertThat(removeFirstNCharsAsSlice(trimCharsAsSlice(record, 1, 1), 4).toString())
+			.isEqualTo("7, name: <giulio>");
+		
+		assertThat(removeLastNCharsAsSlice("hello", 5).toString())
+			.isEqualTo("");
+		
+		assertThatThrownBy(() -> substringAfterAsSlice(record, "age:"))
+			.isInstanceOf(NonExistentSubstringException.class);
+	}
+	
 	@Test
 	public void testSideBySideWithOneString() {
 		assertThat(sideBySide(5, "left"))
@@ -182,6 +288,15 @@ public class StringsTest {
 			.contains('h', 'e', 'l', 'l', 'o');
 	}
 	
+	@Test
+	public void testCharStream() {
+		assertThat(charStream(new StringBuilder("hello")).toArray())
+			.containsExactly('h', 'e', 'l', 'l', 'o');
+		
+		assertThat(charStream("").count())
+			.isEqualTo(0L);
+	}
+	
 	@Test
 	public void testMapChars() {
 		assertThat(mapChars("hello", ch -> ch != 'o' ? Character.toUpperCase(ch) : ch))
@@ -200,6 +315,30 @@ public class StringsTest {
 			.isTrue();
 	}
 	
+	@Test
+	public void testPrimitiveCharFunctions() {
+		assertThat(mapEachChar("hello", ch -> ch != 'o' ? Character.toUpperCase(ch) : ch))
+			.isEqualTo("HELLo");
+		
+		StringBuilder consumed = new StringBuilder();
+		forEachChar(new StringBuilder("hello"), ch -> consumed.append(ch).append('.'));
+		assertThat(consumed)
+			.hasToString("h.e.l.l.o.");
+		
+		assertThat(countChars("hello", CharPredicate.is('l').or(ch -> ch == 'h')))
+			.isEqualTo(3);
+		
+		assertThat(charSatisfies("hello", 1, ch -> ch == 'e'))
+			.isTrue();
+		assertThat(startsWithChar("hello", Character::isUpperCase))
+			.isFalse();
+		assertThat(endsWithChar("hello", CharPredicate.is('o')))
+			.isTrue();
+		
+		assertThatThrownBy(() -> charSatisfies("hello", 5, ch -> true))
+			.isInstanceOf(IndexOutOfBoundsException.class);
+	}
+	
 	@Test
 	public void testToCamelCase() {
 		assertThat(toCamelCase(""))
@@ -213,6 +352,21 @@ public class StringsTest {
 		
 		assertThat(toCamelCase("home   sweet home"))
 			.isEqualTo("homeSweetHome");
+		
+		assertThat(toCamelCase("Hello World"))
+			.isEqualTo("HelloWorld");
+		
+		assertThat(toCamelCase("XML parser"))
+			.isEqualTo("XMLParser");
+		
+		assertThat(toCamelCase("hello_world"))
+			.isEqualTo("hello_world");
+		
+		assertThat(toCamelCase("kebab-case name"))
+			.isEqualTo("kebab-caseName");
+		
+		assertThat(toCamelCase("my file.txt"))
+			.isEqualTo("myFile.txt");
 	}
 	
 	@Test
@@ -222,6 +376,21 @@ public class StringsTest {
 		
 		assertThat(fromCamelCase("HomeSweetHome"))
 			.isEqualTo("home sweet home");
+		
+		assertThat(fromCamelCase("parseHTTPResponse"))
+			.isEqualTo("parse h t t p response");
+		
+		assertThat(fromCamelCase("user_id"))
+			.isEqualTo("user_id");
+		
+		assertThat(fromCamelCase("my-fileName"))
+			.isEqualTo("my-file name");
+		
+		assertThat(fromCamelCase("file.txtReader"))
+			.isEqualTo("file.txt reader");
+		
+		assertThat(fromCamelCase("toXML"))
+			.isEqualTo("to x m l");
 	}
 	
 	@Test
@@ -266,10 +435,37 @@ public class StringsTest {
 			.containsExactly("via", "0", "19");
 	}
 	
+	@Test
+	public void testStreamingLines() {
+		assertThat(lines(new StringReader("home\n sweet home")))
+			.containsExactly("home", " sweet home");
+		
+		assertThat(lines(new StringReader("\r\n\nhome sweet\r\r\nhome\n\n")))
+			.containsExactly("", "home sweet\r", "home");
+		
+		assertThat(lines(new StringReader("")))
+			.containsExactly("");
+		
+		assertThat(lines(new StringReader("\n\n")))
+			.isEmpty();
+	}
+	
+	@Test
+	public void testStreamingWords() {
+		assertThat(words(new StringReader("home sweet \r\nhome")))
+			.containsExactly("home", "sweet", "home");
+		
+		assertThat(words(new StringReader(" (via) 0 19? ")))
+			.containsExactly("", "via", "0", "19");
+	}
+	
 	@Test
 	public void testCapitalizeWords() {
 		assertThat(capitalizeWords("home sweet home"))
 			.isEqualTo("Home Sweet Home");
+		
+		assertThat(capitalizeWords("home   sweet\r\nHOME(s)"))
+			.isEqualTo("Home Sweet HOME S");
 	}
 	
 	@Test
@@ -285,6 +481,15 @@ public class StringsTest {
 			.hasMessage("Cannot remove 6 characters from \"hello\"");
 	}
 	
+	@Test
+	public void testInQuotes() {
+		assertThat(inQuotes("hello"))
+			.isEqualTo("\"hello\"");
+		
+		assertThat(inQuotes("say \"hi\"\n"))
+			.isEqualTo("\"say \\\"hi\\\"\\n\"");
+	}
+	
 	@Test
 	public void testReverse() {
 		assertThat(reverse("hello"))
@@ -306,6 +511,29 @@ public class StringsTest {
 			.containsExactly("ab", "a", "b");
 	}
 	
+	@Test
+	public void testCharSequenceArguments() {
+		StringBuilder builder = new StringBuilder("num: 2008, num: 1,");
+		CharBuffer buffer = CharBuffer.wrap("home sweet\r\nhome");
+		
+		assertThat(substringOccurrences(builder, "num"))
+			.isEqualTo(new int[] {0, 11});
+		assertThat(substringsBetween(builder, "num: ", ","))
+			.containsExactly("2008", "1");
+		assertThat(substringBetween(builder, "num: ", ","))
+			.isEqualTo("2008");
+		assertThat(matchedResults(builder, "\\d+"))
+			.containsExactly("2008", "1");
+		assertThat(lines(buffer))
+			.containsExactly("home sweet", "home");
+		assertThat(words(buffer))
+			.containsExactly("home", "sweet", "home");
+		assertThat(startsWith(buffer, Character::isLowerCase))
+			.isTrue();
+		assertThat(mismatch(builder, "num: 2009"))
+			.isEqualTo(8);
+	}
+	
 	@Test
 	public void testMismatch() {
 		assertThat(mismatch("aaa", "aab"))
@@ -313,6 +541,47 @@ public class StringsTest {
 		
 		assertThat(mismatch("aaa", "aaa789"))
 			.isEqualTo(3);
+
+		assertThat(mismatch("aaa", "aaa"))
+			.isEqualTo(-1);
+	}
+
+	@Test
+	public void testMismatchRanges() {
+		assertThat(mismatch("key:value", 4, 9, "value", 0, 5))
+			.isEqualTo(-1);
+		assertThat(mismatch("key:value", 4, 9, new StringBuilder("valid"), 0, 5))
+			.isEqualTo(3);
+		assertThat(mismatch("abc", 0, 2, "abc", 0, 3))
+			.isEqualTo(2);
+		assertThatThrownBy(() -> mismatch("abc", 2, 4, "abc", 0, 3))
+			.isInstanceOf(StringIndexOutOfBoundsException.class);
+	}
+
+	@Test
+	public void testCommonPrefixAndSuffixLength() {
+		assertThat(commonPrefixLength("interview", "internet"))
+			.isEqualTo(5);
+		assertThat(commonSuffixLength("walking", new StringBuilder("talking")))
+			.isEqualTo(6);
+		assertThat(commonPrefixLength(List.of("/user/1", "/user/22", "/users")))
+			.isEqualTo(5);
+		assertThat(commonSuffixLength(List.of("index.html", "page.html", ".html")))
+			.isEqualTo(5);
+		assertThat(commonPrefixLength(List.of("abc")))
+			.isEqualTo(3);
+		assertThat(commonPrefixLength(List.of()))
+			.isEqualTo(0);
+		assertThat(sortedCommonPrefixLength(List.of("/user/1", "/user/22", "/users")))
+			.isEqualTo(5);
+	}
+
+	@Test
+	public void testLcpArray() {
+		assertThat(lcpArray(List.of("apple", "applet", "apply", "banana", "band")))
+			.isEqualTo(new int[] {0, 5, 4, 0, 3});
+		assertThat(lcpArray(List.of()))
+			.isEqualTo(new int[0]);
 	}
 	
 }
@@ -0,0 +1,57 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import strings.SubstringHighlighter;
+
+public class SubstringHighlighterTest {
+
+	@Test
+	public void testUnderline() {
+		assertThat(SubstringHighlighter.of("us").underline("house mouse"))
+			.isEqualTo("house mouse\n"
+					 + "  ^^    ^^ ");
+		
+		assertThat(SubstringHighlighter.of("o", "wor").underline("hello\r\n\nworld "))
+			.isEqualTo("hello\n"
+					 + "    ^\n"
+					 + "world \n"
+					 + "^^^   ");
+		
+		assertThat(SubstringHighlighter.of(Pattern.compile("\\d+")).underline("\nbuild 2008-12"))
+			.isEqualTo("\n"
+					 + "\n"
+					 + "build 2008-12\n"
+					 + "      ^^^^ ^^");
+	}
+	
+	@Test
+	public void testHighlight() {
+		assertThat(SubstringHighlighter.of("o").highlight("hello world\ndoes it", s -> "[" + s + "]"))
+			.isEqualTo("hell[o] w[o]rld\nd[o]es it");
+		
+		assertThat(SubstringHighlighter.of("he", "hello").highlight("hello, he said", String::toUpperCase))
+			.isEqualTo("HELLO, HE said");
+		
+		assertThat(SubstringHighlighter.of(Pattern.compile("[aeiou]+")).highlight("audit log", s -> s.length()))
+			.isEqualTo("2d1t l1g");
+	}
+	
+	@Test
+	public void testAppendable() throws IOException {
+		StringBuilder out = new StringBuilder();
+		
+		assertThat(SubstringHighlighter.of("ab").underline("abcab", out))
+			.isEqualTo(2);
+		assertThat(SubstringHighlighter.of("x").highlight("abc", s -> s, out))
+			.isEqualTo(0);
+		assertThat(out)
+			.hasToString("abcab\n^^ ^^abc");
+	}
+	
+}
@@ -0,0 +1,74 @@
+package strings.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.CharBuffer;
+
+import org.junit.Test;
+
+import strings.SubstringSearcher;
+import strings.SubstringSearcher.Algorithm;
+
+public class SubstringSearcherTest {
+
+	@Test
+	public void testAlgorithmChoice() {
+		assertThat(SubstringSearcher.compile("ab").algorithm())
+			.isEqualTo(Algorithm.SIMPLE);
+		assertThat(SubstringSearcher.compile("abababba").algorithm())
+			.isEqualTo(Algorithm.TWO_WAY);
+		assertThat(SubstringSearcher.compile("needles").algorithm())
+			.isEqualTo(Algorithm.HORSPOOL);
+	}
+	
+	@Test
+	public void testIndexIn() {
+		for (Algorithm algorithm : Algorithm.values()) {
+			SubstringSearcher searcher = SubstringSearcher.compile("abab", algorithm);
+			
+			assertThat(searcher.indexIn("aabababab"))
+				.isEqualTo(1);
+			assertThat(searcher.indexIn(new StringBuilder("aabababab"), 2))
+				.isEqualTo(3);
+			assertThat(searcher.indexIn("aabbaabb"))
+				.isEqualTo(-1);
+		}
+	}
+	
+	@Test
+	public void testOccurrencesIn() {
+		for (Algorithm algorithm : Algorithm.values()) {
+			SubstringSearcher searcher = SubstringSearcher.compile("wo", algorithm);
+			
+			assertThat(searcher.occurrencesIn("wonderful world"))
+				.isEqualTo(new int[] {0, 10});
+			assertThat(searcher.occurrencesIn("hello"))
+				.isEqualTo(new int[0]);
+		}
+		
+		assertThat(SubstringSearcher.compile("aa").occurrencesIn("aaaaa"))
+			.isEqualTo(new int[] {0, 2});
+	}
+	
+	@Test
+	public void testCharBufferText() {
+		char[] array = "xx a needle in a haystack of needles".toCharArray();
+		CharBuffer text = CharBuffer.wrap(array, 2, array.length - 2).slice();
+
+		for (Algorithm algorithm : Algorithm.values()) {
+			SubstringSearcher searcher = SubstringSearcher.compile("needle", algorithm);
+
+			assertThat(searcher.occurrencesIn(text))
+				.isEqualTo(new int[] {3, 27});
+			assertThat(searcher.indexIn(text, 4, 30))
+				.isEqualTo(-1);
+		}
+	}
+
+	@Test
+	public void testCountIn() {
+		assertThat(SubstringSearcher.compile("the needle").countIn("the needle in the needles"))
+			.isEqualTo(2);
+	}
+
+}